@@ -2,8 +2,15 @@ package seedu.address;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 import javafx.application.Application;
 import javafx.stage.Stage;
@@ -23,6 +30,7 @@ import seedu.address.model.ReadOnlyAppointmentBook;
 import seedu.address.model.ReadOnlyPatientBook;
 import seedu.address.model.ReadOnlyUserPrefs;
 import seedu.address.model.UserPrefs;
+import seedu.address.model.appointment.Appointment;
 import seedu.address.model.util.SampleDataUtil;
 import seedu.address.storage.JsonUserPrefsStorage;
 import seedu.address.storage.Storage;
@@ -30,7 +38,10 @@ import seedu.address.storage.StorageManager;
 import seedu.address.storage.StorageStatsManager;
 import seedu.address.storage.UserPrefsStorage;
 import seedu.address.storage.appointment.AppointmentBookStorage;
+import seedu.address.storage.appointment.BinaryAppointmentBookStorage;
 import seedu.address.storage.appointment.JsonAppointmentBookStorage;
+import seedu.address.storage.journal.JsonJournal;
+import seedu.address.storage.patient.BinaryPatientBookStorage;
 import seedu.address.storage.patient.JsonPatientBookStorage;
 import seedu.address.storage.patient.PatientBookStorage;
 import seedu.address.ui.Ui;
@@ -44,6 +55,7 @@ public class MainApp extends Application {
     public static final Version VERSION = new Version(1, 3, 1, false);
 
     private static final Logger logger = LogsCenter.getLogger(MainApp.class);
+    private static final int STARTUP_THREAD_COUNT = 3;
 
     protected Ui ui;
     protected Logic logic;
@@ -63,13 +75,29 @@ public class MainApp extends Application {
         UserPrefs userPrefs = initPrefs(userPrefsStorage);
 
         StorageStatsManager storageStatsManager = new StorageStatsManager();
-        PatientBookStorage patientBookStorage = new JsonPatientBookStorage(
-                userPrefs.getPatientBookFilePath(), storageStatsManager);
-        AppointmentBookStorage appointmentBookStorage = new JsonAppointmentBookStorage(
-                userPrefs.getAppointmentBookFilePath(), userPrefs.getArchiveDirectoryPath(),
-                storageStatsManager);
-        storage = new StorageManager(patientBookStorage, appointmentBookStorage,
-                userPrefsStorage, storageStatsManager);
+        PatientBookStorage patientBookStorage;
+        AppointmentBookStorage appointmentBookStorage;
+        if (userPrefs.isBinarySnapshotEnabled()) {
+            patientBookStorage = new BinaryPatientBookStorage(userPrefs.getPatientBookFilePath(), storageStatsManager);
+            appointmentBookStorage = new BinaryAppointmentBookStorage(userPrefs.getAppointmentBookFilePath(),
+                    userPrefs.getArchiveDirectoryPath(), storageStatsManager);
+        } else {
+            patientBookStorage = new JsonPatientBookStorage(userPrefs.getPatientBookFilePath(), storageStatsManager);
+            appointmentBookStorage = new JsonAppointmentBookStorage(userPrefs.getAppointmentBookFilePath(),
+                    userPrefs.getArchiveDirectoryPath(), storageStatsManager);
+        }
+        JsonJournal journal = userPrefs.getJournalCheckpointInterval() > 0
+                ? new JsonJournal(userPrefs.getPatientBookFilePath().resolveSibling("journal.jsonl"))
+                : null;
+        StorageManager storageManager = new StorageManager(patientBookStorage, appointmentBookStorage,
+                userPrefsStorage, storageStatsManager, journal, userPrefs.getJournalCheckpointInterval());
+        if (userPrefs.isBackgroundSaveEnabled()) {
+            storageManager.enableBackgroundSaving();
+        }
+        if (userPrefs.getBackupCount() > 0) {
+            storageManager.setBackupCount(userPrefs.getBackupCount());
+        }
+        storage = storageManager;
 
         initLogging(config);
 
@@ -97,26 +125,87 @@ public class MainApp extends Application {
     /**
      * Returns a {@code ModelManager} with the data from {@code storage}'s patient book,
      * {@code storage}'s appointment book and {@code userPrefs}.
+     * The backup, the patient book and the appointment book are loaded concurrently. Only looking up the patients
+     * of the appointments waits for both the backup and the patient book, so that the data files are backed up
+     * before they can be rewritten.
      */
     private Model initModelManager(Storage storage, ReadOnlyUserPrefs userPrefs) {
-        // backup storage data in case of unintended overwriting of data.
+        long startTime = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(STARTUP_THREAD_COUNT, runnable -> {
+            Thread thread = new Thread(runnable, "startup-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        ReadOnlyPatientBook initialPatientData;
+        ReadOnlyAppointmentBook initialAppointmentData;
         try {
-            storage.backupData();
-        } catch (IOException ioe) {
-            logger.warning("Failed to backup data : " + StringUtil.getDetails(ioe));
+            // backup storage data in case of unintended overwriting of data.
+            CompletableFuture<Void> backup = CompletableFuture.runAsync(() -> timePhase("Backup", () -> {
+                backupData(storage, userPrefs);
+                return null;
+            }), executor);
+            CompletableFuture<ReadOnlyPatientBook> patientData = CompletableFuture.supplyAsync(() ->
+                    timePhase("Patient book", () -> initPatientBookModel(storage)), executor);
+            CompletableFuture<ReadOnlyPatientBook> patientDataAfterBackup =
+                    patientData.thenCombine(backup.exceptionally(e -> null), (patientBook, unused) -> patientBook);
+            CompletableFuture<ReadOnlyAppointmentBook> appointmentData = CompletableFuture.supplyAsync(() ->
+                    timePhase("Appointment book", () -> initAppointmentBookModel(storage, patientDataAfterBackup)),
+                    executor);
+
+            initialPatientData = patientData.join();
+            initialAppointmentData = appointmentData.join();
+            backup.join();
+        } finally {
+            executor.shutdown();
+        }
+
+        ReadOnlyAppointmentBook syncedAppointmentData = timePhase("Consistency check", () ->
+                syncAppointmentBookModel(storage, initialPatientData, initialAppointmentData));
+
+        logger.info("Loaded data in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + " ms");
+        return new ModelManager(initialPatientData, syncedAppointmentData, userPrefs);
+    }
+
+    /**
+     * Returns {@code appointmentBook}, without the appointments whose patients are not in {@code patientBook}.
+     * The removed appointments are logged and counted in the storage stats.
+     */
+    private ReadOnlyAppointmentBook syncAppointmentBookModel(Storage storage, ReadOnlyPatientBook patientBook,
+            ReadOnlyAppointmentBook appointmentBook) {
+        List<Appointment> orphanedAppointments = ModelManager.getOrphanedAppointments(patientBook, appointmentBook);
+        storage.getStatsManager().setOrphanedAppointmentCount(orphanedAppointments.size());
+        if (orphanedAppointments.isEmpty()) {
+            return appointmentBook;
         }
 
-        ReadOnlyPatientBook initialPatientData = initPatientBookModel(storage);
-        ReadOnlyAppointmentBook initialAppointmentData = initAppointmentBookModel(storage);
+        logger.warning("Appointment data not in sync with patients' data. Removing " + orphanedAppointments.size()
+                + " appointments of patients not in the patient book: " + orphanedAppointments.stream()
+                        .map(appointment -> appointment.getDate().getDate() + " "
+                                + appointment.getStartTime().getTime() + " " + appointment.getPatient().getNric())
+                        .collect(Collectors.joining(", ")));
+        return ModelManager.getSyncedAppointmentBook(patientBook, appointmentBook);
+    }
 
-        // Check if model is in sync
-        if (!ModelManager.isValidModel(initialPatientData, initialAppointmentData)) {
-            logger.warning("Appointment data not in sync with patients' data. "
-                    + "Will be starting with a minimal uncorrupted version.");
-            initialAppointmentData = ModelManager.getSyncedAppointmentBook(initialPatientData, initialAppointmentData);
+    private void backupData(Storage storage, ReadOnlyUserPrefs userPrefs) {
+        if (userPrefs.getBackupCount() > 0) {
+            try {
+                storage.backupData();
+            } catch (IOException ioe) {
+                logger.warning("Failed to backup data : " + StringUtil.getDetails(ioe));
+            }
         }
+    }
 
-        return new ModelManager(initialPatientData, initialAppointmentData, userPrefs);
+    /**
+     * Runs the startup phase named {@code phaseName} and logs the time it took.
+     */
+    private static <T> T timePhase(String phaseName, Supplier<T> phase) {
+        long startTime = System.nanoTime();
+        T result = phase.get();
+        logger.info(phaseName + " took " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)
+                + " ms on " + Thread.currentThread().getName());
+        return result;
     }
 
     /**
@@ -147,20 +236,21 @@ public class MainApp extends Application {
      * The data from the sample appointment book will be used instead if {@code storage}'s appointment book
      * is not found, or an empty appointment book will be used instead if errors occur when reading
      * {@code storage}'s appointment book.
+     * The patients of the appointments are looked up in {@code patientBook} once it is loaded.
      */
-    private ReadOnlyAppointmentBook initAppointmentBookModel(Storage storage) {
+    private ReadOnlyAppointmentBook initAppointmentBookModel(Storage storage,
+            CompletableFuture<? extends ReadOnlyPatientBook> patientBook) {
         Optional<ReadOnlyAppointmentBook> appointmentBookOptional;
         ReadOnlyAppointmentBook initialAppointmentData;
 
         try {
-            appointmentBookOptional = storage.readAppointmentBook();
+            appointmentBookOptional = storage.readAppointmentBook(patientBook);
 
             if (appointmentBookOptional.isEmpty()) {
                 logger.info("Data file not found. Will be starting with a sample AppointmentBook");
                 initialAppointmentData = SampleDataUtil.getSampleAppointmentBook();
             } else {
-                initialAppointmentData = appointmentBookOptional.map(storage::archivePastAppointments)
-                        .orElseGet(AppointmentBook::new);
+                initialAppointmentData = appointmentBookOptional.orElseGet(AppointmentBook::new);
             }
 
         } catch (DataConversionException e) {
@@ -249,6 +339,11 @@ public class MainApp extends Application {
     @Override
     public void stop() {
         logger.info("============================ [ Stopping Nuudle ] =============================");
+        try {
+            storage.flush();
+        } catch (IOException e) {
+            logger.severe("Failed to save data " + StringUtil.getDetails(e));
+        }
         try {
             storage.saveUserPrefs(model.getUserPrefs());
         } catch (IOException e) {
@@ -2,18 +2,38 @@ package seedu.address.commons.util;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
@@ -29,6 +49,8 @@ import seedu.address.commons.exceptions.DataConversionException;
  */
 public class CsvUtil {
 
+    public static final String COMPRESSED_FILE_EXTENSION = ".gz";
+
     private static final Logger logger = LogsCenter.getLogger(CsvUtil.class);
 
     private static final CsvMapper csvMapper = new CsvMapper();
@@ -44,15 +66,17 @@ public class CsvUtil {
     static <T> void serializeObjectToCsvFile(Path csvFile, List<T> objectsToSerialize,
                 Class<T> classOfObjectToSerialize, boolean isOverwrite) throws IOException {
         if (isOverwrite) {
-            FileUtil.writeToFile(csvFile, toCsvString(objectsToSerialize, classOfObjectToSerialize, true));
+            FileUtil.writeToFileAtomically(csvFile, toCsvString(objectsToSerialize, classOfObjectToSerialize, true));
         } else {
-            FileUtil.appendToFile(csvFile, toCsvString(objectsToSerialize, classOfObjectToSerialize, false));
+            appendToCsvFile(csvFile, classOfObjectToSerialize, objectsToSerialize.iterator());
         }
     }
 
     static <T> List<T> deserializeObjectFromCsvFile(Path csvFile, Class<T> classOfObjectToDeserialize)
             throws IOException {
-        return fromCsvString(FileUtil.readFromFile(csvFile), classOfObjectToDeserialize);
+        try (Reader reader = newReader(csvFile)) {
+            return getCsvReader(classOfObjectToDeserialize).<T>readValues(reader).readAll();
+        }
     }
 
     /**
@@ -84,6 +108,82 @@ public class CsvUtil {
         return csvFile;
     }
 
+    /**
+     * Returns the objects in the csv file as a stream, which reads and parses one row of the file at a time as it is
+     * consumed. A stream that is only partly consumed, such as by {@code findFirst}, does not read the rest of the
+     * file. The stream must be closed to close the file. Returns an empty stream if the file is not found.
+     * A file whose name ends with {@value #COMPRESSED_FILE_EXTENSION} is decompressed with gzip as it is read.
+     * A row that cannot be read throws an {@code UncheckedIOException} when the stream reaches it.
+     *
+     * @param filePath cannot be null.
+     * @throws DataConversionException if the file could not be opened, or its header could not be read.
+     */
+    public static <T> Stream<T> streamCsvFile(Path filePath, Class<T> classOfObjectToDeserialize)
+            throws DataConversionException {
+        requireNonNull(filePath);
+
+        if (!Files.exists(filePath)) {
+            logger.info("Csv file " + filePath + " not found");
+            return Stream.empty();
+        }
+
+        MappingIterator<T> mappingIterator;
+        try {
+            Reader reader = newReader(filePath);
+            try {
+                mappingIterator = getCsvReader(classOfObjectToDeserialize).readValues(reader);
+            } catch (IOException | RuntimeException e) {
+                reader.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            logger.warning("Error reading from csv file " + filePath + ": " + e);
+            throw new DataConversionException(e);
+        }
+
+        Iterator<T> rows = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return mappingIterator.hasNextValue();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public T next() {
+                try {
+                    return mappingIterator.nextValue();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        mappingIterator.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private static Reader newReader(Path filePath) throws IOException {
+        if (!filePath.getFileName().toString().endsWith(COMPRESSED_FILE_EXTENSION)) {
+            return Files.newBufferedReader(filePath, StandardCharsets.UTF_8);
+        }
+
+        InputStream inputStream = Files.newInputStream(filePath);
+        try {
+            return new BufferedReader(new InputStreamReader(new GZIPInputStream(inputStream), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            inputStream.close();
+            throw e;
+        }
+    }
+
     /**
      * Saves the Json object to the specified file.
      * Overwrites existing file if it exists, creates a new file if it doesn't.
@@ -100,6 +200,45 @@ public class CsvUtil {
         serializeObjectToCsvFile(filePath, csvData, classOfObjectToSerialize, isOverwrite);
     }
 
+    /**
+     * Appends the given objects to the end of the csv file, one row at a time, without holding the rows in memory.
+     * A header is written first if the file is empty. Will create the file and its missing parent directories if
+     * they do not exist yet.
+     * The rows are forced to the disk before this returns. If they cannot all be written, the file is cut back to
+     * its previous length, so that it never ends with a partly written row.
+     *
+     * @param filePath cannot be null.
+     * @param objectsToSerialize the objects to write, in order. Cannot be null.
+     * @throws IOException if there was an error during writing to the file.
+     */
+    public static <T> void appendToCsvFile(Path filePath, Class<T> classOfObjectToSerialize,
+                                           Iterator<? extends T> objectsToSerialize) throws IOException {
+        requireNonNull(filePath);
+        requireNonNull(objectsToSerialize);
+
+        FileUtil.createParentDirsOfFile(filePath);
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long originalSize = channel.size();
+            channel.position(originalSize);
+            try {
+                // The channel stays open after the writers are closed, so that it can be forced to the disk.
+                Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8);
+                try (SequenceWriter sequenceWriter = objectMapper
+                        .writer(getCsvSchema(classOfObjectToSerialize, originalSize == 0))
+                        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                        .writeValues(writer)) {
+                    while (objectsToSerialize.hasNext()) {
+                        sequenceWriter.write(objectsToSerialize.next());
+                    }
+                }
+                writer.flush();
+                channel.force(true);
+            } catch (IOException | RuntimeException e) {
+                channel.truncate(originalSize);
+                throw e;
+            }
+        }
+    }
 
     /**
      * Converts a given string representation of a JSON data to instance of a class
@@ -108,15 +247,16 @@ public class CsvUtil {
      * @return The instance of T with the specified values in the JSON string
      */
     public static <T> List<T> fromCsvString(String json, Class<T> instanceClass) throws IOException {
-        CsvSchema schema = csvMapper
-                .typedSchemaFor(instanceClass)
-                .withColumnSeparator(',')
-                .withHeader();
-
-        MappingIterator<T> mappingIterator = objectMapper.readerFor(instanceClass).with(schema).readValues(json);
+        MappingIterator<T> mappingIterator = getCsvReader(instanceClass).readValues(json);
         return mappingIterator.readAll();
     }
 
+    private static ObjectReader getCsvReader(Class<?> instanceClass) {
+        // Columns are matched by the names in the header, as files written by older versions have other columns.
+        return objectMapper.readerFor(instanceClass)
+                .with(getCsvSchema(instanceClass, true).withColumnReordering(true));
+    }
+
     /**
      * Converts a given instance of a class into its JSON data string representation
      *
@@ -126,17 +266,30 @@ public class CsvUtil {
      */
     public static <T> String toCsvString(List<T> instances, Class<T> instanceClass, boolean hasHeaders)
             throws JsonProcessingException {
+        return objectMapper.writer(getCsvSchema(instanceClass, hasHeaders)).writeValueAsString(instances);
+    }
+
+    /**
+     * Returns the names of the columns that objects of {@code instanceClass} are written to, in order.
+     */
+    public static List<String> getCsvColumnNames(Class<?> instanceClass) {
+        List<String> columnNames = new ArrayList<>();
+        for (CsvSchema.Column column : getCsvSchema(instanceClass, true)) {
+            columnNames.add(column.getName());
+        }
+        return columnNames;
+    }
+
+    private static CsvSchema getCsvSchema(Class<?> instanceClass, boolean hasHeaders) {
         CsvSchema schema = csvMapper
                 .typedSchemaFor(instanceClass)
                 .withColumnSeparator(',');
 
         if (hasHeaders) {
-            schema = schema.withHeader();
+            return schema.withHeader();
         } else {
-            schema = schema.withoutHeader();
+            return schema.withoutHeader();
         }
-
-        return objectMapper.writer(schema).writeValueAsString(instances);
     }
 
 }
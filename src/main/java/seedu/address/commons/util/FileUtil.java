@@ -1,6 +1,9 @@
 package seedu.address.commons.util;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
@@ -84,6 +87,59 @@ public class FileUtil {
         Files.write(file, content.getBytes(CHARSET));
     }
 
+    /**
+     * Writes given string to a file so that the file holds either its old or its new content, even if the
+     * application or the system crashes during the write.
+     * The content is written to a temporary file in the same directory and forced to the disk, which then replaces
+     * the file in a single move. Will create the file and its missing parent directories if they do not exist yet.
+     */
+    public static void writeToFileAtomically(Path file, String content) throws IOException {
+        writeToFileAtomically(file, content.getBytes(CHARSET));
+    }
+
+    /**
+     * Writes given bytes to a file in the same way as {@link #writeToFileAtomically(Path, String)}.
+     */
+    public static void writeToFileAtomically(Path file, byte[] content) throws IOException {
+        Path absoluteFile = file.toAbsolutePath();
+        Path directory = absoluteFile.getParent();
+        Files.createDirectories(directory);
+
+        Path tempFile = Files.createTempFile(directory, "." + absoluteFile.getFileName(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            moveAtomically(tempFile, absoluteFile);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        syncDirectory(directory);
+    }
+
+    private static void moveAtomically(Path from, Path to) throws IOException {
+        try {
+            Files.move(from, to, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Forces the entries of {@code directory} to the disk, so that a file moved into it survives a crash.
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // some platforms, such as Windows, cannot open a directory; the move is still atomic there
+        }
+    }
+
     /**
      * Writes given string to a file by appending it onto the last line of the file.
      * Will create the file if it does not exist yet.
@@ -96,6 +152,25 @@ public class FileUtil {
         Files.write(file, content.getBytes(CHARSET), openOption);
     }
 
+    /**
+     * Appends given string to the end of a file and forces it to the disk before returning, so that the appended
+     * content survives a crash of the system. Will create the file if it does not exist yet.
+     */
+    public static void appendToFileDurably(Path file, String content) throws IOException {
+        boolean isNewFile = !isFileExists(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(CHARSET));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        if (isNewFile) {
+            syncDirectory(file.toAbsolutePath().getParent());
+        }
+    }
+
     /**
      * Copies data from {@code FilePath from} to {@code FilePath to}.
      * Will create the file if it does not exist yet.
@@ -112,15 +187,50 @@ public class FileUtil {
      * @param filePath   the file to create a backup of.
      */
     public static void backupFileToFolder(Path filePath, String folderName) throws IOException {
-        Path backupFilePath;
-        if (filePath.getNameCount() == 1) {
-            backupFilePath = Path.of(folderName).resolve(filePath);
-        } else {
-            backupFilePath = filePath.getParent().resolve(folderName).resolve(filePath.getFileName());
+        backupFileToFolder(filePath, folderName, 1);
+    }
+
+    /**
+     * Creates a backup of the indicated file in a nested folder of the same directory, keeping up to
+     * {@code generations} backups of the file.
+     * The newest backup is kept in the folder {@code folderName}, and older backups are moved to the folders
+     * {@code folderName.2}, {@code folderName.3} and so on. Nothing is done if the newest backup is already a copy
+     * of the file, as told by its size and last modified time.
+     *
+     * @param filePath    the file to create a backup of.
+     * @param folderName  the name of the backup folder.
+     * @param generations the number of backups to keep, which must be positive.
+     */
+    public static void backupFileToFolder(Path filePath, String folderName, int generations) throws IOException {
+        assert generations > 0;
+        Path backupFilePath = getBackupFilePath(filePath, folderName, 1);
+        if (isFileExists(backupFilePath)
+                && Files.size(backupFilePath) == Files.size(filePath)
+                && Files.getLastModifiedTime(backupFilePath).equals(Files.getLastModifiedTime(filePath))) {
+            return;
+        }
+
+        Files.deleteIfExists(getBackupFilePath(filePath, folderName, generations));
+        for (int generation = generations - 1; generation >= 1; generation--) {
+            Path olderBackupFilePath = getBackupFilePath(filePath, folderName, generation);
+            if (isFileExists(olderBackupFilePath)) {
+                Path newerBackupFilePath = getBackupFilePath(filePath, folderName, generation + 1);
+                createParentDirsOfFile(newerBackupFilePath);
+                Files.move(olderBackupFilePath, newerBackupFilePath, StandardCopyOption.REPLACE_EXISTING);
+            }
         }
 
         createIfMissing(backupFilePath);
         copyFile(filePath, backupFilePath);
     }
 
+    private static Path getBackupFilePath(Path filePath, String folderName, int generation) {
+        String generationFolderName = generation == 1 ? folderName : folderName + "." + generation;
+        if (filePath.getNameCount() == 1) {
+            return Path.of(generationFolderName).resolve(filePath);
+        } else {
+            return filePath.getParent().resolve(generationFolderName).resolve(filePath.getFileName());
+        }
+    }
+
 }
@@ -3,18 +3,23 @@ package seedu.address.commons.util;
 import static java.util.Objects.requireNonNull;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -70,12 +75,14 @@ public class JsonUtil {
             }));
 
     static <T> void serializeObjectToJsonFile(Path jsonFile, T objectToSerialize) throws IOException {
-        FileUtil.writeToFile(jsonFile, toJsonString(objectToSerialize));
+        FileUtil.writeToFileAtomically(jsonFile, toJsonString(objectToSerialize));
     }
 
     static <T> T deserializeObjectFromJsonFile(Path jsonFile, Class<T> classOfObjectToDeserialize)
             throws IOException {
-        return fromJsonString(FileUtil.readFromFile(jsonFile), classOfObjectToDeserialize);
+        try (InputStream inputStream = Files.newInputStream(jsonFile)) {
+            return objectMapper.readValue(inputStream, classOfObjectToDeserialize);
+        }
     }
 
     /**
@@ -107,6 +114,60 @@ public class JsonUtil {
         return Optional.of(jsonFile);
     }
 
+    /**
+     * Reads the elements of the array in the field {@code arrayFieldName} of the Json object in the given file one at
+     * a time, passing each element to {@code elementConsumer} as soon as it is read.
+     * Only one element is held in memory at a time, and other fields of the Json object are skipped.
+     * Returns false without reading anything if the file is not found.
+     *
+     * @param filePath        cannot be null.
+     * @param arrayFieldName  the name of the field holding the array.
+     * @param elementClass    each element of the array has to correspond to the structure in the class given here.
+     * @param elementConsumer the consumer of the elements, in the order they appear in the array.
+     * @throws DataConversionException if the file format is not as expected.
+     */
+    public static <T> boolean readJsonArrayFile(Path filePath, String arrayFieldName, Class<T> elementClass,
+                                                Consumer<T> elementConsumer) throws DataConversionException {
+        requireNonNull(filePath);
+        requireNonNull(arrayFieldName);
+
+        if (!Files.exists(filePath)) {
+            logger.info("Json file " + filePath + " not found");
+            return false;
+        }
+
+        try (InputStream inputStream = Files.newInputStream(filePath);
+             JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a json object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken valueToken = parser.nextToken();
+                if (!fieldName.equals(arrayFieldName) || valueToken != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (!parser.hasCurrentToken()) {
+                        throw new JsonParseException(parser, "Unexpected end of json array");
+                    }
+                    elementConsumer.accept(objectMapper.readValue(parser, elementClass));
+                }
+            }
+
+            if (parser.getCurrentToken() != JsonToken.END_OBJECT) {
+                throw new JsonParseException(parser, "Unexpected end of json object");
+            }
+        } catch (IOException e) {
+            logger.warning("Error reading from json file " + filePath + ": " + e);
+            throw new DataConversionException(e);
+        }
+        return true;
+    }
+
     /**
      * Saves the Json object to the specified file.
      * Overwrites existing file if it exists, creates a new file if it doesn't.
@@ -143,6 +204,17 @@ public class JsonUtil {
         return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(instance);
     }
 
+    /**
+     * Converts a given instance of a class into a single-line JSON data string representation.
+     *
+     * @param instance The T object to be converted into the JSON string
+     * @param <T>      The generic type to create an instance of
+     * @return JSON data representation of the given class instance without any line breaks, in string
+     */
+    public static <T> String toCompactJsonString(T instance) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(instance);
+    }
+
     /**
      * Contains methods that retrieve logging level from serialized string.
      */
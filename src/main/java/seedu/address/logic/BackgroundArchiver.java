@@ -0,0 +1,242 @@
+package seedu.address.logic;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.commons.util.DateTimeUtil;
+import seedu.address.model.AppointmentBook;
+import seedu.address.model.Model;
+import seedu.address.model.ReadOnlyAppointmentBook;
+import seedu.address.model.ReadOnlyUserPrefs;
+import seedu.address.model.UserPrefs;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.patient.Nric;
+import seedu.address.storage.Storage;
+import seedu.address.storage.StorageStatsManager;
+import seedu.address.storage.archive.CsvAdaptedAppointment;
+
+/**
+ * Archives the past appointments of a {@code Model} on a single background thread.
+ * <p>
+ * Once started, the past appointments are archived right away, again every midnight, and whenever more than the
+ * archive threshold in the user prefs have built up in the appointment list, so that the list only holds upcoming
+ * appointments while the app stays open.
+ * <p>
+ * Only the past appointments are copied when an archival starts, so commands can keep changing the model while the
+ * archive is written. Once it is written, the archived appointments are removed from the model in one step on the
+ * thread that owns the model. Appointments that were changed or deleted in the meantime are left as they are.
+ * <p>
+ * After each archival, the archive retention policy in the user prefs is applied, and the archive files of past
+ * months are compressed if archive compression is enabled, on the same background thread.
+ * <p>
+ * The archive is also read on the same background thread, so that it is never read while it is being written.
+ */
+class BackgroundArchiver {
+
+    private static final Logger logger = LogsCenter.getLogger(BackgroundArchiver.class);
+
+    /** Scheduled archivals run this long after midnight, so that appointments of the previous day have expired. */
+    private static final Duration MIDNIGHT_DELAY = Duration.ofSeconds(1);
+
+    private final Model model;
+    private final Storage storage;
+    private final Runnable saveHandler;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "appointment-archiver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Executor modelExecutor;
+    private Consumer<String> statusHandler;
+    private boolean isArchiving;
+
+    /**
+     * @param saveHandler saves the changes made to the model, after the archived appointments are removed from it.
+     */
+    BackgroundArchiver(Model model, Storage storage, Runnable saveHandler) {
+        requireNonNull(model);
+        requireNonNull(storage);
+        requireNonNull(saveHandler);
+        this.model = model;
+        this.storage = storage;
+        this.saveHandler = saveHandler;
+    }
+
+    /**
+     * Starts archiving the past appointments in the background, and schedules them to be archived again every
+     * midnight. Must be called once, on the thread that owns the model.
+     *
+     * @param modelExecutor runs tasks on the thread that owns the model.
+     * @param statusHandler given the status of the archival whenever it changes, on the thread that owns the model.
+     * @return a future that completes once the archived appointments have been removed from the model.
+     */
+    CompletableFuture<Void> start(Executor modelExecutor, Consumer<String> statusHandler) {
+        requireNonNull(modelExecutor);
+        requireNonNull(statusHandler);
+        assert this.modelExecutor == null : "Archiver has already been started";
+        this.modelExecutor = modelExecutor;
+        this.statusHandler = statusHandler;
+
+        scheduleNextMidnightArchival();
+        return archive();
+    }
+
+    /**
+     * Starts archiving the past appointments in the background if more than the archive threshold have built up in
+     * the appointment list. Does nothing if the archiver has not been started.
+     * Must be called on the thread that owns the model.
+     */
+    void archiveIfOverThreshold() {
+        int threshold = model.getUserPrefs().getArchiveThreshold();
+        if (modelExecutor == null || isArchiving || threshold == 0) {
+            return;
+        }
+
+        // The appointments are sorted, so the past appointments are at the front of the list.
+        List<Appointment> appointments = model.getAppointmentBook().getAppointmentList();
+        for (int i = 0; i < appointments.size() && isPast(appointments.get(i)); i++) {
+            if (i == threshold) {
+                archive();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the archived appointments dated from {@code startDate} to {@code endDate} inclusive, once the archival
+     * in progress, if any, has finished writing the archive.
+     *
+     * @param nric the NRIC of the patient of the appointments, or null for the appointments of all patients.
+     * @throws DataConversionException if the archive could not be read.
+     */
+    List<CsvAdaptedAppointment> findAppointments(Nric nric, LocalDate startDate, LocalDate endDate)
+            throws DataConversionException {
+        Future<List<CsvAdaptedAppointment>> appointments =
+                executor.submit(() -> storage.findArchivedAppointments(nric, startDate, endDate));
+        try {
+            return appointments.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataConversionException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DataConversionException) {
+                throw (DataConversionException) e.getCause();
+            }
+            throw new DataConversionException(e);
+        }
+    }
+
+    private void scheduleNextMidnightArchival() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime nextArchivalTime = now.toLocalDate().plusDays(1).atStartOfDay().plus(MIDNIGHT_DELAY);
+        executor.schedule(() -> {
+            modelExecutor.execute(this::archive);
+            scheduleNextMidnightArchival();
+        }, Duration.between(now, nextArchivalTime).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts archiving the past appointments in the background, unless an archival is already in progress.
+     * Must be called on the thread that owns the model.
+     *
+     * @return a future that completes once the archived appointments have been removed from the model.
+     */
+    private CompletableFuture<Void> archive() {
+        if (isArchiving) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        isArchiving = true;
+        StorageStatsManager statsManager = storage.getStatsManager();
+        statsManager.setArchiveStats(0, 0);
+        statsManager.setArchiveMaintenanceStats(0, 0, 0);
+        statsManager.setArchiveInProgress(true);
+        statusHandler.accept(statsManager.getArchiveStatusMessage());
+
+        AppointmentBook pastAppointmentBook = new AppointmentBook();
+        pastAppointmentBook.setAppointments(model.getAppointmentBook().getAppointmentList().stream()
+                .takeWhile(BackgroundArchiver::isPast)
+                .collect(Collectors.toList()));
+        ReadOnlyUserPrefs userPrefs = new UserPrefs(model.getUserPrefs());
+        return CompletableFuture.supplyAsync(() -> {
+            List<Appointment> archivedAppointments = archivePastAppointments(pastAppointmentBook);
+            applyRetentionPolicy(userPrefs);
+            if (userPrefs.isArchiveCompressionEnabled()) {
+                compressPastMonths();
+            }
+            return archivedAppointments;
+        }, executor)
+                .whenCompleteAsync((archivedAppointments, error) -> {
+                    isArchiving = false;
+                    statsManager.setArchiveInProgress(false);
+                    if (error != null) {
+                        logger.warning("Failed to archive past appointments: " + error);
+                    } else {
+                        model.removeArchivedAppointments(archivedAppointments);
+                        saveHandler.run();
+                    }
+                    statusHandler.accept(statsManager.getArchiveStatusMessage());
+                }, modelExecutor)
+                .thenApply(archivedAppointments -> null);
+    }
+
+    private static boolean isPast(Appointment appointment) {
+        return DateTimeUtil.isExpiredByDay(appointment.getDate().getDate());
+    }
+
+    private void applyRetentionPolicy(ReadOnlyUserPrefs userPrefs) {
+        try {
+            storage.applyArchiveRetentionPolicy(userPrefs.getArchiveRollUpYears(),
+                    userPrefs.getArchiveRetentionYears());
+        } catch (IOException ioe) {
+            logger.warning("Failed to apply the archive retention policy: " + ioe);
+        }
+    }
+
+    private void compressPastMonths() {
+        try {
+            int compressedFileCount = storage.compressPastArchiveMonths();
+            if (compressedFileCount > 0) {
+                logger.info("Compressed " + compressedFileCount + " archive files of past months");
+            }
+        } catch (IOException ioe) {
+            // the files left uncompressed are compressed after the next archival
+            logger.warning("Failed to compress archive files of past months: " + ioe);
+        }
+    }
+
+    /**
+     * Archives the past appointments in {@code appointmentBook}, and returns the archived appointments.
+     */
+    private List<Appointment> archivePastAppointments(ReadOnlyAppointmentBook appointmentBook) {
+        ReadOnlyAppointmentBook upcomingAppointmentBook = storage.archivePastAppointments(appointmentBook);
+        if (upcomingAppointmentBook == appointmentBook) {
+            return List.of();
+        }
+
+        Set<Appointment> upcomingAppointments = new HashSet<>(upcomingAppointmentBook.getAppointmentList());
+        return appointmentBook.getAppointmentList().stream()
+                .filter(appointment -> !upcomingAppointments.contains(appointment))
+                .collect(Collectors.toList());
+    }
+}
@@ -2,6 +2,9 @@ package seedu.address.logic;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import javafx.collections.ObservableList;
 import seedu.address.commons.core.GuiSettings;
@@ -78,6 +81,26 @@ public interface Logic {
      */
     String getStorageStatus();
 
+    /**
+     * Sets the handler that is given an error message whenever data that was saved in the background fails to be
+     * written. The handler may be called from a background thread.
+     */
+    void setSaveFailureHandler(Consumer<String> failureHandler);
+
+    /**
+     * Starts archiving the past appointments on a background thread. Once they are archived, they are removed from
+     * the appointment book and the change is saved; commands can be executed in the meantime.
+     * The past appointments are archived again every midnight, and after any command that leaves more than the archive
+     * threshold in the user prefs in the appointment book. Must be called once.
+     *
+     * @param modelExecutor runs tasks on the thread that executes commands.
+     * @param statusHandler given the status of the archival whenever it changes, on the thread that executes
+     *     commands.
+     * @return a future that completes once the first archived appointments have been removed from the appointment
+     *     book.
+     */
+    CompletableFuture<Void> archivePastAppointments(Executor modelExecutor, Consumer<String> statusHandler);
+
     /** Returns an unmodifiable view of the command history list */
     ObservableList<String> getCommandHistory();
 }
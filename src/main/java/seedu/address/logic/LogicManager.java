@@ -2,6 +2,9 @@ package seedu.address.logic;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import javafx.collections.ObservableList;
@@ -30,6 +33,7 @@ public class LogicManager implements Logic {
     private final Storage storage;
     private final NuudleParser nuudleParser;
     private final CommandHistory commandHistory;
+    private final BackgroundArchiver archiver;
 
     /**
      * Constructs a {@code LogicManager} with the given {@code Model} and {@code Storage}.
@@ -39,6 +43,7 @@ public class LogicManager implements Logic {
         this.storage = storage;
         nuudleParser = new NuudleParser();
         commandHistory = new CommandHistory();
+        archiver = new BackgroundArchiver(model, storage, this::saveArchivedChanges);
     }
 
     @Override
@@ -53,23 +58,41 @@ public class LogicManager implements Logic {
         //Parse user input from String to a Command
         Command command = nuudleParser.parseCommand(commandText);
         //Executes the Command and stores the result
-        commandResult = command.execute(model);
+        commandResult = command.execute(model, archiver::findAppointments);
 
         try {
-            // We can deduce that the previous line of code modifies model in some way
-            // since it's being stored here.
-            saveData();
+            // Only the changes made by the command are saved, so read-only commands write nothing.
+            saveChanges();
+            if (commandResult.isExit()) {
+                // Saves may still be running in the background, and must finish before the app closes.
+                storage.flush();
+            }
         } catch (IOException ioe) {
             throw new CommandException(FILE_OPS_ERROR_MESSAGE + ioe, ioe);
         }
+        archiver.archiveIfOverThreshold();
 
         return commandResult;
     }
 
+    private void saveChanges() throws IOException {
+        storage.saveChanges(model.getPatientBook(), model.takeUnsavedPatientBookChanges(),
+                model.getAppointmentBook(), model.takeUnsavedAppointmentBookChanges());
+    }
+
+    private void saveArchivedChanges() {
+        try {
+            saveChanges();
+        } catch (IOException ioe) {
+            logger.warning(FILE_OPS_ERROR_MESSAGE + ioe);
+        }
+    }
+
     @Override
     public void saveData() throws IOException {
-        storage.savePatientBook(model.getPatientBook());
-        storage.saveAppointmentBook(model.getAppointmentBook());
+        model.takeUnsavedPatientBookChanges();
+        model.takeUnsavedAppointmentBookChanges();
+        storage.checkpoint(model.getPatientBook(), model.getAppointmentBook());
     }
 
     @Override
@@ -117,6 +140,16 @@ public class LogicManager implements Logic {
         return storage.getStatusMessage();
     }
 
+    @Override
+    public void setSaveFailureHandler(Consumer<String> failureHandler) {
+        storage.setSaveFailureHandler(ioe -> failureHandler.accept(FILE_OPS_ERROR_MESSAGE + ioe));
+    }
+
+    @Override
+    public CompletableFuture<Void> archivePastAppointments(Executor modelExecutor, Consumer<String> statusHandler) {
+        return archiver.start(modelExecutor, statusHandler);
+    }
+
     @Override
     public ObservableList<String> getCommandHistory() {
         return commandHistory.asUnmodifiableObservableList();
@@ -0,0 +1,24 @@
+package seedu.address.logic.commands;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.model.patient.Nric;
+import seedu.address.storage.archive.CsvAdaptedAppointment;
+
+/**
+ * Finds the appointments in the archive of past appointments.
+ */
+@FunctionalInterface
+public interface ArchivedAppointmentFinder {
+
+    /**
+     * Returns the archived appointments dated from {@code startDate} to {@code endDate} inclusive.
+     *
+     * @param nric the NRIC of the patient of the appointments, or null for the appointments of all patients.
+     * @throws DataConversionException if the archive could not be read.
+     */
+    List<CsvAdaptedAppointment> findAppointments(Nric nric, LocalDate startDate, LocalDate endDate)
+            throws DataConversionException;
+}
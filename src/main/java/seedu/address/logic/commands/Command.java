@@ -17,4 +17,16 @@ public abstract class Command {
      */
     public abstract CommandResult execute(Model model) throws CommandException;
 
+    /**
+     * Executes the command with access to the archive of past appointments, which most commands do not need.
+     *
+     * @param model {@code Model} which the command should operate on.
+     * @param archive finds the appointments in the archive.
+     * @return feedback message of the operation result for display
+     * @throws CommandException If an error occurs during command execution.
+     */
+    public CommandResult execute(Model model, ArchivedAppointmentFinder archive) throws CommandException {
+        return execute(model);
+    }
+
 }
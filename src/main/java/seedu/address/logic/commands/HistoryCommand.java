@@ -0,0 +1,88 @@
+package seedu.address.logic.commands;
+
+import static java.util.Objects.requireNonNull;
+import static seedu.address.logic.parser.CliSyntax.PREFIX_DATE;
+import static seedu.address.logic.parser.CliSyntax.PREFIX_NRIC;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.logic.commands.exceptions.CommandException;
+import seedu.address.model.Model;
+import seedu.address.model.patient.Nric;
+import seedu.address.storage.archive.CsvAdaptedAppointment;
+
+/**
+ * Lists the archived past appointments of a patient, or of a range of dates.
+ */
+public class HistoryCommand extends Command {
+
+    public static final String COMMAND_WORD = "history";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Lists the archived past appointments of a patient, "
+            + "or from the first date to the second date.\n"
+            + "Parameters: [" + PREFIX_NRIC + "NRIC] "
+            + "[" + PREFIX_DATE + "DATE [" + PREFIX_DATE + "DATE]]\n"
+            + "Example: " + COMMAND_WORD + " " + PREFIX_NRIC + "S1234567I "
+            + PREFIX_DATE + "01-Jan-2020 " + PREFIX_DATE + "31-Dec-2020";
+
+    public static final String MESSAGE_SUCCESS = "%1$d archived appointments listed!\n%2$s";
+
+    public static final String MESSAGE_ARCHIVE_ERROR = "Could not read the archive: ";
+
+    public static final String MESSAGE_ARCHIVE_UNAVAILABLE = "The archive is not available.";
+
+    private final Nric nric;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    /**
+     * Creates a HistoryCommand to list the archived appointments dated from {@code startDate} to {@code endDate}
+     * inclusive.
+     *
+     * @param nric the NRIC of the patient of the appointments, or null for the appointments of all patients.
+     */
+    public HistoryCommand(Nric nric, LocalDate startDate, LocalDate endDate) {
+        requireNonNull(startDate);
+        requireNonNull(endDate);
+
+        this.nric = nric;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    @Override
+    public CommandResult execute(Model model) throws CommandException {
+        throw new CommandException(MESSAGE_ARCHIVE_UNAVAILABLE);
+    }
+
+    @Override
+    public CommandResult execute(Model model, ArchivedAppointmentFinder archive) throws CommandException {
+        requireNonNull(model);
+        requireNonNull(archive);
+
+        List<CsvAdaptedAppointment> appointments;
+        try {
+            appointments = archive.findAppointments(nric, startDate, endDate);
+        } catch (DataConversionException e) {
+            throw new CommandException(MESSAGE_ARCHIVE_ERROR + e.getMessage(), e);
+        }
+
+        String appointmentList = appointments.stream()
+                .map(CsvAdaptedAppointment::toString)
+                .collect(Collectors.joining("\n"));
+        return new CommandResult(String.format(MESSAGE_SUCCESS, appointments.size(), appointmentList));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this
+                || (other instanceof HistoryCommand
+                    && Objects.equals(nric, ((HistoryCommand) other).nric)
+                    && startDate.equals(((HistoryCommand) other).startDate)
+                    && endDate.equals(((HistoryCommand) other).endDate));
+    }
+}
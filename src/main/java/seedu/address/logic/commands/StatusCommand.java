@@ -0,0 +1,39 @@
+package seedu.address.logic.commands;
+
+import static java.util.Objects.requireNonNull;
+
+import seedu.address.model.HistoryFootprint;
+import seedu.address.model.Model;
+
+/**
+ * Shows how much memory and disk space the undo history is using.
+ */
+public class StatusCommand extends Command {
+
+    public static final String COMMAND_WORD = "status";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Shows the memory and disk usage of the undo history.\n"
+            + "Example: " + COMMAND_WORD;
+
+    public static final String MESSAGE_SUCCESS = "Undo history\n%1$s\n%2$s";
+
+    public static final String MESSAGE_FOOTPRINT = "%1$s: %2$d of %3$d records in memory across %4$d commands, "
+            + "%5$d older commands (%6$d bytes) on disk";
+
+    @Override
+    public CommandResult execute(Model model) {
+        requireNonNull(model);
+        String patientFootprint = formatFootprint("Patients", model.getPatientBookHistoryFootprint());
+        String appointmentFootprint = formatFootprint("Appointments", model.getAppointmentBookHistoryFootprint());
+        return new CommandResult(String.format(MESSAGE_SUCCESS, patientFootprint, appointmentFootprint));
+    }
+
+    /**
+     * Formats {@code footprint} as a line of the status message.
+     */
+    public static String formatFootprint(String bookName, HistoryFootprint footprint) {
+        return String.format(MESSAGE_FOOTPRINT, bookName, footprint.getEntitiesInMemory(),
+                footprint.getMemoryBudget(), footprint.getStepsInMemory(), footprint.getStepsOnDisk(),
+                footprint.getBytesOnDisk());
+    }
+}
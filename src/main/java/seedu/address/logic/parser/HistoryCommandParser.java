@@ -0,0 +1,56 @@
+package seedu.address.logic.parser;
+
+import static seedu.address.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static seedu.address.logic.parser.CliSyntax.PREFIX_DATE;
+import static seedu.address.logic.parser.CliSyntax.PREFIX_NRIC;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import seedu.address.logic.commands.HistoryCommand;
+import seedu.address.logic.parser.exceptions.ParseException;
+import seedu.address.model.patient.Nric;
+
+/**
+ * Parses input arguments and creates a new HistoryCommand object.
+ */
+public class HistoryCommandParser implements Parser<HistoryCommand> {
+
+    public static final String MESSAGE_INVALID_DATE_RANGE = "The second date should not be before the first date.";
+
+    /**
+     * Parses the given {@code String} of arguments in the context of the HistoryCommand
+     * and returns a HistoryCommand object for execution.
+     * Without dates, all archived appointments of the patient are listed. With one date, only that date is listed.
+     *
+     * @throws ParseException if the user input does not conform the expected format.
+     */
+    @Override
+    public HistoryCommand parse(String args) throws ParseException {
+        ArgumentMultimap argMultimap = ArgumentTokenizer.tokenize(args, PREFIX_NRIC, PREFIX_DATE);
+        List<String> dates = argMultimap.getAllValues(PREFIX_DATE);
+
+        if (!argMultimap.getPreamble().isEmpty()
+                || (argMultimap.getValue(PREFIX_NRIC).isEmpty() && dates.isEmpty())
+                || dates.size() > 2) {
+            throw new ParseException(String.format(MESSAGE_INVALID_COMMAND_FORMAT, HistoryCommand.MESSAGE_USAGE));
+        }
+
+        Nric nric = null;
+        if (argMultimap.getValue(PREFIX_NRIC).isPresent()) {
+            nric = ParserUtil.parseNric(argMultimap.getValue(PREFIX_NRIC).get());
+        }
+
+        LocalDate startDate = LocalDate.MIN;
+        LocalDate endDate = LocalDate.MAX;
+        if (!dates.isEmpty()) {
+            startDate = ParserUtil.parseDate(dates.get(0)).getDate();
+            endDate = dates.size() == 2 ? ParserUtil.parseDate(dates.get(1)).getDate() : startDate;
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new ParseException(MESSAGE_INVALID_DATE_RANGE);
+        }
+
+        return new HistoryCommand(nric, startDate, endDate);
+    }
+}
@@ -3,6 +3,7 @@ package seedu.address.model;
 import static java.util.Objects.requireNonNull;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 import javafx.collections.ObservableList;
@@ -19,6 +20,7 @@ import seedu.address.model.patient.Patient;
 public class AppointmentBook implements ReadOnlyAppointmentBook {
 
     private final UniqueAppointmentList appointments;
+    private long modificationCount;
 
     /*
      * The 'unusual' code block below is a non-static initialization block, sometimes used to avoid duplication
@@ -49,6 +51,20 @@ public class AppointmentBook implements ReadOnlyAppointmentBook {
      */
     public void setAppointments(List<Appointment> appointments) {
         this.appointments.setAppointments(appointments);
+        modificationCount++;
+    }
+
+    /**
+     * Replaces the contents of the appointments list with {@code appointments}, discarding any appointment that
+     * overlaps with an earlier one.
+     *
+     * @return the discarded appointments.
+     */
+    public List<Appointment> setAppointmentsDiscardingOverlaps(List<Appointment> appointments) {
+        requireNonNull(appointments);
+        List<Appointment> discardedAppointments = this.appointments.setAppointmentsDiscardingOverlaps(appointments);
+        modificationCount++;
+        return discardedAppointments;
     }
 
     /**
@@ -68,6 +84,7 @@ public class AppointmentBook implements ReadOnlyAppointmentBook {
      */
     public void addAppointment(Appointment a) {
         appointments.add(a);
+        modificationCount++;
     }
 
     /**
@@ -80,6 +97,7 @@ public class AppointmentBook implements ReadOnlyAppointmentBook {
         requireNonNull(editedAppointment);
 
         appointments.setAppointment(target, editedAppointment);
+        modificationCount++;
     }
 
     /**
@@ -89,6 +107,22 @@ public class AppointmentBook implements ReadOnlyAppointmentBook {
     public void removeAppointment(Appointment key) {
         requireNonNull(key);
         appointments.remove(key);
+        modificationCount++;
+    }
+
+    /**
+     * Removes the appointments equal to any of {@code keys} from this {@code AppointmentBook}.
+     * Keys that are not in the appointment book are ignored.
+     *
+     * @return the appointments that were removed.
+     */
+    public List<Appointment> removeAppointments(Collection<Appointment> keys) {
+        requireNonNull(keys);
+        List<Appointment> removedAppointments = appointments.removeAll(keys);
+        if (!removedAppointments.isEmpty()) {
+            modificationCount++;
+        }
+        return removedAppointments;
     }
 
     /**
@@ -109,6 +143,14 @@ public class AppointmentBook implements ReadOnlyAppointmentBook {
 
     // patient-related appointment operations
 
+    /**
+     * Returns the appointments of {@code patient}.
+     */
+    public List<Appointment> getAppointmentsOfPatient(Patient patient) {
+        requireNonNull(patient);
+        return appointments.getAppointmentsOfPatient(patient.getNric());
+    }
+
     /**
      * Updates all appointments which contain the given {@code target}
      * in the list with {@code editedPatient}.
@@ -120,6 +162,7 @@ public class AppointmentBook implements ReadOnlyAppointmentBook {
     public void updateAppointmentsWithPatients(Patient target, Patient editedPatient) {
         requireNonNull(editedPatient);
         appointments.updateAppointmentsWithPatients(target, editedPatient);
+        modificationCount++;
     }
 
     /**
@@ -130,6 +173,7 @@ public class AppointmentBook implements ReadOnlyAppointmentBook {
     public void deleteAppointmentsWithPatients(Patient target) {
         requireNonNull(target);
         appointments.deleteAppointmentsWithPatients(target);
+        modificationCount++;
     }
 
     // Scheduling operation
@@ -158,6 +202,11 @@ public class AppointmentBook implements ReadOnlyAppointmentBook {
         return appointments.asUnmodifiableObservableList();
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public AppointmentStatistics getAppointmentBookStatistics() {
         Date today = new Date(LocalDate.now());
@@ -0,0 +1,39 @@
+package seedu.address.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.appointment.Date;
+import seedu.address.model.appointment.Time;
+import seedu.address.model.patient.Patient;
+
+/**
+ * Encodes an {@code Appointment} as its date, times and status, followed by its patient.
+ */
+class AppointmentCodec implements EntityCodec<Appointment> {
+
+    private final PatientCodec patientCodec = new PatientCodec();
+
+    @Override
+    public void encode(Appointment appointment, DataOutput out) throws IOException {
+        out.writeLong(appointment.getDate().getDate().toEpochDay());
+        out.writeInt(appointment.getStartTime().getTime().toSecondOfDay());
+        out.writeInt(appointment.getEndTime().getTime().toSecondOfDay());
+        out.writeBoolean(appointment.getIsDoneStatus());
+        patientCodec.encode(appointment.getPatient(), out);
+    }
+
+    @Override
+    public Appointment decode(DataInput in) throws IOException {
+        Date date = new Date(LocalDate.ofEpochDay(in.readLong()));
+        Time startTime = new Time(LocalTime.ofSecondOfDay(in.readInt()));
+        Time endTime = new Time(LocalTime.ofSecondOfDay(in.readInt()));
+        boolean isDone = in.readBoolean();
+        Patient patient = patientCodec.decode(in);
+        return new Appointment(date, startTime, endTime, patient, isDone);
+    }
+}
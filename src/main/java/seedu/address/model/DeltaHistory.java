@@ -0,0 +1,234 @@
+package seedu.address.model;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import seedu.address.commons.core.LogsCenter;
+import seedu.address.model.exceptions.NoUndoableStateException;
+
+/**
+ * A history of the changes made to a book, grouped into one delta per commit.
+ * Each delta only keeps the entities that were added, removed or replaced, so the memory used by the history grows
+ * with the size of the changes rather than with the size of the book.
+ * <p>
+ * Once the deltas in memory hold more entities than the memory budget, the oldest deltas are spilled to a
+ * {@code HistorySpillFile} and paged back in when an undo reaches them. Once the spill file holds more deltas than
+ * the spill limit, the oldest deltas are dropped and can no longer be undone.
+ * <p>
+ * Changes are applied back to the book through an {@code Editor}, which must not record them again.
+ * Every change that is recorded, and every undone or redone change that the editor makes, is also passed to a
+ * listener, so that it can be saved. Changes that the editor skips are not passed on.
+ *
+ * @param <T> the type of entity held by the book.
+ */
+class DeltaHistory<T> {
+    private static final Logger logger = LogsCenter.getLogger(DeltaHistory.class);
+
+    private final List<List<EntityChange<T>>> deltas = new ArrayList<>();
+    private final List<EntityChange<T>> pendingChanges = new ArrayList<>();
+    private final HistorySpillFile<T> spillFile;
+    private final int memoryBudget;
+    private final int spillLimit;
+    private final Consumer<EntityChange<T>> changeListener;
+    private int currentDeltaPointer;
+    private int entitiesInMemory;
+    private long droppedDeltas;
+
+    /**
+     * Creates an empty history that keeps at most {@code memoryBudget} entities of its deltas in memory,
+     * spilling older deltas to disk in the encoding given by {@code codec}, where at most {@code spillLimit} deltas
+     * are kept.
+     * Every change made to the book through this history is passed to {@code changeListener}.
+     */
+    DeltaHistory(EntityCodec<T> codec, int memoryBudget, int spillLimit, Consumer<EntityChange<T>> changeListener) {
+        requireNonNull(codec);
+        requireNonNull(changeListener);
+        assert memoryBudget >= 0 && spillLimit >= 0;
+        this.spillFile = new HistorySpillFile<>(codec);
+        this.memoryBudget = memoryBudget;
+        this.spillLimit = spillLimit;
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Records {@code change}, which has been made to the book since the last commit.
+     * Changes that leave the book as it was are not recorded.
+     */
+    public void record(EntityChange<T> change) {
+        requireNonNull(change);
+        if (change.isNoOp()) {
+            return;
+        }
+        pendingChanges.add(change);
+        changeListener.accept(change);
+    }
+
+    /**
+     * Forgets the changes made since the last commit without reverting them.
+     */
+    public void discardPendingChanges() {
+        pendingChanges.clear();
+    }
+
+    /**
+     * Saves the changes made since the last commit as a new delta at the end of the history.
+     * Undone deltas are removed from the history.
+     */
+    public void commit() {
+        List<List<EntityChange<T>>> undoneDeltas = deltas.subList(currentDeltaPointer, deltas.size());
+        undoneDeltas.forEach(delta -> entitiesInMemory -= sizeOf(delta));
+        undoneDeltas.clear();
+
+        deltas.add(new ArrayList<>(pendingChanges));
+        entitiesInMemory += sizeOf(pendingChanges);
+        pendingChanges.clear();
+        currentDeltaPointer++;
+        spillOldestDeltas();
+    }
+
+    /**
+     * Spills the oldest deltas to disk until the deltas in memory fit within the memory budget, dropping the oldest
+     * spilled deltas past the spill limit.
+     * The last committed delta is always kept in memory.
+     */
+    private void spillOldestDeltas() {
+        while (entitiesInMemory > memoryBudget && currentDeltaPointer > 1) {
+            List<EntityChange<T>> oldestDelta = deltas.get(0);
+            if (spillLimit > 0) {
+                try {
+                    spillFile.push(oldestDelta);
+                } catch (IOException e) {
+                    logger.warning("Unable to spill undo history to disk, keeping it in memory: " + e);
+                    return;
+                }
+            }
+            while (spillFile.size() > spillLimit) {
+                spillFile.dropOldest();
+                droppedDeltas++;
+            }
+            if (spillLimit == 0) {
+                droppedDeltas++;
+            }
+            deltas.remove(0);
+            entitiesInMemory -= sizeOf(oldestDelta);
+            currentDeltaPointer--;
+        }
+    }
+
+    /**
+     * Pages the most recently spilled delta back into memory.
+     */
+    private void pageInSpilledDelta() {
+        assert currentDeltaPointer == 0 && !spillFile.isEmpty();
+        List<EntityChange<T>> delta;
+        try {
+            delta = spillFile.pop();
+        } catch (IOException e) {
+            logger.warning("Unable to read undo history back from disk, discarding it: " + e);
+            droppedDeltas += spillFile.size();
+            spillFile.clear();
+            throw new NoUndoableStateException("Older history could not be read back from disk, unable to undo.");
+        }
+        deltas.add(0, delta);
+        entitiesInMemory += sizeOf(delta);
+        currentDeltaPointer++;
+    }
+
+    /**
+     * Reverts the uncommitted changes and the last committed delta through {@code editor}.
+     */
+    public void undo(EntityChange.Editor<T> editor) {
+        assert canUndo();
+        if (currentDeltaPointer == 0) {
+            pageInSpilledDelta();
+        }
+        revertPendingChanges(editor);
+        currentDeltaPointer--;
+        revert(deltas.get(currentDeltaPointer), editor);
+    }
+
+    /**
+     * Reverts the uncommitted changes and reapplies the last undone delta through {@code editor}.
+     */
+    public void redo(EntityChange.Editor<T> editor) {
+        assert canRedo();
+        revertPendingChanges(editor);
+        deltas.get(currentDeltaPointer).forEach(change -> apply(change, editor));
+        currentDeltaPointer++;
+    }
+
+    public boolean canUndo() {
+        return currentDeltaPointer > 0 || !spillFile.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return currentDeltaPointer < deltas.size();
+    }
+
+    /**
+     * Returns the number of deltas that have been committed to this history and are still in it, or have been
+     * dropped from its start. The deltas are numbered in this order from 0, and the next delta committed is given
+     * a number no greater than this.
+     */
+    public long getEndPosition() {
+        return droppedDeltas + spillFile.size() + deltas.size();
+    }
+
+    /**
+     * Returns the number of the oldest deltas that have been dropped from this history, so that every delta
+     * numbered below it is no longer in the history.
+     */
+    public long getDroppedDeltaCount() {
+        return droppedDeltas;
+    }
+
+    /**
+     * Returns the memory and disk usage of this history.
+     */
+    public HistoryFootprint getFootprint() {
+        return new HistoryFootprint(entitiesInMemory, memoryBudget, deltas.size(), spillFile.size(),
+                spillFile.sizeInBytes());
+    }
+
+    private static <T> int sizeOf(List<EntityChange<T>> delta) {
+        return delta.stream().mapToInt(EntityChange::size).sum();
+    }
+
+    private void revertPendingChanges(EntityChange.Editor<T> editor) {
+        revert(pendingChanges, editor);
+        pendingChanges.clear();
+    }
+
+    private void revert(List<EntityChange<T>> changes, EntityChange.Editor<T> editor) {
+        for (int i = changes.size() - 1; i >= 0; i--) {
+            apply(changes.get(i).inverse(), editor);
+        }
+    }
+
+    /**
+     * Makes {@code change} through {@code editor}, and passes it to the listener only if the editor made it.
+     */
+    private void apply(EntityChange<T> change, EntityChange.Editor<T> editor) {
+        change.applyTo(editor).ifPresent(changeListener);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof DeltaHistory // instanceof handles nulls
+                && deltas.equals(((DeltaHistory<?>) other).deltas)
+                && currentDeltaPointer == ((DeltaHistory<?>) other).currentDeltaPointer
+                && spillFile.size() == ((DeltaHistory<?>) other).spillFile.size());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(deltas, currentDeltaPointer, spillFile.size());
+    }
+}
@@ -0,0 +1,240 @@
+package seedu.address.model;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A reversible change made to the entities of a book.
+ * Guarantees: immutable.
+ *
+ * @param <T> the type of entity held by the book.
+ */
+public final class EntityChange<T> {
+    /** Used for entities whose position in the book is not significant. */
+    public static final int NO_INDEX = -1;
+
+    /**
+     * The kinds of change that can be made to a book.
+     */
+    public enum Kind {
+        ADD, REMOVE, REPLACE, RESET
+    }
+
+    private final Kind kind;
+    private final int index;
+    private final List<T> before;
+    private final List<T> after;
+
+    private EntityChange(Kind kind, int index, List<T> before, List<T> after) {
+        this.kind = kind;
+        this.index = index;
+        this.before = before;
+        this.after = after;
+    }
+
+    /**
+     * Returns a change that added {@code entity} at {@code index}.
+     */
+    public static <T> EntityChange<T> added(int index, T entity) {
+        requireNonNull(entity);
+        return new EntityChange<>(Kind.ADD, index, Collections.emptyList(), List.of(entity));
+    }
+
+    /**
+     * Returns a change that removed {@code entity} from {@code index}.
+     */
+    public static <T> EntityChange<T> removed(int index, T entity) {
+        requireNonNull(entity);
+        return new EntityChange<>(Kind.REMOVE, index, List.of(entity), Collections.emptyList());
+    }
+
+    /**
+     * Returns a change that replaced {@code target} with {@code edited}.
+     */
+    public static <T> EntityChange<T> replaced(T target, T edited) {
+        requireNonNull(target);
+        requireNonNull(edited);
+        return new EntityChange<>(Kind.REPLACE, NO_INDEX, List.of(target), List.of(edited));
+    }
+
+    /**
+     * Returns a change that replaced all of the {@code before} entities with the {@code after} entities.
+     */
+    public static <T> EntityChange<T> reset(List<T> before, List<T> after) {
+        return new EntityChange<>(Kind.RESET, NO_INDEX, new ArrayList<>(before), new ArrayList<>(after));
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the position of the added or removed entity, or {@code NO_INDEX} if its position is not significant.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the entities removed or replaced by this change.
+     */
+    public List<T> getBefore() {
+        return Collections.unmodifiableList(before);
+    }
+
+    /**
+     * Returns the entities added by this change, or the replacements of the entities it replaced.
+     */
+    public List<T> getAfter() {
+        return Collections.unmodifiableList(after);
+    }
+
+    /**
+     * Returns the change that undoes this change.
+     */
+    public EntityChange<T> inverse() {
+        switch (kind) {
+        case ADD:
+            return new EntityChange<>(Kind.REMOVE, index, after, before);
+        case REMOVE:
+            return new EntityChange<>(Kind.ADD, index, after, before);
+        default:
+            return new EntityChange<>(kind, index, after, before);
+        }
+    }
+
+    /**
+     * Makes this change through {@code editor}.
+     *
+     * @return the change as it was made, without the entities that {@code editor} skipped, or
+     *     {@code Optional.empty()} if {@code editor} did not make it.
+     */
+    public Optional<EntityChange<T>> applyTo(Editor<T> editor) {
+        switch (kind) {
+        case ADD:
+            return editor.add(index, after.get(0)) ? Optional.of(this) : Optional.empty();
+        case REMOVE:
+            return editor.remove(before.get(0)) ? Optional.of(this) : Optional.empty();
+        case REPLACE:
+            return editor.set(before.get(0), after.get(0)) ? Optional.of(this) : Optional.empty();
+        case RESET:
+            List<T> entitiesSet = editor.setAll(after);
+            return Optional.of(entitiesSet.equals(after) ? this : reset(before, entitiesSet));
+        default:
+            throw new AssertionError("Unknown change: " + kind);
+        }
+    }
+
+    /**
+     * Returns true if this change replaced entities with equal ones.
+     */
+    public boolean isNoOp() {
+        return (kind == Kind.REPLACE || kind == Kind.RESET) && before.equals(after);
+    }
+
+    /**
+     * Returns the number of entities held by this change.
+     */
+    public int size() {
+        return before.size() + after.size();
+    }
+
+    /**
+     * Decodes a change written by {@link #encode(EntityCodec, DataOutput)}.
+     */
+    static <T> EntityChange<T> decode(EntityCodec<T> codec, DataInput in) throws IOException {
+        Kind kind = Kind.values()[in.readByte()];
+        int index = in.readInt();
+        List<T> before = decodeAll(codec, in);
+        List<T> after = decodeAll(codec, in);
+        return new EntityChange<>(kind, index, before, after);
+    }
+
+    private static <T> List<T> decodeAll(EntityCodec<T> codec, DataInput in) throws IOException {
+        int count = in.readInt();
+        List<T> entities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entities.add(codec.decode(in));
+        }
+        return entities;
+    }
+
+    /**
+     * Writes this change to {@code out}, encoding its entities with {@code codec}.
+     */
+    void encode(EntityCodec<T> codec, DataOutput out) throws IOException {
+        out.writeByte(kind.ordinal());
+        out.writeInt(index);
+        encodeAll(codec, before, out);
+        encodeAll(codec, after, out);
+    }
+
+    private static <T> void encodeAll(EntityCodec<T> codec, List<T> entities, DataOutput out) throws IOException {
+        out.writeInt(entities.size());
+        for (T entity : entities) {
+            codec.encode(entity, out);
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+
+        if (!(other instanceof EntityChange)) {
+            return false;
+        }
+
+        EntityChange<?> otherChange = (EntityChange<?>) other;
+        return kind == otherChange.kind
+                && index == otherChange.index
+                && before.equals(otherChange.before)
+                && after.equals(otherChange.after);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, index, before, after);
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + before + " -> " + after;
+    }
+
+    /**
+     * Makes changes to a book.
+     * An editor may skip a change that no longer applies to the book, and reports whether it made each change.
+     */
+    public interface Editor<T> {
+        /**
+         * Inserts {@code entity} at {@code index}, or appends it if the index is {@code NO_INDEX}.
+         * Returns true if the entity was added.
+         */
+        boolean add(int index, T entity);
+
+        /**
+         * Removes {@code entity}, and returns true if it was removed.
+         */
+        boolean remove(T entity);
+
+        /**
+         * Replaces {@code target} with {@code edited}, and returns true if it was replaced.
+         */
+        boolean set(T target, T edited);
+
+        /**
+         * Replaces all of the entities with {@code entities}, and returns the entities that were set.
+         */
+        List<T> setAll(List<T> entities);
+    }
+}
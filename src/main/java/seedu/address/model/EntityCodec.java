@@ -0,0 +1,17 @@
+package seedu.address.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Encodes entities of a book into a compact binary form, and decodes them back.
+ *
+ * @param <T> the type of entity encoded.
+ */
+interface EntityCodec<T> {
+
+    void encode(T entity, DataOutput out) throws IOException;
+
+    T decode(DataInput in) throws IOException;
+}
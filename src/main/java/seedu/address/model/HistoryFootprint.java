@@ -0,0 +1,75 @@
+package seedu.address.model;
+
+import java.util.Objects;
+
+/**
+ * Describes how much memory and disk space the undo history of a book is using.
+ */
+public class HistoryFootprint {
+
+    private final int entitiesInMemory;
+    private final int memoryBudget;
+    private final int stepsInMemory;
+    private final int stepsOnDisk;
+    private final long bytesOnDisk;
+
+    /**
+     * Creates a {@code HistoryFootprint} with the given usage figures.
+     */
+    public HistoryFootprint(int entitiesInMemory, int memoryBudget, int stepsInMemory, int stepsOnDisk,
+                            long bytesOnDisk) {
+        this.entitiesInMemory = entitiesInMemory;
+        this.memoryBudget = memoryBudget;
+        this.stepsInMemory = stepsInMemory;
+        this.stepsOnDisk = stepsOnDisk;
+        this.bytesOnDisk = bytesOnDisk;
+    }
+
+    /**
+     * Returns the number of records held in memory by the history.
+     */
+    public int getEntitiesInMemory() {
+        return entitiesInMemory;
+    }
+
+    /**
+     * Returns the number of records the history may hold in memory before spilling older steps to disk.
+     */
+    public int getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    public int getStepsInMemory() {
+        return stepsInMemory;
+    }
+
+    public int getStepsOnDisk() {
+        return stepsOnDisk;
+    }
+
+    public long getBytesOnDisk() {
+        return bytesOnDisk;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (!(other instanceof HistoryFootprint)) {
+            return false;
+        }
+
+        HistoryFootprint o = (HistoryFootprint) other;
+        return entitiesInMemory == o.entitiesInMemory
+                && memoryBudget == o.memoryBudget
+                && stepsInMemory == o.stepsInMemory
+                && stepsOnDisk == o.stepsOnDisk
+                && bytesOnDisk == o.bytesOnDisk;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(entitiesInMemory, memoryBudget, stepsInMemory, stepsOnDisk, bytesOnDisk);
+    }
+}
@@ -0,0 +1,155 @@
+package seedu.address.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A temporary file holding the oldest deltas of a {@code DeltaHistory} in a compact binary encoding.
+ * Deltas are pushed and popped like a stack: the delta popped is always the most recently pushed one, which is the
+ * delta that the next undo needs.
+ * <p>
+ * The oldest deltas can also be dropped to bound the size of the file. Their bytes are left at the start of the file
+ * until they take up more space than the deltas kept, and are then reclaimed by the next push.
+ *
+ * @param <T> the type of entity held by the book.
+ */
+class HistorySpillFile<T> {
+    private static final String FILE_PREFIX = "nuudle-history";
+
+    private final EntityCodec<T> codec;
+    private final Deque<Long> deltaOffsets = new ArrayDeque<>();
+    private Path file;
+
+    HistorySpillFile(EntityCodec<T> codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * Appends {@code delta} to the end of the file.
+     */
+    public void push(List<EntityChange<T>> delta) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(delta.size());
+        for (EntityChange<T> change : delta) {
+            change.encode(codec, out);
+        }
+        out.flush();
+
+        if (file == null) {
+            file = Files.createTempFile(FILE_PREFIX, ".bin");
+            file.toFile().deleteOnExit();
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            reclaimDroppedBytes(raf);
+            long offset = raf.length();
+            raf.seek(offset);
+            raf.write(bytes.toByteArray());
+            deltaOffsets.addLast(offset);
+        }
+    }
+
+    /**
+     * Moves the deltas kept to the start of the file if the dropped deltas before them take up more space.
+     */
+    private void reclaimDroppedBytes(RandomAccessFile raf) throws IOException {
+        long length = raf.length();
+        long keptStart = deltaOffsets.isEmpty() ? length : deltaOffsets.getFirst();
+        if (keptStart == 0 || keptStart <= length - keptStart) {
+            return;
+        }
+
+        byte[] keptBytes = new byte[Math.toIntExact(length - keptStart)];
+        raf.seek(keptStart);
+        raf.readFully(keptBytes);
+        raf.seek(0);
+        raf.write(keptBytes);
+        raf.setLength(keptBytes.length);
+
+        List<Long> keptOffsets = new ArrayList<>(deltaOffsets);
+        deltaOffsets.clear();
+        keptOffsets.forEach(offset -> deltaOffsets.addLast(offset - keptStart));
+    }
+
+    /**
+     * Removes the last delta from the file and returns it.
+     * The file must not be empty.
+     */
+    public List<EntityChange<T>> pop() throws IOException {
+        assert !isEmpty();
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            long offset = deltaOffsets.getLast();
+            byte[] bytes = new byte[Math.toIntExact(raf.length() - offset)];
+            raf.seek(offset);
+            raf.readFully(bytes);
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            int changeCount = in.readInt();
+            List<EntityChange<T>> delta = new ArrayList<>(changeCount);
+            for (int i = 0; i < changeCount; i++) {
+                delta.add(EntityChange.decode(codec, in));
+            }
+
+            deltaOffsets.removeLast();
+            // the bytes of dropped deltas are no longer needed once every delta kept has been popped
+            raf.setLength(deltaOffsets.isEmpty() ? 0 : offset);
+            return delta;
+        }
+    }
+
+    /**
+     * Drops the oldest delta, which is the delta pushed first, from the file.
+     * The file must not be empty.
+     */
+    public void dropOldest() {
+        assert !isEmpty();
+        deltaOffsets.removeFirst();
+    }
+
+    /**
+     * Removes all deltas from the file.
+     */
+    public void clear() {
+        deltaOffsets.clear();
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            file.toFile().deleteOnExit();
+        }
+        file = null;
+    }
+
+    public boolean isEmpty() {
+        return deltaOffsets.isEmpty();
+    }
+
+    /**
+     * Returns the number of deltas in the file.
+     */
+    public int size() {
+        return deltaOffsets.size();
+    }
+
+    /**
+     * Returns the size of the file in bytes.
+     */
+    public long sizeInBytes() {
+        if (file == null) {
+            return 0;
+        }
+        return file.toFile().length();
+    }
+}
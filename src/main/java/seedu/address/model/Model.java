@@ -1,12 +1,15 @@
 package seedu.address.model;
 
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Predicate;
 
 import javafx.collections.ObservableList;
 import seedu.address.commons.core.GuiSettings;
 import seedu.address.model.appointment.Appointment;
+import seedu.address.model.patient.Nric;
 import seedu.address.model.patient.Patient;
 
 /**
@@ -84,6 +87,12 @@ public interface Model {
      */
     boolean hasPatient(Patient patient);
 
+    /**
+     * Returns the patient with the given {@code nric} in the patient book, or {@code Optional.empty()} if there is
+     * no such patient.
+     */
+    Optional<Patient> getPatientByNric(Nric nric);
+
     /**
      * Returns true if the time slot of an appointment hasOverlaps {@code appointment} in the appointment book.
      */
@@ -137,6 +146,13 @@ public interface Model {
      */
     void deleteAppointmentsWithPatient(Patient target);
 
+    /**
+     * Removes the appointments equal to any of {@code archivedAppointments}, which have been archived, from the
+     * appointment book. Appointments that have been changed or deleted since they were archived are ignored.
+     * The removal cannot be undone.
+     */
+    void removeArchivedAppointments(Collection<Appointment> archivedAppointments);
+
     /**
      * Replaces the given {@code target} with {@code editedAppointment}.
      * {@code target} must exist in the appointment book.
@@ -235,4 +251,24 @@ public interface Model {
      * Saves the current patient book state for undo/redo.
      */
     void commitPatientBook();
+
+    /**
+     * Returns the changes made to the patient book since this method was last called, and forgets them.
+     */
+    List<EntityChange<Patient>> takeUnsavedPatientBookChanges();
+
+    /**
+     * Returns the changes made to the appointment book since this method was last called, and forgets them.
+     */
+    List<EntityChange<Appointment>> takeUnsavedAppointmentBookChanges();
+
+    /**
+     * Returns the memory and disk usage of the patient book's undo history.
+     */
+    HistoryFootprint getPatientBookHistoryFootprint();
+
+    /**
+     * Returns the memory and disk usage of the appointment book's undo history.
+     */
+    HistoryFootprint getAppointmentBookHistoryFootprint();
 }
@@ -4,15 +4,21 @@ import static java.util.Objects.requireNonNull;
 import static seedu.address.commons.util.CollectionUtil.requireAllNonNull;
 
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import seedu.address.commons.core.GuiSettings;
 import seedu.address.commons.core.LogsCenter;
 import seedu.address.model.appointment.Appointment;
+import seedu.address.model.patient.Nric;
 import seedu.address.model.patient.Patient;
 
 /**
@@ -38,9 +44,11 @@ public class ModelManager implements Model {
         logger.fine("Initializing with patient book: " + patientBook + " and appointment book" + appointmentBook
                 + " and user prefs " + userPrefs);
 
-        this.versionedPatientBook = new VersionedPatientBook(patientBook);
-        this.versionedAppointmentBook = new VersionedAppointmentBook(appointmentBook);
         this.userPrefs = new UserPrefs(userPrefs);
+        this.versionedPatientBook = new VersionedPatientBook(patientBook, this.userPrefs.getHistoryMemoryBudget(),
+                this.userPrefs.getHistorySpillLimit());
+        this.versionedAppointmentBook = new VersionedAppointmentBook(appointmentBook,
+                this.userPrefs.getHistoryMemoryBudget(), this.userPrefs.getHistorySpillLimit());
         filteredPatients = new FilteredList<>(this.versionedPatientBook.getPatientList());
         filteredAppointments = new FilteredList<>(this.versionedAppointmentBook.getAppointmentList());
     }
@@ -123,6 +131,12 @@ public class ModelManager implements Model {
         return versionedPatientBook.hasPatient(patient);
     }
 
+    @Override
+    public Optional<Patient> getPatientByNric(Nric nric) {
+        requireNonNull(nric);
+        return versionedPatientBook.getPatient(nric);
+    }
+
     @Override
     public void deletePatient(Patient target) {
         versionedPatientBook.removePatient(target);
@@ -198,6 +212,12 @@ public class ModelManager implements Model {
         versionedAppointmentBook.deleteAppointmentsWithPatients(target);
     }
 
+    @Override
+    public void removeArchivedAppointments(Collection<Appointment> archivedAppointments) {
+        requireNonNull(archivedAppointments);
+        versionedAppointmentBook.removeArchivedAppointments(archivedAppointments);
+    }
+
     //=========== Filtered Appointment List Accessors =================================================================
 
     /**
@@ -284,6 +304,26 @@ public class ModelManager implements Model {
         versionedPatientBook.commit();
     }
 
+    @Override
+    public List<EntityChange<Patient>> takeUnsavedPatientBookChanges() {
+        return versionedPatientBook.takeUnsavedChanges();
+    }
+
+    @Override
+    public List<EntityChange<Appointment>> takeUnsavedAppointmentBookChanges() {
+        return versionedAppointmentBook.takeUnsavedChanges();
+    }
+
+    @Override
+    public HistoryFootprint getPatientBookHistoryFootprint() {
+        return versionedPatientBook.getHistoryFootprint();
+    }
+
+    @Override
+    public HistoryFootprint getAppointmentBookHistoryFootprint() {
+        return versionedAppointmentBook.getHistoryFootprint();
+    }
+
     @Override
     public boolean equals(Object obj) {
         // short circuit if same object
@@ -318,15 +358,27 @@ public class ModelManager implements Model {
                                        ReadOnlyAppointmentBook readOnlyAppointmentBook) {
         requireAllNonNull(readOnlyPatientBook, readOnlyAppointmentBook);
 
-        List<Appointment> appointmentList = readOnlyAppointmentBook.getAppointmentList();
-        PatientBook patientBook = new PatientBook(readOnlyPatientBook);
+        Set<Nric> patientNrics = getPatientNrics(readOnlyPatientBook);
+        return readOnlyAppointmentBook.getAppointmentList().stream()
+                .allMatch(appointment -> patientNrics.contains(appointment.getPatient().getNric()));
+    }
 
-        for (Appointment appointment : appointmentList) {
-            if (!patientBook.hasPatient(appointment.getPatient())) {
-                return false;
-            }
-        }
-        return true;
+    /**
+     * Returns the appointments in {@code readOnlyAppointmentBook} whose patients are not in
+     * {@code readOnlyPatientBook}, in the order of the appointment list.
+     *
+     * @param readOnlyPatientBook the patients data.
+     * @param readOnlyAppointmentBook the appointments data.
+     * @return the orphaned appointments, which is empty if the two books are valid.
+     */
+    public static List<Appointment> getOrphanedAppointments(ReadOnlyPatientBook readOnlyPatientBook,
+                                                            ReadOnlyAppointmentBook readOnlyAppointmentBook) {
+        requireAllNonNull(readOnlyPatientBook, readOnlyAppointmentBook);
+
+        Set<Nric> patientNrics = getPatientNrics(readOnlyPatientBook);
+        return readOnlyAppointmentBook.getAppointmentList().stream()
+                .filter(appointment -> !patientNrics.contains(appointment.getPatient().getNric()))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -342,15 +394,24 @@ public class ModelManager implements Model {
         requireAllNonNull(readOnlyPatientBook, readOnlyAppointmentBook);
         assert !isValidModel(readOnlyPatientBook, readOnlyAppointmentBook);
 
-        List<Appointment> appointmentList = readOnlyAppointmentBook.getAppointmentList();
+        // set in one step, so that the appointments are checked in a single sweep instead of one search each
+        Set<Nric> patientNrics = getPatientNrics(readOnlyPatientBook);
         AppointmentBook appointmentBook = new AppointmentBook();
-        PatientBook patientBook = new PatientBook(readOnlyPatientBook);
+        appointmentBook.setAppointments(readOnlyAppointmentBook.getAppointmentList().stream()
+                .filter(appointment -> patientNrics.contains(appointment.getPatient().getNric()))
+                .collect(Collectors.toList()));
+        return appointmentBook;
+    }
 
-        for (Appointment appointment : appointmentList) {
-            if (patientBook.hasPatient(appointment.getPatient())) {
-                appointmentBook.addAppointment(appointment);
-            }
+    /**
+     * Returns the NRICs of the patients in {@code patientBook}, so that appointments can be matched to them
+     * without a search through the patient list.
+     */
+    private static Set<Nric> getPatientNrics(ReadOnlyPatientBook patientBook) {
+        Set<Nric> patientNrics = new HashSet<>();
+        for (Patient patient : patientBook.getPatientList()) {
+            patientNrics.add(patient.getNric());
         }
-        return appointmentBook;
+        return patientNrics;
     }
 }
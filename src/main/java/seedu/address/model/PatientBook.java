@@ -2,9 +2,12 @@ package seedu.address.model;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import javafx.collections.ObservableList;
+import seedu.address.model.patient.Nric;
 import seedu.address.model.patient.Patient;
 import seedu.address.model.patient.UniquePatientList;
 
@@ -15,6 +18,7 @@ import seedu.address.model.patient.UniquePatientList;
 public class PatientBook implements ReadOnlyPatientBook {
 
     private final UniquePatientList patients;
+    private long modificationCount;
 
     /*
      * The 'unusual' code block below is a non-static initialization block, sometimes used to avoid duplication
@@ -45,6 +49,7 @@ public class PatientBook implements ReadOnlyPatientBook {
      */
     public void setPatients(List<Patient> patients) {
         this.patients.setPatients(patients);
+        modificationCount++;
     }
 
     /**
@@ -56,6 +61,17 @@ public class PatientBook implements ReadOnlyPatientBook {
         setPatients(newData.getPatientList());
     }
 
+    /**
+     * Resets the existing data of this {@code PatientBook} with a trusted {@code snapshot}, such as a state from the
+     * undo/redo history. A {@code PatientBook} never contains duplicate patients, so the data is not re-validated.
+     */
+    public void restoreSnapshot(PatientBook snapshot) {
+        requireNonNull(snapshot);
+
+        patients.setPatients(snapshot.patients);
+        modificationCount++;
+    }
+
     //// patient-level operations
 
     /**
@@ -66,12 +82,48 @@ public class PatientBook implements ReadOnlyPatientBook {
         return patients.contains(patient);
     }
 
+    /**
+     * Returns the position of {@code patient} in the order the patients were added to the patient book, which is
+     * the order {@link #addPatient(int, Patient)} inserts into, rather than the sorted order of the patient list.
+     * Returns -1 if the patient is not in the patient book.
+     */
+    int indexOfPatient(Patient patient) {
+        return patients.indexOf(patient);
+    }
+
+    /**
+     * Returns the patients in the order they were added to the patient book.
+     */
+    List<Patient> getPatientsInAddedOrder() {
+        List<Patient> patientsInAddedOrder = new ArrayList<>();
+        patients.forEach(patientsInAddedOrder::add);
+        return patientsInAddedOrder;
+    }
+
+    /**
+     * Returns the patient with the given {@code nric} in the patient book, if any.
+     */
+    public Optional<Patient> getPatient(Nric nric) {
+        requireNonNull(nric);
+        return patients.getPatient(nric);
+    }
+
     /**
      * Adds a patient to the patient book.
      * The patient must not already exist in the patient book.
      */
     public void addPatient(Patient p) {
         patients.add(p);
+        modificationCount++;
+    }
+
+    /**
+     * Inserts a patient into the patient book at {@code index}.
+     * The patient must not already exist in the patient book.
+     */
+    public void addPatient(int index, Patient p) {
+        patients.add(index, p);
+        modificationCount++;
     }
 
     /**
@@ -84,6 +136,7 @@ public class PatientBook implements ReadOnlyPatientBook {
         requireNonNull(editedPatient);
 
         patients.setPatient(target, editedPatient);
+        modificationCount++;
     }
 
     /**
@@ -92,6 +145,7 @@ public class PatientBook implements ReadOnlyPatientBook {
      */
     public void removePatient(Patient key) {
         patients.remove(key);
+        modificationCount++;
     }
 
     //// util methods
@@ -107,6 +161,11 @@ public class PatientBook implements ReadOnlyPatientBook {
         return patients.asUnmodifiableObservableList();
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public boolean equals(Object other) {
         return other == this // short circuit if same object
@@ -0,0 +1,49 @@
+package seedu.address.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import seedu.address.model.patient.Address;
+import seedu.address.model.patient.Name;
+import seedu.address.model.patient.Nric;
+import seedu.address.model.patient.Patient;
+import seedu.address.model.patient.Phone;
+import seedu.address.model.patient.Remark;
+import seedu.address.model.tag.Tag;
+
+/**
+ * Encodes a {@code Patient} as its field values, in a fixed order.
+ */
+class PatientCodec implements EntityCodec<Patient> {
+
+    @Override
+    public void encode(Patient patient, DataOutput out) throws IOException {
+        out.writeUTF(patient.getName().fullName);
+        out.writeUTF(patient.getPhone().value);
+        out.writeUTF(patient.getAddress().value);
+        out.writeUTF(patient.getNric().value);
+        out.writeUTF(patient.getRemark().value);
+        out.writeInt(patient.getTags().size());
+        for (Tag tag : patient.getTags()) {
+            out.writeUTF(tag.tagName);
+        }
+    }
+
+    @Override
+    public Patient decode(DataInput in) throws IOException {
+        Name name = new Name(in.readUTF());
+        Phone phone = new Phone(in.readUTF());
+        Address address = new Address(in.readUTF());
+        Nric nric = new Nric(in.readUTF());
+        Remark remark = new Remark(in.readUTF());
+        int tagCount = in.readInt();
+        Set<Tag> tags = new HashSet<>();
+        for (int i = 0; i < tagCount; i++) {
+            tags.add(new Tag(in.readUTF()));
+        }
+        return new Patient(name, phone, address, tags, nric, remark);
+    }
+}
@@ -14,6 +14,12 @@ public interface ReadOnlyAppointmentBook {
      */
     ObservableList<Appointment> getAppointmentList();
 
+    /**
+     * Returns the number of times the appointment book has been modified.
+     * The count only ever increases, so an unchanged count means the appointments have not changed.
+     */
+    long getModificationCount();
+
     /**
      * Returns the statistics of the appointment book.
      */
@@ -14,4 +14,10 @@ public interface ReadOnlyPatientBook {
      */
     ObservableList<Patient> getPatientList();
 
+    /**
+     * Returns the number of times the patient book has been modified.
+     * The count only ever increases, so an unchanged count means the patients have not changed.
+     */
+    long getModificationCount();
+
 }
@@ -15,4 +15,24 @@ public interface ReadOnlyUserPrefs {
 
     Path getAppointmentBookFilePath();
 
+    int getHistoryMemoryBudget();
+
+    int getHistorySpillLimit();
+
+    int getJournalCheckpointInterval();
+
+    boolean isBackgroundSaveEnabled();
+
+    int getBackupCount();
+
+    boolean isBinarySnapshotEnabled();
+
+    int getArchiveThreshold();
+
+    boolean isArchiveCompressionEnabled();
+
+    int getArchiveRollUpYears();
+
+    int getArchiveRetentionYears();
+
 }
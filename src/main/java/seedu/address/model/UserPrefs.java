@@ -1,6 +1,7 @@
 package seedu.address.model;
 
 import static java.util.Objects.requireNonNull;
+import static seedu.address.commons.util.AppUtil.checkArgument;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -16,10 +17,27 @@ import seedu.address.commons.core.GuiSettings;
  */
 public class UserPrefs implements ReadOnlyUserPrefs {
 
+    public static final int DEFAULT_HISTORY_MEMORY_BUDGET = 10000;
+    public static final int DEFAULT_HISTORY_SPILL_LIMIT = 1000;
+    public static final int DEFAULT_JOURNAL_CHECKPOINT_INTERVAL = 50;
+    public static final int DEFAULT_BACKUP_COUNT = 1;
+    public static final int DEFAULT_ARCHIVE_THRESHOLD = 100;
+    public static final int DEFAULT_ARCHIVE_ROLL_UP_YEARS = 2;
+
     private GuiSettings guiSettings = new GuiSettings();
     private Path patientBookFilePath = Paths.get("data" , "patientbook.json");
     private Path appointmentBookFilePath = Paths.get("data" , "appointmentbook.json");
     private Path archiveDirectoryPath = Paths.get("data", "archives");
+    private int historyMemoryBudget = DEFAULT_HISTORY_MEMORY_BUDGET;
+    private int historySpillLimit = DEFAULT_HISTORY_SPILL_LIMIT;
+    private int journalCheckpointInterval = DEFAULT_JOURNAL_CHECKPOINT_INTERVAL;
+    private boolean isBackgroundSaveEnabled = true;
+    private int backupCount = DEFAULT_BACKUP_COUNT;
+    private boolean isBinarySnapshotEnabled = false;
+    private int archiveThreshold = DEFAULT_ARCHIVE_THRESHOLD;
+    private boolean isArchiveCompressionEnabled = false;
+    private int archiveRollUpYears = DEFAULT_ARCHIVE_ROLL_UP_YEARS;
+    private int archiveRetentionYears = 0;
 
     /**
      * Creates a {@code UserPrefs} with default values.
@@ -34,7 +52,17 @@ public class UserPrefs implements ReadOnlyUserPrefs {
     public UserPrefs(@JsonProperty("guiSettings") GuiSettings guiSettings,
                      @JsonProperty("patientBookFilePath") Path patientBookFilePath,
                      @JsonProperty("appointmentBookFilePath") Path appointmentBookFilePath,
-                     @JsonProperty("archiveDirectoryPath") Path archiveDirectoryPath) {
+                     @JsonProperty("archiveDirectoryPath") Path archiveDirectoryPath,
+                     @JsonProperty("historyMemoryBudget") Integer historyMemoryBudget,
+                     @JsonProperty("historySpillLimit") Integer historySpillLimit,
+                     @JsonProperty("journalCheckpointInterval") Integer journalCheckpointInterval,
+                     @JsonProperty("isBackgroundSaveEnabled") Boolean isBackgroundSaveEnabled,
+                     @JsonProperty("backupCount") Integer backupCount,
+                     @JsonProperty("isBinarySnapshotEnabled") Boolean isBinarySnapshotEnabled,
+                     @JsonProperty("archiveThreshold") Integer archiveThreshold,
+                     @JsonProperty("isArchiveCompressionEnabled") Boolean isArchiveCompressionEnabled,
+                     @JsonProperty("archiveRollUpYears") Integer archiveRollUpYears,
+                     @JsonProperty("archiveRetentionYears") Integer archiveRetentionYears) {
         if (guiSettings != null) {
             this.guiSettings = guiSettings;
         }
@@ -50,6 +78,46 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         if (archiveDirectoryPath != null) {
             this.archiveDirectoryPath = archiveDirectoryPath;
         }
+
+        if (historyMemoryBudget != null && historyMemoryBudget >= 0) {
+            this.historyMemoryBudget = historyMemoryBudget;
+        }
+
+        if (historySpillLimit != null && historySpillLimit >= 0) {
+            this.historySpillLimit = historySpillLimit;
+        }
+
+        if (journalCheckpointInterval != null && journalCheckpointInterval >= 0) {
+            this.journalCheckpointInterval = journalCheckpointInterval;
+        }
+
+        if (isBackgroundSaveEnabled != null) {
+            this.isBackgroundSaveEnabled = isBackgroundSaveEnabled;
+        }
+
+        if (backupCount != null && backupCount >= 0) {
+            this.backupCount = backupCount;
+        }
+
+        if (isBinarySnapshotEnabled != null) {
+            this.isBinarySnapshotEnabled = isBinarySnapshotEnabled;
+        }
+
+        if (archiveThreshold != null && archiveThreshold >= 0) {
+            this.archiveThreshold = archiveThreshold;
+        }
+
+        if (isArchiveCompressionEnabled != null) {
+            this.isArchiveCompressionEnabled = isArchiveCompressionEnabled;
+        }
+
+        if (archiveRollUpYears != null && archiveRollUpYears >= 0) {
+            this.archiveRollUpYears = archiveRollUpYears;
+        }
+
+        if (archiveRetentionYears != null && archiveRetentionYears >= 0) {
+            this.archiveRetentionYears = archiveRetentionYears;
+        }
     }
 
     /**
@@ -68,6 +136,16 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         setGuiSettings(newUserPrefs.getGuiSettings());
         setPatientBookFilePath(newUserPrefs.getPatientBookFilePath());
         setAppointmentBookFilePath(newUserPrefs.getAppointmentBookFilePath());
+        setHistoryMemoryBudget(newUserPrefs.getHistoryMemoryBudget());
+        setHistorySpillLimit(newUserPrefs.getHistorySpillLimit());
+        setJournalCheckpointInterval(newUserPrefs.getJournalCheckpointInterval());
+        setBackgroundSaveEnabled(newUserPrefs.isBackgroundSaveEnabled());
+        setBackupCount(newUserPrefs.getBackupCount());
+        setBinarySnapshotEnabled(newUserPrefs.isBinarySnapshotEnabled());
+        setArchiveThreshold(newUserPrefs.getArchiveThreshold());
+        setArchiveCompressionEnabled(newUserPrefs.isArchiveCompressionEnabled());
+        setArchiveRollUpYears(newUserPrefs.getArchiveRollUpYears());
+        setArchiveRetentionYears(newUserPrefs.getArchiveRetentionYears());
     }
 
     @Override
@@ -107,6 +185,142 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         this.archiveDirectoryPath = archiveDirectoryPath;
     }
 
+    @Override
+    public int getHistoryMemoryBudget() {
+        return historyMemoryBudget;
+    }
+
+    /**
+     * Sets the number of patient or appointment records that the undo history of each book may keep in memory.
+     * {@code historyMemoryBudget} must not be negative.
+     */
+    public void setHistoryMemoryBudget(int historyMemoryBudget) {
+        checkArgument(historyMemoryBudget >= 0, "History memory budget must not be negative.");
+        this.historyMemoryBudget = historyMemoryBudget;
+    }
+
+    @Override
+    public int getHistorySpillLimit() {
+        return historySpillLimit;
+    }
+
+    /**
+     * Sets the number of commands that the undo history of each book may keep on disk once they no longer fit in
+     * memory, after which the oldest commands can no longer be undone.
+     * {@code historySpillLimit} must not be negative, and 0 keeps no commands on disk.
+     */
+    public void setHistorySpillLimit(int historySpillLimit) {
+        checkArgument(historySpillLimit >= 0, "History spill limit must not be negative.");
+        this.historySpillLimit = historySpillLimit;
+    }
+
+    @Override
+    public int getJournalCheckpointInterval() {
+        return journalCheckpointInterval;
+    }
+
+    /**
+     * Sets the number of changes that may be appended to the journal before the data files are saved in full.
+     * {@code journalCheckpointInterval} must not be negative, and 0 saves the data files in full after every change.
+     */
+    public void setJournalCheckpointInterval(int journalCheckpointInterval) {
+        checkArgument(journalCheckpointInterval >= 0, "Journal checkpoint interval must not be negative.");
+        this.journalCheckpointInterval = journalCheckpointInterval;
+    }
+
+    @Override
+    public boolean isBackgroundSaveEnabled() {
+        return isBackgroundSaveEnabled;
+    }
+
+    /**
+     * Sets whether data is saved on a background thread, so that commands do not wait for files to be written.
+     */
+    public void setBackgroundSaveEnabled(boolean isBackgroundSaveEnabled) {
+        this.isBackgroundSaveEnabled = isBackgroundSaveEnabled;
+    }
+
+    @Override
+    public int getBackupCount() {
+        return backupCount;
+    }
+
+    /**
+     * Sets the number of backups of each data file that are kept when the application starts.
+     * {@code backupCount} must not be negative, and 0 turns the backups off.
+     */
+    public void setBackupCount(int backupCount) {
+        checkArgument(backupCount >= 0, "Backup count must not be negative.");
+        this.backupCount = backupCount;
+    }
+
+    @Override
+    public boolean isBinarySnapshotEnabled() {
+        return isBinarySnapshotEnabled;
+    }
+
+    /**
+     * Sets whether a binary snapshot is kept next to each data file, so that the data is read faster on start-up.
+     */
+    public void setBinarySnapshotEnabled(boolean isBinarySnapshotEnabled) {
+        this.isBinarySnapshotEnabled = isBinarySnapshotEnabled;
+    }
+
+    @Override
+    public int getArchiveThreshold() {
+        return archiveThreshold;
+    }
+
+    /**
+     * Sets the number of past appointments that may build up in the appointment list before they are archived
+     * without waiting for midnight.
+     * {@code archiveThreshold} must not be negative, and 0 only archives them at midnight.
+     */
+    public void setArchiveThreshold(int archiveThreshold) {
+        checkArgument(archiveThreshold >= 0, "Archive threshold must not be negative.");
+        this.archiveThreshold = archiveThreshold;
+    }
+
+    @Override
+    public boolean isArchiveCompressionEnabled() {
+        return isArchiveCompressionEnabled;
+    }
+
+    /**
+     * Sets whether the archive files of past months are compressed in the background once the month is over.
+     */
+    public void setArchiveCompressionEnabled(boolean isArchiveCompressionEnabled) {
+        this.isArchiveCompressionEnabled = isArchiveCompressionEnabled;
+    }
+
+    @Override
+    public int getArchiveRollUpYears() {
+        return archiveRollUpYears;
+    }
+
+    /**
+     * Sets the number of years after which the archive files of the months of a year are merged into one yearly file.
+     * {@code archiveRollUpYears} must not be negative, and 0 never merges them.
+     */
+    public void setArchiveRollUpYears(int archiveRollUpYears) {
+        checkArgument(archiveRollUpYears >= 0, "Archive roll-up years must not be negative.");
+        this.archiveRollUpYears = archiveRollUpYears;
+    }
+
+    @Override
+    public int getArchiveRetentionYears() {
+        return archiveRetentionYears;
+    }
+
+    /**
+     * Sets the number of years that archived appointments are kept for, after which their archive files are deleted.
+     * {@code archiveRetentionYears} must not be negative, and 0 keeps them forever.
+     */
+    public void setArchiveRetentionYears(int archiveRetentionYears) {
+        checkArgument(archiveRetentionYears >= 0, "Archive retention years must not be negative.");
+        this.archiveRetentionYears = archiveRetentionYears;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -121,12 +335,25 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         return guiSettings.equals(o.guiSettings)
                 && patientBookFilePath.equals(o.patientBookFilePath)
                 && appointmentBookFilePath.equals(o.appointmentBookFilePath)
-                && archiveDirectoryPath.equals(o.archiveDirectoryPath);
+                && archiveDirectoryPath.equals(o.archiveDirectoryPath)
+                && historyMemoryBudget == o.historyMemoryBudget
+                && historySpillLimit == o.historySpillLimit
+                && journalCheckpointInterval == o.journalCheckpointInterval
+                && isBackgroundSaveEnabled == o.isBackgroundSaveEnabled
+                && backupCount == o.backupCount
+                && isBinarySnapshotEnabled == o.isBinarySnapshotEnabled
+                && archiveThreshold == o.archiveThreshold
+                && isArchiveCompressionEnabled == o.isArchiveCompressionEnabled
+                && archiveRollUpYears == o.archiveRollUpYears
+                && archiveRetentionYears == o.archiveRetentionYears;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(guiSettings, patientBookFilePath, appointmentBookFilePath, archiveDirectoryPath);
+        return Objects.hash(guiSettings, patientBookFilePath, appointmentBookFilePath, archiveDirectoryPath,
+                historyMemoryBudget, historySpillLimit, journalCheckpointInterval, isBackgroundSaveEnabled,
+                backupCount, isBinarySnapshotEnabled, archiveThreshold, isArchiveCompressionEnabled, archiveRollUpYears,
+                archiveRetentionYears);
     }
 
     @Override
@@ -136,6 +363,16 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         sb.append("\nLocal Patient data file location : " + patientBookFilePath);
         sb.append("\nLocal Appointment data file location : " + appointmentBookFilePath);
         sb.append("\nLocal Archive data file location : " + archiveDirectoryPath);
+        sb.append("\nUndo history memory budget : " + historyMemoryBudget);
+        sb.append("\nUndo history spill limit : " + historySpillLimit);
+        sb.append("\nJournal checkpoint interval : " + journalCheckpointInterval);
+        sb.append("\nSave in background : " + isBackgroundSaveEnabled);
+        sb.append("\nBackups kept : " + backupCount);
+        sb.append("\nBinary snapshots : " + isBinarySnapshotEnabled);
+        sb.append("\nArchive threshold : " + archiveThreshold);
+        sb.append("\nCompress archive : " + isArchiveCompressionEnabled);
+        sb.append("\nArchive roll-up years : " + archiveRollUpYears);
+        sb.append("\nArchive retention years : " + archiveRetentionYears);
         return sb.toString();
     }
 
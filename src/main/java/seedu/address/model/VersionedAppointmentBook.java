@@ -1,41 +1,156 @@
 package seedu.address.model;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.appointment.exceptions.AppointmentNotFoundException;
 import seedu.address.model.exceptions.NoRedoableStateException;
 import seedu.address.model.exceptions.NoUndoableStateException;
+import seedu.address.model.patient.Patient;
 
 /**
- * Stores the states of the appointment book after executing undoable and redoable commands.
+ * Stores the changes made to the appointment book by undoable and redoable commands.
+ * Undoing or redoing a command only replays the appointments that the command added, removed or replaced.
  */
 public class VersionedAppointmentBook extends AppointmentBook {
-    private final List<ReadOnlyAppointmentBook> appointmentBookStateList;
-    private int currentStatePointer;
+    private final List<EntityChange<Appointment>> unsavedChanges = new ArrayList<>();
+    private final DeltaHistory<Appointment> history;
+    private final EntityChange.Editor<Appointment> editor = new UnrecordedEditor();
+    // the archived appointments, with the position in the history at which they were archived
+    private final Map<Appointment, Long> knownArchivedAppointments = new HashMap<>();
+    private long prunedDeltaCount;
 
     /**
-     * Initializes a versioned appointment book with the given initial state.
+     * Initializes a versioned appointment book with the given initial state and the default history memory budget.
      */
     public VersionedAppointmentBook(ReadOnlyAppointmentBook initialState) {
-        super(initialState);
+        this(initialState, UserPrefs.DEFAULT_HISTORY_MEMORY_BUDGET);
+    }
+
+    /**
+     * Initializes a versioned appointment book with the given initial state and the default history spill limit.
+     * At most {@code historyMemoryBudget} appointments are kept in memory by the undo history; older changes are
+     * spilled to disk.
+     */
+    public VersionedAppointmentBook(ReadOnlyAppointmentBook initialState, int historyMemoryBudget) {
+        this(initialState, historyMemoryBudget, UserPrefs.DEFAULT_HISTORY_SPILL_LIMIT);
+    }
+
+    /**
+     * Initializes a versioned appointment book with the given initial state.
+     * At most {@code historyMemoryBudget} appointments are kept in memory by the undo history; older changes are
+     * spilled to disk, which keeps the changes of at most {@code historySpillLimit} commands.
+     */
+    public VersionedAppointmentBook(ReadOnlyAppointmentBook initialState, int historyMemoryBudget,
+                                    int historySpillLimit) {
+        history = new DeltaHistory<>(new AppointmentCodec(), historyMemoryBudget, historySpillLimit,
+                unsavedChanges::add);
+        resetData(initialState);
+        history.discardPendingChanges();
+        unsavedChanges.clear();
+    }
+
+    //// recorded operations
+
+    @Override
+    public void setAppointments(List<Appointment> appointments) {
+        List<Appointment> before = new ArrayList<>(getAppointmentList());
+        super.setAppointments(appointments);
+        history.record(EntityChange.reset(before, getAppointmentList()));
+    }
+
+    @Override
+    public List<Appointment> setAppointmentsDiscardingOverlaps(List<Appointment> appointments) {
+        List<Appointment> before = new ArrayList<>(getAppointmentList());
+        List<Appointment> discardedAppointments = super.setAppointmentsDiscardingOverlaps(appointments);
+        history.record(EntityChange.reset(before, getAppointmentList()));
+        return discardedAppointments;
+    }
+
+    @Override
+    public void addAppointment(Appointment a) {
+        super.addAppointment(a);
+        history.record(EntityChange.added(EntityChange.NO_INDEX, a));
+    }
+
+    @Override
+    public void setAppointment(Appointment target, Appointment editedAppointment) {
+        super.setAppointment(target, editedAppointment);
+        history.record(EntityChange.replaced(target, editedAppointment));
+    }
+
+    @Override
+    public void removeAppointment(Appointment key) {
+        super.removeAppointment(key);
+        history.record(EntityChange.removed(EntityChange.NO_INDEX, key));
+    }
+
+    @Override
+    public List<Appointment> removeAppointments(Collection<Appointment> keys) {
+        List<Appointment> removedAppointments = super.removeAppointments(keys);
+        for (Appointment appointment : removedAppointments) {
+            history.record(EntityChange.removed(EntityChange.NO_INDEX, appointment));
+        }
+        return removedAppointments;
+    }
+
+    /**
+     * Removes the appointments equal to any of {@code archivedAppointments}, which have been archived.
+     * The removal is saved like any other change, but is not part of the history, so undoing a command never
+     * brings archived appointments back into the appointment book.
+     */
+    public void removeArchivedAppointments(Collection<Appointment> archivedAppointments) {
+        for (Appointment appointment : super.removeAppointments(archivedAppointments)) {
+            unsavedChanges.add(EntityChange.removed(EntityChange.NO_INDEX, appointment));
+            knownArchivedAppointments.put(appointment, history.getEndPosition());
+        }
+    }
 
-        appointmentBookStateList = new ArrayList<>();
-        appointmentBookStateList.add(new AppointmentBook(initialState));
-        currentStatePointer = 0;
+    @Override
+    public void updateAppointmentsWithPatients(Patient target, Patient editedPatient) {
+        List<Appointment> appointmentsToUpdate = getAppointmentsOfPatient(target);
+        super.updateAppointmentsWithPatients(target, editedPatient);
+        for (Appointment appointment : appointmentsToUpdate) {
+            history.record(EntityChange.replaced(appointment, appointment.setPatient(editedPatient)));
+        }
+    }
+
+    @Override
+    public void deleteAppointmentsWithPatients(Patient target) {
+        List<Appointment> appointmentsToDelete = getAppointmentsOfPatient(target);
+        super.deleteAppointmentsWithPatients(target);
+        for (Appointment appointment : appointmentsToDelete) {
+            history.record(EntityChange.removed(EntityChange.NO_INDEX, appointment));
+        }
     }
 
+    //// versioning operations
+
     /**
-     * Saves a copy of the current {@code AppointmentBook} state at the end of the state list.
-     * Undone states are removed from the state list.
+     * Saves the changes made since the last commit as a new step at the end of the history.
+     * Undone steps are removed from the history.
      */
     public void commit() {
-        removeStatesAfterCurrentPointer();
-        appointmentBookStateList.add(new AppointmentBook(this));
-        currentStatePointer++;
+        history.commit();
+        pruneKnownArchivedAppointments();
     }
 
-    private void removeStatesAfterCurrentPointer() {
-        appointmentBookStateList.subList(currentStatePointer + 1, appointmentBookStateList.size()).clear();
+    /**
+     * Forgets the archived appointments once every delta of the history that could hold them has been dropped,
+     * as no undo or redo can bring them back any more.
+     */
+    private void pruneKnownArchivedAppointments() {
+        long droppedDeltaCount = history.getDroppedDeltaCount();
+        if (droppedDeltaCount == prunedDeltaCount) {
+            return;
+        }
+        knownArchivedAppointments.values().removeIf(position -> position < droppedDeltaCount);
+        prunedDeltaCount = droppedDeltaCount;
     }
 
     /**
@@ -46,8 +161,7 @@ public class VersionedAppointmentBook extends AppointmentBook {
             throw new NoUndoableStateException("Current state pointer at start of appointmentBookState list, "
                     + "unable to undo.");
         }
-        currentStatePointer--;
-        resetData(appointmentBookStateList.get(currentStatePointer));
+        history.undo(editor);
     }
 
     /**
@@ -58,22 +172,38 @@ public class VersionedAppointmentBook extends AppointmentBook {
             throw new NoRedoableStateException("Current state pointer at end of appointmentBookState list, "
                     + "unable to redo.");
         }
-        currentStatePointer++;
-        resetData(appointmentBookStateList.get(currentStatePointer));
+        history.redo(editor);
     }
 
     /**
      * Returns true if {@code undo()} has appointment book states to undo.
      */
     public boolean canUndo() {
-        return currentStatePointer > 0;
+        return history.canUndo();
     }
 
     /**
      * Returns true if {@code redo()} has appointment book states to redo.
      */
     public boolean canRedo() {
-        return currentStatePointer < appointmentBookStateList.size() - 1;
+        return history.canRedo();
+    }
+
+    /**
+     * Returns the changes made to the appointment book since this method was last called, including the changes
+     * made by undoing and redoing, and forgets them.
+     */
+    public List<EntityChange<Appointment>> takeUnsavedChanges() {
+        List<EntityChange<Appointment>> changes = new ArrayList<>(unsavedChanges);
+        unsavedChanges.clear();
+        return changes;
+    }
+
+    /**
+     * Returns the memory and disk usage of the undo history.
+     */
+    public HistoryFootprint getHistoryFootprint() {
+        return history.getFootprint();
     }
 
     @Override
@@ -92,7 +222,54 @@ public class VersionedAppointmentBook extends AppointmentBook {
 
         // state check
         return super.equals(versionedAppointmentBook)
-                && appointmentBookStateList.equals(versionedAppointmentBook.appointmentBookStateList)
-                && currentStatePointer == versionedAppointmentBook.currentStatePointer;
+                && history.equals(versionedAppointmentBook.history);
+    }
+
+    /**
+     * Applies changes from the history to the appointment book without recording them again.
+     * The position of an appointment is not significant since the appointment list is kept sorted.
+     * Changes to appointments that have since been archived are skipped, as they are no longer in the book, and
+     * archived appointments are left out when all the appointments are set.
+     */
+    private class UnrecordedEditor implements EntityChange.Editor<Appointment> {
+        @Override
+        public boolean add(int index, Appointment appointment) {
+            if (knownArchivedAppointments.containsKey(appointment)) {
+                return false;
+            }
+            VersionedAppointmentBook.super.addAppointment(appointment);
+            return true;
+        }
+
+        @Override
+        public boolean remove(Appointment appointment) {
+            try {
+                VersionedAppointmentBook.super.removeAppointment(appointment);
+                return true;
+            } catch (AppointmentNotFoundException e) {
+                // the appointment has been archived
+                return false;
+            }
+        }
+
+        @Override
+        public boolean set(Appointment target, Appointment edited) {
+            try {
+                VersionedAppointmentBook.super.setAppointment(target, edited);
+                return true;
+            } catch (AppointmentNotFoundException e) {
+                // the appointment has been archived
+                return false;
+            }
+        }
+
+        @Override
+        public List<Appointment> setAll(List<Appointment> appointments) {
+            List<Appointment> unarchivedAppointments = appointments.stream()
+                    .filter(appointment -> !knownArchivedAppointments.containsKey(appointment))
+                    .collect(Collectors.toList());
+            VersionedAppointmentBook.super.setAppointments(unarchivedAppointments);
+            return unarchivedAppointments;
+        }
     }
 }
@@ -5,37 +5,95 @@ import java.util.List;
 
 import seedu.address.model.exceptions.NoRedoableStateException;
 import seedu.address.model.exceptions.NoUndoableStateException;
+import seedu.address.model.patient.Patient;
 
 /**
- * Stores the states of the patient book after executing undoable and redoable commands.
+ * Stores the changes made to the patient book by undoable and redoable commands.
+ * Undoing or redoing a command only replays the patients that the command added, removed or replaced.
  */
 public class VersionedPatientBook extends PatientBook {
-    private final List<ReadOnlyPatientBook> patientBookStateList;
-    private int currentStatePointer;
+    private final List<EntityChange<Patient>> unsavedChanges = new ArrayList<>();
+    private final DeltaHistory<Patient> history;
+    private final EntityChange.Editor<Patient> editor = new UnrecordedEditor();
 
     /**
-     * Initializes a versioned patient book with the given initial state.
+     * Initializes a versioned patient book with the given initial state and the default history memory budget.
      */
     public VersionedPatientBook(ReadOnlyPatientBook initialState) {
-        super(initialState);
+        this(initialState, UserPrefs.DEFAULT_HISTORY_MEMORY_BUDGET);
+    }
 
-        patientBookStateList = new ArrayList<>();
-        patientBookStateList.add(new PatientBook(initialState));
-        currentStatePointer = 0;
+    /**
+     * Initializes a versioned patient book with the given initial state and the default history spill limit.
+     * At most {@code historyMemoryBudget} patients are kept in memory by the undo history; older changes are
+     * spilled to disk.
+     */
+    public VersionedPatientBook(ReadOnlyPatientBook initialState, int historyMemoryBudget) {
+        this(initialState, historyMemoryBudget, UserPrefs.DEFAULT_HISTORY_SPILL_LIMIT);
     }
 
     /**
-     * Saves a copy of the current {@code PatientBook} state at the end of the state list.
-     * Undone states are removed from the state list.
+     * Initializes a versioned patient book with the given initial state.
+     * At most {@code historyMemoryBudget} patients are kept in memory by the undo history; older changes are
+     * spilled to disk, which keeps the changes of at most {@code historySpillLimit} commands.
      */
-    public void commit() {
-        removeStatesAfterCurrentPointer();
-        patientBookStateList.add(new PatientBook(this));
-        currentStatePointer++;
+    public VersionedPatientBook(ReadOnlyPatientBook initialState, int historyMemoryBudget, int historySpillLimit) {
+        history = new DeltaHistory<>(new PatientCodec(), historyMemoryBudget, historySpillLimit, unsavedChanges::add);
+        resetData(initialState);
+        history.discardPendingChanges();
+        unsavedChanges.clear();
+    }
+
+    //// recorded operations
+
+    @Override
+    public void setPatients(List<Patient> patients) {
+        List<Patient> before = getPatientsInAddedOrder();
+        super.setPatients(patients);
+        history.record(EntityChange.reset(before, patients));
+    }
+
+    @Override
+    public void restoreSnapshot(PatientBook snapshot) {
+        List<Patient> before = getPatientsInAddedOrder();
+        super.restoreSnapshot(snapshot);
+        history.record(EntityChange.reset(before, snapshot.getPatientsInAddedOrder()));
+    }
+
+    @Override
+    public void addPatient(Patient p) {
+        int index = getPatientList().size();
+        super.addPatient(p);
+        history.record(EntityChange.added(index, p));
+    }
+
+    @Override
+    public void addPatient(int index, Patient p) {
+        super.addPatient(index, p);
+        history.record(EntityChange.added(index, p));
+    }
+
+    @Override
+    public void setPatient(Patient target, Patient editedPatient) {
+        super.setPatient(target, editedPatient);
+        history.record(EntityChange.replaced(target, editedPatient));
+    }
+
+    @Override
+    public void removePatient(Patient key) {
+        int index = indexOfPatient(key);
+        super.removePatient(key);
+        history.record(EntityChange.removed(index, key));
     }
 
-    private void removeStatesAfterCurrentPointer() {
-        patientBookStateList.subList(currentStatePointer + 1, patientBookStateList.size()).clear();
+    //// versioning operations
+
+    /**
+     * Saves the changes made since the last commit as a new step at the end of the history.
+     * Undone steps are removed from the history.
+     */
+    public void commit() {
+        history.commit();
     }
 
     /**
@@ -46,8 +104,7 @@ public class VersionedPatientBook extends PatientBook {
             throw new NoUndoableStateException("Current state pointer at start of patientBookState list,"
                     + " unable to undo.");
         }
-        currentStatePointer--;
-        resetData(patientBookStateList.get(currentStatePointer));
+        history.undo(editor);
     }
 
     /**
@@ -58,22 +115,38 @@ public class VersionedPatientBook extends PatientBook {
             throw new NoRedoableStateException("Current state pointer at end of patientBookState list, "
                     + "unable to redo.");
         }
-        currentStatePointer++;
-        resetData(patientBookStateList.get(currentStatePointer));
+        history.redo(editor);
     }
 
     /**
      * Returns true if {@code undo()} has patient book states to undo.
      */
     public boolean canUndo() {
-        return currentStatePointer > 0;
+        return history.canUndo();
     }
 
     /**
      * Returns true if {@code redo()} has patient book states to redo.
      */
     public boolean canRedo() {
-        return currentStatePointer < patientBookStateList.size() - 1;
+        return history.canRedo();
+    }
+
+    /**
+     * Returns the changes made to the patient book since this method was last called, including the changes
+     * made by undoing and redoing, and forgets them.
+     */
+    public List<EntityChange<Patient>> takeUnsavedChanges() {
+        List<EntityChange<Patient>> changes = new ArrayList<>(unsavedChanges);
+        unsavedChanges.clear();
+        return changes;
+    }
+
+    /**
+     * Returns the memory and disk usage of the undo history.
+     */
+    public HistoryFootprint getHistoryFootprint() {
+        return history.getFootprint();
     }
 
     @Override
@@ -92,8 +165,39 @@ public class VersionedPatientBook extends PatientBook {
 
         // state check
         return super.equals(versionedPatientBook)
-                && patientBookStateList.equals(versionedPatientBook.patientBookStateList)
-                && currentStatePointer == versionedPatientBook.currentStatePointer;
+                && history.equals(versionedPatientBook.history);
     }
 
+    /**
+     * Applies changes from the history to the patient book without recording them again.
+     */
+    private class UnrecordedEditor implements EntityChange.Editor<Patient> {
+        @Override
+        public boolean add(int index, Patient patient) {
+            if (index == EntityChange.NO_INDEX) {
+                VersionedPatientBook.super.addPatient(patient);
+            } else {
+                VersionedPatientBook.super.addPatient(index, patient);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean remove(Patient patient) {
+            VersionedPatientBook.super.removePatient(patient);
+            return true;
+        }
+
+        @Override
+        public boolean set(Patient target, Patient edited) {
+            VersionedPatientBook.super.setPatient(target, edited);
+            return true;
+        }
+
+        @Override
+        public List<Patient> setAll(List<Patient> patients) {
+            VersionedPatientBook.super.setPatients(patients);
+            return patients;
+        }
+    }
 }
@@ -0,0 +1,92 @@
+package seedu.address.model.appointment;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * An index of non-overlapping appointments, bucketed by {@code Date} and ordered by start time within each day.
+ * Since the appointments in a day never overlap, ordering them by start time also orders them by end time.
+ * This allows overlap checks, lookups and updates to be done in O(log n) time.
+ * <p>
+ * The index does not check for overlaps on insertion; callers are expected to check with
+ * {@link #hasOverlaps(Appointment)} beforehand.
+ */
+class AppointmentIntervalIndex {
+
+    private final TreeMap<LocalDate, TreeMap<LocalTime, Appointment>> appointmentsByDate = new TreeMap<>();
+
+    /**
+     * Returns true if the index contains an appointment that overlaps with {@code toCheck}.
+     */
+    public boolean hasOverlaps(Appointment toCheck) {
+        requireNonNull(toCheck);
+        TreeMap<LocalTime, Appointment> day = appointmentsByDate.get(toCheck.getDate().getDate());
+        if (day == null) {
+            return false;
+        }
+
+        // The last appointment starting before toCheck ends has the latest end time among all such appointments.
+        Map.Entry<LocalTime, Appointment> candidate = day.lowerEntry(toCheck.getEndTime().getTime());
+        return candidate != null && candidate.getValue().isOverlapping(toCheck);
+    }
+
+    /**
+     * Returns the appointment that starts at the given {@code date} and {@code startTime}, if any.
+     */
+    public Optional<Appointment> getAppointmentStartingAt(Date date, Time startTime) {
+        requireNonNull(date);
+        requireNonNull(startTime);
+        TreeMap<LocalTime, Appointment> day = appointmentsByDate.get(date.getDate());
+        if (day == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(day.get(startTime.getTime()));
+    }
+
+    /**
+     * Adds {@code toAdd} to the index.
+     * {@code toAdd} must not overlap with any appointment in the index.
+     */
+    public void add(Appointment toAdd) {
+        requireNonNull(toAdd);
+        assert !hasOverlaps(toAdd);
+        appointmentsByDate.computeIfAbsent(toAdd.getDate().getDate(), unused -> new TreeMap<>())
+                .put(toAdd.getStartTime().getTime(), toAdd);
+    }
+
+    /**
+     * Removes {@code toRemove} from the index.
+     * Returns true if an equal appointment was found and removed.
+     */
+    public boolean remove(Appointment toRemove) {
+        requireNonNull(toRemove);
+        LocalDate date = toRemove.getDate().getDate();
+        TreeMap<LocalTime, Appointment> day = appointmentsByDate.get(date);
+        if (day == null || !toRemove.equals(day.get(toRemove.getStartTime().getTime()))) {
+            return false;
+        }
+
+        day.remove(toRemove.getStartTime().getTime());
+        if (day.isEmpty()) {
+            appointmentsByDate.remove(date);
+        }
+        return true;
+    }
+
+    /**
+     * Replaces the contents of the index with {@code appointments}.
+     * {@code appointments} must not contain overlapping appointments.
+     */
+    public void setAll(Iterable<Appointment> appointments) {
+        requireNonNull(appointments);
+        appointmentsByDate.clear();
+        for (Appointment appointment : appointments) {
+            add(appointment);
+        }
+    }
+}
@@ -4,14 +4,21 @@ import static java.util.Objects.requireNonNull;
 import static seedu.address.commons.util.CollectionUtil.requireAllNonNull;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import seedu.address.model.ScheduleManager;
 import seedu.address.model.appointment.exceptions.AppointmentNotFoundException;
 import seedu.address.model.appointment.exceptions.OverlappingAppointmentException;
+import seedu.address.model.patient.Nric;
 import seedu.address.model.patient.Patient;
 
 /**
@@ -23,21 +30,33 @@ import seedu.address.model.patient.Patient;
  * exactly the same fields will be removed.
  * <p>
  * Supports a minimal set of list operations.
+ * <p>
+ * Overlap checks are served by an {@code AppointmentIntervalIndex} that is kept in sync with the internal list.
+ * The appointments of each patient are also indexed by {@code Nric}, so that cascading updates and deletions
+ * upon changes to a patient only touch the appointments of that patient. The internal list is kept sorted by
+ * date and start time, so that each of those appointments is located in it by a binary search.
  *
  * @see Appointment#isOverlapping(Appointment)
  */
 public class UniqueAppointmentList implements Iterable<Appointment> {
+    // Orders appointments by their date and start time, which is a total order for non-overlapping appointments.
+    private static final Comparator<Appointment> DATE_TIME_COMPARATOR = Comparator
+            .comparing((Appointment appointment) -> appointment.getDate().getDate())
+            .thenComparing(appointment -> appointment.getStartTime().getTime());
+
     // todo: UniqueAppointmentListTest
     private final ObservableList<Appointment> internalList = FXCollections.observableArrayList();
     private final ObservableList<Appointment> internalUnmodifiableList =
             FXCollections.unmodifiableObservableList(internalList.sorted());
+    private final AppointmentIntervalIndex intervalIndex = new AppointmentIntervalIndex();
+    private final Map<Nric, List<Appointment>> appointmentsByPatient = new HashMap<>();
 
     /**
      * Returns true if the list contains an appointment that has an overlap with the given argument.
      */
     public boolean hasOverlaps(Appointment toCheck) {
         requireNonNull(toCheck);
-        return internalList.stream().anyMatch(toCheck::isOverlapping);
+        return intervalIndex.hasOverlaps(toCheck);
     }
 
     /**
@@ -46,11 +65,10 @@ public class UniqueAppointmentList implements Iterable<Appointment> {
      */
     public boolean hasCompleteOverlaps(Appointment toCheck) {
         requireNonNull(toCheck);
-        return internalList.stream().anyMatch(appointment ->
-                appointment.startAtSameTime(toCheck.getDate(), toCheck.getStartTime())
-                && appointment.getEndTime().equals(toCheck.getEndTime())
-                && appointment.getPatient().equals(toCheck.getPatient())
-        );
+        return intervalIndex.getAppointmentStartingAt(toCheck.getDate(), toCheck.getStartTime())
+                .filter(appointment -> appointment.getEndTime().equals(toCheck.getEndTime())
+                        && appointment.getPatient().equals(toCheck.getPatient()))
+                .isPresent();
     }
 
     /**
@@ -62,7 +80,8 @@ public class UniqueAppointmentList implements Iterable<Appointment> {
         if (hasOverlaps(toAdd)) {
             throw new OverlappingAppointmentException();
         }
-        internalList.add(toAdd);
+        addToIndexes(toAdd);
+        internalList.add(-insertionPoint(toAdd) - 1, toAdd);
     }
 
     /**
@@ -73,7 +92,7 @@ public class UniqueAppointmentList implements Iterable<Appointment> {
      */
     public void setAppointment(Appointment target, Appointment editedAppointment) {
         requireAllNonNull(target, editedAppointment);
-        int index = internalList.indexOf(target);
+        int index = indexOf(target);
         if (index == -1) {
             throw new AppointmentNotFoundException();
         }
@@ -81,6 +100,7 @@ public class UniqueAppointmentList implements Iterable<Appointment> {
             this.remove(target);
             this.add(editedAppointment);
         } catch (OverlappingAppointmentException ex) {
+            addToIndexes(target);
             internalList.add(index, target);
             throw new OverlappingAppointmentException();
         }
@@ -92,9 +112,34 @@ public class UniqueAppointmentList implements Iterable<Appointment> {
      */
     public void remove(Appointment toRemove) {
         requireAllNonNull(toRemove);
-        if (!internalList.remove(toRemove)) {
+        int index = indexOf(toRemove);
+        if (index == -1) {
             throw new AppointmentNotFoundException();
         }
+        internalList.remove(index);
+        removeFromIndexes(toRemove);
+    }
+
+    /**
+     * Removes the appointments in the list that are equal to any of {@code toRemove}.
+     * Each appointment is located by a binary search, and runs of adjacent appointments are removed in one step.
+     * Appointments in {@code toRemove} that are not in the list are ignored.
+     *
+     * @return the appointments that were removed, in the order of the list.
+     */
+    public List<Appointment> removeAll(Collection<Appointment> toRemove) {
+        requireAllNonNull(toRemove);
+        List<Integer> indexes = new ArrayList<>();
+        for (Appointment appointment : toRemove) {
+            int index = indexOf(appointment);
+            if (index != -1) {
+                indexes.add(index);
+            }
+        }
+
+        List<Appointment> removedAppointments = removeAtIndexes(indexes);
+        removedAppointments.forEach(this::removeFromIndexes);
+        return removedAppointments;
     }
 
     /**
@@ -106,6 +151,7 @@ public class UniqueAppointmentList implements Iterable<Appointment> {
 
     public void setAppointments(UniqueAppointmentList replacement) {
         requireNonNull(replacement);
+        rebuildIndexes(replacement.internalList);
         internalList.setAll(replacement.internalList);
     }
 
@@ -115,11 +161,39 @@ public class UniqueAppointmentList implements Iterable<Appointment> {
      */
     public void setAppointments(List<Appointment> appointments) {
         requireAllNonNull(appointments);
-        if (!appointmentsAreNotOverlapping(appointments)) {
+        List<Appointment> overlappingAppointments = new ArrayList<>();
+        List<Appointment> sortedAppointments = sweepOverlaps(appointments, overlappingAppointments);
+        if (!overlappingAppointments.isEmpty()) {
             throw new OverlappingAppointmentException();
         }
 
-        internalList.setAll(appointments);
+        rebuildIndexes(sortedAppointments);
+        internalList.setAll(sortedAppointments);
+    }
+
+    /**
+     * Replaces the contents of this list with the non-overlapping appointments in {@code appointments}.
+     * Of any group of overlapping appointments, only the appointment that starts the earliest is kept.
+     * The appointments are sorted once and checked in a single sweep, so this is suitable for bulk loading.
+     *
+     * @return the appointments that were discarded for overlapping with an earlier appointment.
+     */
+    public List<Appointment> setAppointmentsDiscardingOverlaps(List<Appointment> appointments) {
+        requireAllNonNull(appointments);
+        List<Appointment> discardedAppointments = new ArrayList<>();
+        List<Appointment> keptAppointments = sweepOverlaps(appointments, discardedAppointments);
+
+        rebuildIndexes(keptAppointments);
+        internalList.setAll(keptAppointments);
+        return discardedAppointments;
+    }
+
+    /**
+     * Returns the appointments of the patient with the given {@code nric}.
+     */
+    public List<Appointment> getAppointmentsOfPatient(Nric nric) {
+        requireNonNull(nric);
+        return new ArrayList<>(appointmentsByPatient.getOrDefault(nric, List.of()));
     }
 
     /**
@@ -127,13 +201,17 @@ public class UniqueAppointmentList implements Iterable<Appointment> {
      */
     public void deleteAppointmentsWithPatients(Patient target) {
         requireAllNonNull(target);
-        List<Appointment> newAppointmentList = new ArrayList<>();
-        for (Appointment appointment : internalList) {
-            if (!appointment.hasPatient(target)) {
-                newAppointmentList.add(appointment);
-            }
+        List<Appointment> appointmentsToDelete = appointmentsByPatient.remove(target.getNric());
+        if (appointmentsToDelete == null) {
+            return;
+        }
+
+        List<Integer> indexes = new ArrayList<>();
+        for (Appointment appointment : appointmentsToDelete) {
+            intervalIndex.remove(appointment);
+            indexes.add(indexOf(appointment));
         }
-        internalList.setAll(newAppointmentList);
+        removeAtIndexes(indexes);
     }
 
     /**
@@ -142,15 +220,22 @@ public class UniqueAppointmentList implements Iterable<Appointment> {
      */
     public void updateAppointmentsWithPatients(Patient target, Patient editedPatient) {
         requireAllNonNull(target, editedPatient);
-        List<Appointment> newAppointmentList = new ArrayList<>();
-        for (Appointment appointment : internalList) {
-            if (appointment.hasPatient(target)) {
-                newAppointmentList.add(appointment.setPatient(editedPatient));
-            } else {
-                newAppointmentList.add(appointment);
-            }
+        List<Appointment> appointmentsToUpdate = appointmentsByPatient.remove(target.getNric());
+        if (appointmentsToUpdate == null) {
+            return;
+        }
+
+        List<Appointment> updatedAppointments = new ArrayList<>();
+        for (Appointment appointment : appointmentsToUpdate) {
+            Appointment updatedAppointment = appointment.setPatient(editedPatient);
+            intervalIndex.remove(appointment);
+            intervalIndex.add(updatedAppointment);
+            // the date and time are unchanged, so the updated appointment takes the same position in the list
+            internalList.set(indexOf(appointment), updatedAppointment);
+            updatedAppointments.add(updatedAppointment);
         }
-        internalList.setAll(newAppointmentList);
+        appointmentsByPatient.computeIfAbsent(editedPatient.getNric(), unused -> new ArrayList<>())
+                .addAll(updatedAppointments);
     }
 
     /**
@@ -181,16 +266,121 @@ public class UniqueAppointmentList implements Iterable<Appointment> {
     }
 
     /**
-     * Returns true if {@code appointments} contains only non-overlapping appointments.
+     * Returns the result of a binary search for the position of {@code appointment} in the internal list by date
+     * and start time, in the same form as {@link java.util.Collections#binarySearch(List, Object, Comparator)}.
      */
-    private boolean appointmentsAreNotOverlapping(List<Appointment> appointments) {
-        for (int i = 0; i < appointments.size() - 1; i++) {
-            for (int j = i + 1; j < appointments.size(); j++) {
-                if (appointments.get(i).isOverlapping(appointments.get(j))) {
-                    return false;
-                }
+    private int insertionPoint(Appointment appointment) {
+        int low = 0;
+        int high = internalList.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = DATE_TIME_COMPARATOR.compare(internalList.get(middle), appointment);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Returns the position of the appointment equal to {@code appointment} in the internal list, or -1 if there is
+     * none.
+     */
+    private int indexOf(Appointment appointment) {
+        int index = insertionPoint(appointment);
+        return index >= 0 && internalList.get(index).equals(appointment) ? index : -1;
+    }
+
+    /**
+     * Removes the appointments at {@code indexes} from the internal list, removing each run of adjacent positions
+     * in one step.
+     *
+     * @return the removed appointments, in the order of the list.
+     */
+    private List<Appointment> removeAtIndexes(Collection<Integer> indexes) {
+        List<Integer> sortedIndexes = new ArrayList<>(new TreeSet<>(indexes).descendingSet());
+
+        List<Appointment> removedAppointments = new ArrayList<>(sortedIndexes.size());
+        int runEnd = 0;
+        for (int i = 0; i < sortedIndexes.size(); i++) {
+            int index = sortedIndexes.get(i);
+            if (i == 0 || index != sortedIndexes.get(i - 1) - 1) {
+                runEnd = index + 1;
+            }
+            removedAppointments.add(internalList.get(index));
+            if (i == sortedIndexes.size() - 1 || sortedIndexes.get(i + 1) != index - 1) {
+                internalList.remove(index, runEnd);
+            }
+        }
+        Collections.reverse(removedAppointments);
+        return removedAppointments;
+    }
+
+    /**
+     * Adds {@code appointment} to the interval and patient indexes.
+     */
+    private void addToIndexes(Appointment appointment) {
+        intervalIndex.add(appointment);
+        appointmentsByPatient.computeIfAbsent(appointment.getPatient().getNric(), unused -> new ArrayList<>())
+                .add(appointment);
+    }
+
+    /**
+     * Removes {@code appointment} from the interval and patient indexes.
+     */
+    private void removeFromIndexes(Appointment appointment) {
+        intervalIndex.remove(appointment);
+        Nric nric = appointment.getPatient().getNric();
+        List<Appointment> appointmentsOfPatient = appointmentsByPatient.get(nric);
+        if (appointmentsOfPatient == null) {
+            return;
+        }
+
+        appointmentsOfPatient.remove(appointment);
+        if (appointmentsOfPatient.isEmpty()) {
+            appointmentsByPatient.remove(nric);
+        }
+    }
+
+    /**
+     * Rebuilds the interval and patient indexes from {@code appointments}.
+     */
+    private void rebuildIndexes(List<Appointment> appointments) {
+        intervalIndex.setAll(appointments);
+        appointmentsByPatient.clear();
+        for (Appointment appointment : appointments) {
+            appointmentsByPatient.computeIfAbsent(appointment.getPatient().getNric(), unused -> new ArrayList<>())
+                    .add(appointment);
+        }
+    }
+
+    /**
+     * Sorts {@code appointments} by date and start time, then sweeps through them once to find the appointments
+     * that overlap with an earlier kept appointment. The overlapping appointments are added to
+     * {@code overlappingAppointments}.
+     *
+     * @return the kept appointments, sorted by date and start time.
+     */
+    private static List<Appointment> sweepOverlaps(List<Appointment> appointments,
+                                                   List<Appointment> overlappingAppointments) {
+        List<Appointment> sortedAppointments = new ArrayList<>(appointments);
+        sortedAppointments.sort(DATE_TIME_COMPARATOR);
+
+        List<Appointment> keptAppointments = new ArrayList<>(sortedAppointments.size());
+        Appointment lastKept = null;
+        for (Appointment appointment : sortedAppointments) {
+            // Kept appointments are disjoint and sorted, so only the last one can overlap with the next appointment.
+            if (lastKept != null && lastKept.isOverlapping(appointment)) {
+                overlappingAppointments.add(appointment);
+            } else {
+                keptAppointments.add(appointment);
+                lastKept = appointment;
             }
         }
-        return true;
+        return keptAppointments;
     }
 }
@@ -3,8 +3,13 @@ package seedu.address.model.patient;
 import static java.util.Objects.requireNonNull;
 import static seedu.address.commons.util.CollectionUtil.requireAllNonNull;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -20,6 +25,9 @@ import seedu.address.model.patient.exceptions.PatientNotFoundException;
  *
  * Supports a minimal set of list operations.
  *
+ * Since patient identity is determined by {@code Nric}, a {@code Nric} to {@code Patient} index is kept in sync with
+ * the internal list so that membership checks and lookups by {@code Nric} take constant time.
+ *
  * @see Patient#isSamePatient(Patient)
  */
 public class UniquePatientList implements Iterable<Patient> {
@@ -27,12 +35,31 @@ public class UniquePatientList implements Iterable<Patient> {
     private final ObservableList<Patient> internalList = FXCollections.observableArrayList();
     private final ObservableList<Patient> internalUnmodifiableList =
         FXCollections.unmodifiableObservableList(internalList.sorted());
+    private final Map<Nric, Patient> patientsByNric = new HashMap<>();
+
     /**
      * Returns true if the list contains an equivalent patient as the given argument.
      */
     public boolean contains(Patient toCheck) {
         requireNonNull(toCheck);
-        return internalList.stream().anyMatch(toCheck::isSamePatient);
+        return patientsByNric.containsKey(toCheck.getNric());
+    }
+
+    /**
+     * Returns the patient with the given {@code nric}, or {@code Optional.empty()} if there is no such patient.
+     */
+    public Optional<Patient> getPatient(Nric nric) {
+        requireNonNull(nric);
+        return Optional.ofNullable(patientsByNric.get(nric));
+    }
+
+    /**
+     * Returns the position of the equivalent patient in the order the patients were added to the list, or -1 if
+     * the list does not contain it.
+     */
+    public int indexOf(Patient toFind) {
+        requireNonNull(toFind);
+        return internalList.indexOf(toFind);
     }
 
     /**
@@ -44,9 +71,23 @@ public class UniquePatientList implements Iterable<Patient> {
         if (contains(toAdd)) {
             throw new DuplicatePatientException();
         }
+        patientsByNric.put(toAdd.getNric(), toAdd);
         internalList.add(toAdd);
     }
 
+    /**
+     * Inserts a patient into the list at {@code index}.
+     * The patient must not already exist in the list.
+     */
+    public void add(int index, Patient toAdd) {
+        requireNonNull(toAdd);
+        if (contains(toAdd)) {
+            throw new DuplicatePatientException();
+        }
+        patientsByNric.put(toAdd.getNric(), toAdd);
+        internalList.add(index, toAdd);
+    }
+
     /**
      * Replaces the patient {@code target} in the list with {@code editedPatient}.
      * {@code target} must exist in the list.
@@ -64,6 +105,8 @@ public class UniquePatientList implements Iterable<Patient> {
             throw new DuplicatePatientException();
         }
 
+        patientsByNric.remove(target.getNric());
+        patientsByNric.put(editedPatient.getNric(), editedPatient);
         internalList.set(index, editedPatient);
     }
 
@@ -76,10 +119,17 @@ public class UniquePatientList implements Iterable<Patient> {
         if (!internalList.remove(toRemove)) {
             throw new PatientNotFoundException();
         }
+        patientsByNric.remove(toRemove.getNric());
     }
 
+    /**
+     * Replaces the contents of this list with the contents of {@code replacement}.
+     * Since {@code replacement} already enforces uniqueness, its patients are not re-validated.
+     */
     public void setPatients(UniquePatientList replacement) {
         requireNonNull(replacement);
+        patientsByNric.clear();
+        patientsByNric.putAll(replacement.patientsByNric);
         internalList.setAll(replacement.internalList);
     }
 
@@ -93,6 +143,8 @@ public class UniquePatientList implements Iterable<Patient> {
             throw new DuplicatePatientException();
         }
 
+        patientsByNric.clear();
+        patients.forEach(patient -> patientsByNric.put(patient.getNric(), patient));
         internalList.setAll(patients);
     }
 
@@ -124,11 +176,10 @@ public class UniquePatientList implements Iterable<Patient> {
      * Returns true if {@code patients} contains only unique patients.
      */
     private boolean patientsAreUnique(List<Patient> patients) {
-        for (int i = 0; i < patients.size() - 1; i++) {
-            for (int j = i + 1; j < patients.size(); j++) {
-                if (patients.get(i).isSamePatient(patients.get(j))) {
-                    return false;
-                }
+        Set<Nric> seenNrics = new HashSet<>();
+        for (Patient patient : patients) {
+            if (!seenNrics.add(patient.getNric())) {
+                return false;
             }
         }
         return true;
@@ -0,0 +1,254 @@
+package seedu.address.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import seedu.address.commons.core.LogsCenter;
+import seedu.address.model.AppointmentBook;
+import seedu.address.model.EntityChange;
+import seedu.address.model.PatientBook;
+import seedu.address.model.ReadOnlyAppointmentBook;
+import seedu.address.model.ReadOnlyPatientBook;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.patient.Patient;
+
+/**
+ * Saves data for a {@code StorageManager} on a single background thread.
+ * <p>
+ * Saves that only append changes to the journal hand just the changes to the background thread. The books are
+ * copied only when they are to be saved in full, which is when there is no journal, the journal has reached its
+ * checkpoint interval, the last append failed, or a checkpoint is requested. The copies are taken when the save is
+ * requested, so the books can keep changing while the save runs.
+ * <p>
+ * Saves requested while an earlier save is still waiting to run are coalesced into it: only the latest copies of the
+ * books are written, and the changes made after them are appended to the journal together.
+ */
+class BackgroundSaver {
+
+    private static final Logger logger = LogsCenter.getLogger(BackgroundSaver.class);
+
+    private final StorageManager storageManager;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "storage-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Consumer<IOException> failureHandler = e -> {};
+    private PendingSave pendingSave;
+    private Future<?> lastSaveTask;
+    private IOException lastFailure;
+    // the changes in the journal once the requested saves are written, or -1 until the first save is requested
+    private int journalEntryCount = -1;
+    private boolean isAppendFailed;
+
+    private ReadOnlyPatientBook lastCopiedPatientBook;
+    private long lastCopiedPatientBookModificationCount;
+    private PatientBook patientBookCopy;
+    private ReadOnlyAppointmentBook lastCopiedAppointmentBook;
+    private long lastCopiedAppointmentBookModificationCount;
+    private AppointmentBook appointmentBookCopy;
+
+    BackgroundSaver(StorageManager storageManager) {
+        requireNonNull(storageManager);
+        this.storageManager = storageManager;
+    }
+
+    /**
+     * Sets the handler that is given the error of every save that fails on the background thread.
+     */
+    synchronized void setFailureHandler(Consumer<IOException> failureHandler) {
+        requireNonNull(failureHandler);
+        this.failureHandler = failureHandler;
+    }
+
+    /**
+     * Requests a save of the changes made to the given books.
+     */
+    synchronized void saveChanges(ReadOnlyPatientBook patientBook, List<EntityChange<Patient>> patientChanges,
+                                  ReadOnlyAppointmentBook appointmentBook,
+                                  List<EntityChange<Appointment>> appointmentChanges) {
+        if (journalEntryCount == -1) {
+            // no save has run yet, so the journal holds the changes replayed when the books were read
+            journalEntryCount = storageManager.getJournalEntryCount();
+        }
+        journalEntryCount += patientChanges.size() + appointmentChanges.size();
+        if (isAppendFailed || storageManager.isFullSaveDue(journalEntryCount)) {
+            checkpoint(patientBook, appointmentBook);
+        } else {
+            nextSave().addChanges(patientChanges, appointmentChanges);
+        }
+    }
+
+    /**
+     * Requests a full save of the given books.
+     */
+    synchronized void checkpoint(ReadOnlyPatientBook patientBook, ReadOnlyAppointmentBook appointmentBook) {
+        journalEntryCount = 0;
+        isAppendFailed = false;
+        nextSave().setBooks(copyOf(patientBook), copyOf(appointmentBook));
+    }
+
+    /**
+     * Waits for every requested save to finish.
+     *
+     * @throws IOException if the last save failed.
+     */
+    void flush() throws IOException {
+        Future<?> task;
+        synchronized (this) {
+            task = lastSaveTask;
+        }
+        if (task != null) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for data to be saved", e);
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause());
+            }
+        }
+
+        synchronized (this) {
+            if (lastFailure != null) {
+                throw lastFailure;
+            }
+        }
+    }
+
+    /**
+     * Returns the save waiting to run, scheduling a new one if there is none.
+     */
+    private PendingSave nextSave() {
+        if (pendingSave == null) {
+            pendingSave = new PendingSave();
+            lastSaveTask = executor.submit(this::runPendingSave);
+        }
+        return pendingSave;
+    }
+
+    private void runPendingSave() {
+        PendingSave save;
+        boolean isJournalIncomplete;
+        synchronized (this) {
+            save = pendingSave;
+            pendingSave = null;
+            isJournalIncomplete = isAppendFailed;
+        }
+
+        try {
+            save.writeTo(storageManager, isJournalIncomplete);
+            synchronized (this) {
+                lastFailure = null;
+            }
+        } catch (AppendFailedException e) {
+            logger.warning("Unable to append to journal, the next save will save data files in full: " + e);
+            Consumer<IOException> handler;
+            synchronized (this) {
+                isAppendFailed = true;
+                lastFailure = e;
+                handler = failureHandler;
+            }
+            handler.accept(e);
+        } catch (IOException e) {
+            logger.warning("Failed to save data in the background: " + e);
+            Consumer<IOException> handler;
+            synchronized (this) {
+                lastFailure = e;
+                handler = failureHandler;
+            }
+            handler.accept(e);
+        }
+    }
+
+    /**
+     * Returns a copy of {@code patientBook}, reusing the last copy if the book has not been modified since.
+     * Reusing the copy lets the {@code StorageManager} tell that the book does not need to be written again.
+     */
+    private PatientBook copyOf(ReadOnlyPatientBook patientBook) {
+        if (patientBook != lastCopiedPatientBook
+                || patientBook.getModificationCount() != lastCopiedPatientBookModificationCount) {
+            lastCopiedPatientBook = patientBook;
+            lastCopiedPatientBookModificationCount = patientBook.getModificationCount();
+            patientBookCopy = new PatientBook(patientBook);
+        }
+        return patientBookCopy;
+    }
+
+    /**
+     * Returns a copy of {@code appointmentBook}, reusing the last copy if the book has not been modified since.
+     */
+    private AppointmentBook copyOf(ReadOnlyAppointmentBook appointmentBook) {
+        if (appointmentBook != lastCopiedAppointmentBook
+                || appointmentBook.getModificationCount() != lastCopiedAppointmentBookModificationCount) {
+            lastCopiedAppointmentBook = appointmentBook;
+            lastCopiedAppointmentBookModificationCount = appointmentBook.getModificationCount();
+            appointmentBookCopy = new AppointmentBook(appointmentBook);
+        }
+        return appointmentBookCopy;
+    }
+
+    /**
+     * The saves requested since the background thread last started writing, coalesced into one.
+     * The books are only set if they are to be saved in full, and the changes are those made after them.
+     */
+    private static class PendingSave {
+        private final List<EntityChange<Patient>> patientChanges = new ArrayList<>();
+        private final List<EntityChange<Appointment>> appointmentChanges = new ArrayList<>();
+        private PatientBook patientBook;
+        private AppointmentBook appointmentBook;
+
+        void addChanges(List<EntityChange<Patient>> patientChanges,
+                        List<EntityChange<Appointment>> appointmentChanges) {
+            this.patientChanges.addAll(patientChanges);
+            this.appointmentChanges.addAll(appointmentChanges);
+        }
+
+        void setBooks(PatientBook patientBook, AppointmentBook appointmentBook) {
+            this.patientBook = patientBook;
+            this.appointmentBook = appointmentBook;
+            // a full save supersedes the changes made before it
+            patientChanges.clear();
+            appointmentChanges.clear();
+        }
+
+        /**
+         * Writes this save. If {@code isJournalIncomplete}, an earlier append failed, so the changes are not
+         * appended unless the books are saved in full first; the next full save covers them instead.
+         */
+        void writeTo(StorageManager storageManager, boolean isJournalIncomplete) throws IOException {
+            if (patientBook != null) {
+                storageManager.checkpointNow(patientBook, appointmentBook);
+            } else if (isJournalIncomplete) {
+                return;
+            }
+            if (patientBook != null && patientChanges.isEmpty() && appointmentChanges.isEmpty()) {
+                return;
+            }
+            try {
+                storageManager.appendChangesNow(patientChanges, appointmentChanges);
+            } catch (IOException e) {
+                throw new AppendFailedException(e);
+            }
+        }
+    }
+
+    /**
+     * Signals that changes could not be appended to the journal, so the books must be saved in full.
+     */
+    private static class AppendFailedException extends IOException {
+        AppendFailedException(IOException cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+}
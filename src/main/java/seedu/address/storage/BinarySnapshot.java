@@ -0,0 +1,316 @@
+package seedu.address.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import seedu.address.commons.util.FileUtil;
+
+/**
+ * A compact binary copy of the records in a data file, which is faster to read than the data file itself.
+ * <p>
+ * A snapshot starts with a header holding a magic number, the format version, the kind of records in it, and the size
+ * and last modified time of the data file it was written from, if any. The header is followed by a dictionary of every distinct string in the records, and then by the records, each prefixed
+ * by its length in bytes. Records refer to strings by their index in the dictionary, so strings repeated across
+ * records, such as tags and addresses, are only stored once.
+ */
+public class BinarySnapshot {
+
+    public static final int MAGIC = 0x4E55444C;
+    public static final short FORMAT_VERSION = 2;
+    public static final String FILE_EXTENSION = ".bin";
+
+    private static final int NULL_STRING = -1;
+    private static final long NO_SOURCE_FILE = -1;
+
+    private BinarySnapshot() {}
+
+    /**
+     * Returns the path of the snapshot of the data file at {@code filePath}, which is in the same folder and has the
+     * same name, but with the extension of the data file replaced.
+     */
+    public static Path getSnapshotFilePath(Path filePath) {
+        requireNonNull(filePath);
+        String fileName = filePath.getFileName().toString();
+        int extensionIndex = fileName.lastIndexOf('.');
+        String baseName = extensionIndex > 0 ? fileName.substring(0, extensionIndex) : fileName;
+        return filePath.resolveSibling(baseName + FILE_EXTENSION);
+    }
+
+    /**
+     * Returns true if the snapshot at {@code snapshotFilePath} exists and was written from the data file at
+     * {@code filePath} as it is now, so that it holds the same records.
+     * The size and last modified time of the data file are compared with those in the header of the snapshot, as a
+     * data file that is replaced or edited may be given a time earlier than the snapshot.
+     * The snapshot is also up to date if the data file is missing.
+     */
+    public static boolean isUpToDate(Path snapshotFilePath, Path filePath) {
+        if (!Files.exists(snapshotFilePath)) {
+            return false;
+        }
+        if (!Files.exists(filePath)) {
+            return true;
+        }
+
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshotFilePath)))) {
+            if (input.readInt() != MAGIC || input.readShort() != FORMAT_VERSION) {
+                return false;
+            }
+            input.readByte();
+            long sourceSize = input.readLong();
+            long sourceModifiedTime = input.readLong();
+            return sourceSize == Files.size(filePath)
+                    && sourceModifiedTime == Files.getLastModifiedTime(filePath).toMillis();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Builds a snapshot one record at a time and writes it to a file.
+     */
+    public static class Writer {
+        private final byte recordKind;
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private final ByteArrayOutputStream records = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+        private final DataOutputStream recordOutput = new DataOutputStream(record);
+        private int recordCount;
+
+        /**
+         * @param recordKind the kind of records in the snapshot, which is checked when the snapshot is read.
+         */
+        public Writer(byte recordKind) {
+            this.recordKind = recordKind;
+        }
+
+        /**
+         * Writes {@code value}, which may be null, to the current record.
+         */
+        public void writeString(String value) throws IOException {
+            if (value == null) {
+                recordOutput.writeInt(NULL_STRING);
+                return;
+            }
+
+            Integer index = dictionary.get(value);
+            if (index == null) {
+                index = strings.size();
+                dictionary.put(value, index);
+                strings.add(value);
+            }
+            recordOutput.writeInt(index);
+        }
+
+        public void writeInt(int value) throws IOException {
+            recordOutput.writeInt(value);
+        }
+
+        public void writeLong(long value) throws IOException {
+            recordOutput.writeLong(value);
+        }
+
+        public void writeBoolean(boolean value) throws IOException {
+            recordOutput.writeBoolean(value);
+        }
+
+        /**
+         * Ends the current record, so that the next values written start a new record.
+         */
+        public void endRecord() throws IOException {
+            recordOutput.flush();
+            DataOutputStream recordsOutput = new DataOutputStream(records);
+            recordsOutput.writeInt(record.size());
+            record.writeTo(recordsOutput);
+            recordsOutput.flush();
+            record.reset();
+            recordCount++;
+        }
+
+        /**
+         * Writes the snapshot to {@code filePath}, replacing the file in a single step.
+         */
+        public void writeTo(Path filePath) throws IOException {
+            writeTo(filePath, NO_SOURCE_FILE, NO_SOURCE_FILE);
+        }
+
+        /**
+         * Writes the snapshot of the data file at {@code sourceFilePath} to {@code filePath}, replacing the file in a
+         * single step. The data file must already hold the records of the snapshot.
+         */
+        public void writeTo(Path filePath, Path sourceFilePath) throws IOException {
+            requireNonNull(sourceFilePath);
+            writeTo(filePath, Files.size(sourceFilePath), Files.getLastModifiedTime(sourceFilePath).toMillis());
+        }
+
+        private void writeTo(Path filePath, long sourceSize, long sourceModifiedTime) throws IOException {
+            requireNonNull(filePath);
+            ByteArrayOutputStream snapshot = new ByteArrayOutputStream(records.size() + 1024);
+            DataOutputStream output = new DataOutputStream(snapshot);
+
+            output.writeInt(MAGIC);
+            output.writeShort(FORMAT_VERSION);
+            output.writeByte(recordKind);
+            output.writeLong(sourceSize);
+            output.writeLong(sourceModifiedTime);
+
+            output.writeInt(strings.size());
+            for (String string : strings) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            }
+
+            output.writeInt(recordCount);
+            records.writeTo(output);
+            output.flush();
+
+            FileUtil.writeToFileAtomically(filePath, snapshot.toByteArray());
+        }
+    }
+
+    /**
+     * Reads the records of a snapshot one at a time.
+     */
+    public static class Reader {
+        private final ByteBuffer buffer;
+        private final String[] strings;
+        private final int recordCount;
+        private int recordsRead;
+        private ByteBuffer record;
+
+        /**
+         * Reads the header and the dictionary of the snapshot at {@code filePath}.
+         *
+         * @param recordKind the kind of records that the snapshot must hold.
+         * @throws IOException if the file could not be read, or is not a snapshot of {@code recordKind} records in
+         *     the current format version.
+         */
+        public Reader(Path filePath, byte recordKind) throws IOException {
+            requireNonNull(filePath);
+            buffer = ByteBuffer.wrap(Files.readAllBytes(filePath));
+
+            try {
+                if (buffer.getInt() != MAGIC) {
+                    throw new IOException("Not a snapshot file: " + filePath);
+                }
+                short version = buffer.getShort();
+                if (version != FORMAT_VERSION) {
+                    throw new IOException("Unsupported snapshot format version " + version + ": " + filePath);
+                }
+                if (buffer.get() != recordKind) {
+                    throw new IOException("Snapshot holds a different kind of records: " + filePath);
+                }
+                // the size and last modified time of the data file are only checked by isUpToDate
+                buffer.getLong();
+                buffer.getLong();
+
+                strings = new String[checkCount(buffer.getInt())];
+                for (int i = 0; i < strings.length; i++) {
+                    byte[] bytes = new byte[checkCount(buffer.getInt())];
+                    buffer.get(bytes);
+                    strings[i] = new String(bytes, StandardCharsets.UTF_8);
+                }
+
+                recordCount = checkCount(buffer.getInt());
+            } catch (BufferUnderflowException e) {
+                throw new IOException("Snapshot file is truncated: " + filePath, e);
+            }
+        }
+
+        public int getRecordCount() {
+            return recordCount;
+        }
+
+        /**
+         * Moves to the next record, returning false if there are no more records.
+         *
+         * @throws IOException if the next record is truncated.
+         */
+        public boolean nextRecord() throws IOException {
+            if (recordsRead == recordCount) {
+                return false;
+            }
+
+            try {
+                int length = checkCount(buffer.getInt());
+                record = buffer.slice();
+                record.limit(length);
+                buffer.position(buffer.position() + length);
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                throw new IOException("Snapshot record is truncated", e);
+            }
+            recordsRead++;
+            return true;
+        }
+
+        /**
+         * Reads a string, which may be null, from the current record.
+         */
+        public String readString() throws IOException {
+            int index = readInt();
+            if (index == NULL_STRING) {
+                return null;
+            }
+            if (index < 0 || index >= strings.length) {
+                throw new IOException("Snapshot record refers to a missing string");
+            }
+            return strings[index];
+        }
+
+        /**
+         * Reads an int from the current record.
+         */
+        public int readInt() throws IOException {
+            try {
+                return record.getInt();
+            } catch (BufferUnderflowException e) {
+                throw new IOException("Snapshot record is shorter than expected", e);
+            }
+        }
+
+        /**
+         * Reads a long from the current record.
+         */
+        public long readLong() throws IOException {
+            try {
+                return record.getLong();
+            } catch (BufferUnderflowException e) {
+                throw new IOException("Snapshot record is shorter than expected", e);
+            }
+        }
+
+        /**
+         * Reads a boolean from the current record.
+         */
+        public boolean readBoolean() throws IOException {
+            try {
+                return record.get() != 0;
+            } catch (BufferUnderflowException e) {
+                throw new IOException("Snapshot record is shorter than expected", e);
+            }
+        }
+
+        private int checkCount(int count) throws IOException {
+            if (count < 0 || count > buffer.remaining()) {
+                throw new IOException("Snapshot file is corrupted");
+            }
+            return count;
+        }
+    }
+}
@@ -2,13 +2,19 @@ package seedu.address.storage;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.model.EntityChange;
 import seedu.address.model.ReadOnlyAppointmentBook;
 import seedu.address.model.ReadOnlyPatientBook;
 import seedu.address.model.ReadOnlyUserPrefs;
 import seedu.address.model.UserPrefs;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.patient.Patient;
 import seedu.address.storage.appointment.AppointmentBookStorage;
 import seedu.address.storage.patient.PatientBookStorage;
 
@@ -36,11 +42,46 @@ public interface Storage extends PatientBookStorage, AppointmentBookStorage, Use
     Path getAppointmentBookFilePath();
 
     @Override
-    Optional<ReadOnlyAppointmentBook> readAppointmentBook() throws DataConversionException;
+    Optional<ReadOnlyAppointmentBook> readAppointmentBook(CompletableFuture<? extends ReadOnlyPatientBook> patientBook)
+            throws DataConversionException;
 
     @Override
     void saveAppointmentBook(ReadOnlyAppointmentBook appointmentBook) throws IOException;
 
+    /**
+     * Saves the changes made to the given books since they were last saved.
+     *
+     * @param patientBook the patient book after {@code patientChanges}.
+     * @param patientChanges the changes made to the patient book, in order.
+     * @param appointmentBook the appointment book after {@code appointmentChanges}.
+     * @param appointmentChanges the changes made to the appointment book, in order.
+     * @throws IOException if there was any problem writing to the file.
+     */
+    void saveChanges(ReadOnlyPatientBook patientBook, List<EntityChange<Patient>> patientChanges,
+                     ReadOnlyAppointmentBook appointmentBook, List<EntityChange<Appointment>> appointmentChanges)
+            throws IOException;
+
+    /**
+     * Saves the given books in full, so that earlier changes no longer need to be replayed when they are read.
+     * A book that has not been modified since it was last saved is not written again.
+     *
+     * @throws IOException if there was any problem writing to the file.
+     */
+    void checkpoint(ReadOnlyPatientBook patientBook, ReadOnlyAppointmentBook appointmentBook) throws IOException;
+
+    /**
+     * Sets the handler that is given the error of every save that fails after {@code saveChanges} or
+     * {@code checkpoint} has returned.
+     */
+    void setSaveFailureHandler(Consumer<IOException> failureHandler);
+
+    /**
+     * Waits for every save that has been requested to be written to the hard disk.
+     *
+     * @throws IOException if the last save failed.
+     */
+    void flush() throws IOException;
+
     void backupData() throws IOException;
 
     @Override
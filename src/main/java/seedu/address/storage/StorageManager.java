@@ -1,17 +1,33 @@
 package seedu.address.storage;
 
+import static java.util.Objects.requireNonNull;
+import static seedu.address.commons.util.AppUtil.checkArgument;
+
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import seedu.address.commons.core.LogsCenter;
 import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.commons.util.FileUtil;
+import seedu.address.model.AppointmentBook;
+import seedu.address.model.EntityChange;
+import seedu.address.model.PatientBook;
 import seedu.address.model.ReadOnlyAppointmentBook;
 import seedu.address.model.ReadOnlyPatientBook;
 import seedu.address.model.ReadOnlyUserPrefs;
 import seedu.address.model.UserPrefs;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.patient.Nric;
+import seedu.address.model.patient.Patient;
 import seedu.address.storage.appointment.AppointmentBookStorage;
+import seedu.address.storage.archive.CsvAdaptedAppointment;
+import seedu.address.storage.journal.JsonJournal;
 import seedu.address.storage.patient.PatientBookStorage;
 
 /**
@@ -25,14 +41,38 @@ public class StorageManager implements Storage {
     private final AppointmentBookStorage appointmentBookStorage;
     private final UserPrefsStorage userPrefsStorage;
     private final StorageStatsManager statsManager;
+    private final JsonJournal journal;
+    private final int journalCheckpointInterval;
+    private ReadOnlyPatientBook lastSavedPatientBook;
+    private long lastSavedPatientBookModificationCount;
+    private ReadOnlyAppointmentBook lastSavedAppointmentBook;
+    private long lastSavedAppointmentBookModificationCount;
+    private BackgroundSaver backgroundSaver;
+    private int backupCount = 1;
 
     /**
      * Creates a {@code StorageManager} with the given {@code DataStorage} and {@code UserPrefStorage}.
+     * Both books are saved in full after every change.
      */
     public StorageManager(PatientBookStorage patientBookStorage,
                           AppointmentBookStorage appointmentBookStorage,
                           UserPrefsStorage userPrefsStorage,
                           StorageStatsManager statsManager) {
+        this(patientBookStorage, appointmentBookStorage, userPrefsStorage, statsManager, null, 0);
+    }
+
+    /**
+     * Creates a {@code StorageManager} with the given {@code DataStorage} and {@code UserPrefStorage} that appends
+     * changes to {@code journal}, and only saves both books in full once the journal holds
+     * {@code journalCheckpointInterval} changes.
+     * If {@code journal} is null, both books are saved in full after every change.
+     */
+    public StorageManager(PatientBookStorage patientBookStorage,
+                          AppointmentBookStorage appointmentBookStorage,
+                          UserPrefsStorage userPrefsStorage,
+                          StorageStatsManager statsManager,
+                          JsonJournal journal,
+                          int journalCheckpointInterval) {
         super();
 
         assert patientBookStorage.getStatsManager() == statsManager;
@@ -42,6 +82,8 @@ public class StorageManager implements Storage {
         this.appointmentBookStorage = appointmentBookStorage;
         this.userPrefsStorage = userPrefsStorage;
         this.statsManager = statsManager;
+        this.journal = journal;
+        this.journalCheckpointInterval = journalCheckpointInterval;
     }
 
     // ================ UserPrefs methods ==============================
@@ -71,7 +113,13 @@ public class StorageManager implements Storage {
 
     @Override
     public Optional<ReadOnlyPatientBook> readPatientBook() throws DataConversionException {
-        return readPatientBook(patientBookStorage.getPatientBookFilePath());
+        Optional<ReadOnlyPatientBook> patientBook = readPatientBook(patientBookStorage.getPatientBookFilePath());
+        if (journal == null || !journal.exists()) {
+            return patientBook;
+        }
+
+        logger.info("Replaying journal onto patient book: " + journal.getJournalFilePath());
+        return Optional.of(journal.replayPatientBook(patientBook.orElseGet(PatientBook::new)));
     }
 
     @Override
@@ -89,6 +137,24 @@ public class StorageManager implements Storage {
     public void savePatientBook(ReadOnlyPatientBook patientBook, Path filePath) throws IOException {
         logger.fine("Attempting to write to data file: " + filePath);
         patientBookStorage.savePatientBook(patientBook, filePath);
+        if (filePath.equals(getPatientBookFilePath())) {
+            lastSavedPatientBook = patientBook;
+            lastSavedPatientBookModificationCount = patientBook.getModificationCount();
+        }
+    }
+
+    /**
+     * Saves {@code patientBook} unless it is the last patient book saved and has not been modified since.
+     */
+    private void savePatientBookIfModified(ReadOnlyPatientBook patientBook) throws IOException {
+        if (patientBook == lastSavedPatientBook
+                && patientBook.getModificationCount() == lastSavedPatientBookModificationCount) {
+            logger.fine("Patient book unchanged since last save, skipping write");
+            statsManager.recordPatientBookSkip();
+            return;
+        }
+        savePatientBook(patientBook);
+        statsManager.recordPatientBookSave();
     }
 
 
@@ -105,14 +171,23 @@ public class StorageManager implements Storage {
     }
 
     @Override
-    public Optional<ReadOnlyAppointmentBook> readAppointmentBook() throws DataConversionException {
-        return readAppointmentBook(appointmentBookStorage.getAppointmentBookFilePath());
+    public Optional<ReadOnlyAppointmentBook> readAppointmentBook(
+            CompletableFuture<? extends ReadOnlyPatientBook> patientBook) throws DataConversionException {
+        Optional<ReadOnlyAppointmentBook> appointmentBook =
+                readAppointmentBook(appointmentBookStorage.getAppointmentBookFilePath(), patientBook);
+        if (journal == null || !journal.exists()) {
+            return appointmentBook;
+        }
+
+        logger.info("Replaying journal onto appointment book: " + journal.getJournalFilePath());
+        return Optional.of(journal.replayAppointmentBook(appointmentBook.orElseGet(AppointmentBook::new)));
     }
 
     @Override
-    public Optional<ReadOnlyAppointmentBook> readAppointmentBook(Path filePath) throws DataConversionException {
+    public Optional<ReadOnlyAppointmentBook> readAppointmentBook(Path filePath,
+            CompletableFuture<? extends ReadOnlyPatientBook> patientBook) throws DataConversionException {
         logger.fine("Attempting to read data from file: " + filePath);
-        return appointmentBookStorage.readAppointmentBook(filePath);
+        return appointmentBookStorage.readAppointmentBook(filePath, patientBook);
     }
 
     @Override
@@ -124,6 +199,24 @@ public class StorageManager implements Storage {
     public void saveAppointmentBook(ReadOnlyAppointmentBook appointmentBook, Path filePath) throws IOException {
         logger.fine("Attempting to write to data file: " + filePath);
         appointmentBookStorage.saveAppointmentBook(appointmentBook, filePath);
+        if (filePath.equals(getAppointmentBookFilePath())) {
+            lastSavedAppointmentBook = appointmentBook;
+            lastSavedAppointmentBookModificationCount = appointmentBook.getModificationCount();
+        }
+    }
+
+    /**
+     * Saves {@code appointmentBook} unless it is the last appointment book saved and has not been modified since.
+     */
+    private void saveAppointmentBookIfModified(ReadOnlyAppointmentBook appointmentBook) throws IOException {
+        if (appointmentBook == lastSavedAppointmentBook
+                && appointmentBook.getModificationCount() == lastSavedAppointmentBookModificationCount) {
+            logger.fine("Appointment book unchanged since last save, skipping write");
+            statsManager.recordAppointmentBookSkip();
+            return;
+        }
+        saveAppointmentBook(appointmentBook);
+        statsManager.recordAppointmentBookSave();
     }
 
     @Override
@@ -132,6 +225,150 @@ public class StorageManager implements Storage {
         return appointmentBookStorage.archivePastAppointments(appointmentBook);
     }
 
+    @Override
+    public int compressPastArchiveMonths() throws IOException {
+        logger.fine("Attempting to compress archive files of past months");
+        return appointmentBookStorage.compressPastArchiveMonths();
+    }
+
+    @Override
+    public void applyArchiveRetentionPolicy(int rollUpYears, int retentionYears) throws IOException {
+        logger.fine("Attempting to apply the archive retention policy");
+        appointmentBookStorage.applyArchiveRetentionPolicy(rollUpYears, retentionYears);
+    }
+
+    @Override
+    public List<CsvAdaptedAppointment> findArchivedAppointments(Nric nric, LocalDate startDate, LocalDate endDate)
+            throws DataConversionException {
+        logger.fine("Attempting to read archived appointments");
+        return appointmentBookStorage.findArchivedAppointments(nric, startDate, endDate);
+    }
+
+    // ================ Journal methods ==============================
+
+    @Override
+    public void saveChanges(ReadOnlyPatientBook patientBook, List<EntityChange<Patient>> patientChanges,
+                            ReadOnlyAppointmentBook appointmentBook,
+                            List<EntityChange<Appointment>> appointmentChanges) throws IOException {
+        if (backgroundSaver != null) {
+            backgroundSaver.saveChanges(patientBook, patientChanges, appointmentBook, appointmentChanges);
+        } else {
+            saveChangesNow(patientBook, patientChanges, appointmentBook, appointmentChanges);
+        }
+    }
+
+    /**
+     * Saves the changes made to the given books on the calling thread.
+     *
+     * @see #saveChanges(ReadOnlyPatientBook, List, ReadOnlyAppointmentBook, List)
+     */
+    void saveChangesNow(ReadOnlyPatientBook patientBook, List<EntityChange<Patient>> patientChanges,
+                        ReadOnlyAppointmentBook appointmentBook,
+                        List<EntityChange<Appointment>> appointmentChanges) throws IOException {
+        if (isFullSaveDue(getJournalEntryCount() + patientChanges.size() + appointmentChanges.size())) {
+            checkpointNow(patientBook, appointmentBook);
+            return;
+        }
+
+        try {
+            appendChangesNow(patientChanges, appointmentChanges);
+        } catch (IOException e) {
+            logger.warning("Unable to append to journal, saving data files in full instead: " + e);
+            checkpointNow(patientBook, appointmentBook);
+        }
+    }
+
+    /**
+     * Appends the given changes to the journal on the calling thread, without saving the books.
+     * A save is recorded for each book with changes, and a skip for each book without.
+     * There must be a journal.
+     */
+    void appendChangesNow(List<EntityChange<Patient>> patientChanges,
+                          List<EntityChange<Appointment>> appointmentChanges) throws IOException {
+        assert journal != null;
+        if (!patientChanges.isEmpty() || !appointmentChanges.isEmpty()) {
+            logger.fine("Attempting to append to journal: " + journal.getJournalFilePath());
+            journal.append(patientChanges, appointmentChanges);
+        }
+
+        if (patientChanges.isEmpty()) {
+            statsManager.recordPatientBookSkip();
+        } else {
+            statsManager.recordPatientBookSave();
+        }
+        if (appointmentChanges.isEmpty()) {
+            statsManager.recordAppointmentBookSkip();
+        } else {
+            statsManager.recordAppointmentBookSave();
+        }
+    }
+
+    /**
+     * Returns true if the books are to be saved in full rather than appended to the journal, once the journal holds
+     * {@code journalEntryCount} changes. This is always the case if there is no journal.
+     */
+    boolean isFullSaveDue(int journalEntryCount) {
+        return journal == null || journalEntryCount >= journalCheckpointInterval;
+    }
+
+    /**
+     * Returns the number of changes in the journal, or 0 if there is no journal.
+     */
+    int getJournalEntryCount() {
+        return journal == null ? 0 : journal.getEntryCount();
+    }
+
+    @Override
+    public void checkpoint(ReadOnlyPatientBook patientBook, ReadOnlyAppointmentBook appointmentBook)
+            throws IOException {
+        if (backgroundSaver != null) {
+            backgroundSaver.checkpoint(patientBook, appointmentBook);
+        } else {
+            checkpointNow(patientBook, appointmentBook);
+        }
+    }
+
+    /**
+     * Saves the given books in full on the calling thread.
+     *
+     * @see #checkpoint(ReadOnlyPatientBook, ReadOnlyAppointmentBook)
+     */
+    void checkpointNow(ReadOnlyPatientBook patientBook, ReadOnlyAppointmentBook appointmentBook)
+            throws IOException {
+        savePatientBookIfModified(patientBook);
+        saveAppointmentBookIfModified(appointmentBook);
+        if (journal != null) {
+            journal.clear();
+        }
+    }
+
+    // ================ Background saving methods ==============================
+
+    /**
+     * Makes {@link #saveChanges} and {@link #checkpoint} save copies of the books on a background thread and
+     * return without waiting for the files to be written.
+     */
+    public void enableBackgroundSaving() {
+        if (backgroundSaver == null) {
+            backgroundSaver = new BackgroundSaver(this);
+        }
+    }
+
+    @Override
+    public void setSaveFailureHandler(Consumer<IOException> failureHandler) {
+        requireNonNull(failureHandler);
+        if (backgroundSaver != null) {
+            backgroundSaver.setFailureHandler(failureHandler);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (backgroundSaver != null) {
+            backgroundSaver.flush();
+        }
+    }
+
     // ===================== Util methods ====================================
 
     @Override
@@ -139,11 +376,29 @@ public class StorageManager implements Storage {
         backupData("backup");
     }
 
+    /**
+     * Sets the number of backups of each data file that {@link #backupData(String)} keeps.
+     */
+    public void setBackupCount(int backupCount) {
+        checkArgument(backupCount > 0, "Backup count must be positive.");
+        this.backupCount = backupCount;
+    }
+
     @Override
     public void backupData(String folderName) throws IOException {
+        requireNonNull(folderName);
         logger.fine("Attempting to make backup files: " + folderName);
-        patientBookStorage.backupData(folderName);
-        appointmentBookStorage.backupData(folderName);
+        backupFile(getPatientBookFilePath(), folderName);
+        backupFile(getAppointmentBookFilePath(), folderName);
+        if (journal != null) {
+            backupFile(journal.getJournalFilePath(), folderName);
+        }
+    }
+
+    private void backupFile(Path filePath, String folderName) throws IOException {
+        if (FileUtil.isFileExists(filePath)) {
+            FileUtil.backupFileToFolder(filePath, folderName, backupCount);
+        }
     }
 
     @Override
@@ -2,16 +2,35 @@ package seedu.address.storage;
 
 public class StorageStatsManager {
 
+    public static final String MESSAGE_ARCHIVE_IN_PROGRESS = "Archiving past appointments...";
+
     private int numArchivedAppointments;
     private int numExpiredAppointments;
+    private int numRolledUpArchiveFiles;
+    private int numPurgedArchiveFiles;
+    private int numPurgedAppointments;
     private int numRemovedAppointments;
     private int numRemovedPatients;
+    private int numOrphanedAppointments;
+    private int numPatientBookSaves;
+    private int numPatientBookSkips;
+    private int numAppointmentBookSaves;
+    private int numAppointmentBookSkips;
+    private boolean isArchiveInProgress;
 
     public String getMessage() {
         return getLoadStatusMessage() + getArchiveStatusMessage();
     }
 
-    public String getArchiveStatusMessage() {
+    /**
+     * Returns the result of the last archival, or a message that past appointments are being archived if an archival
+     * is in progress. Archival may run on a background thread.
+     */
+    public synchronized String getArchiveStatusMessage() {
+        if (isArchiveInProgress) {
+            return MESSAGE_ARCHIVE_IN_PROGRESS;
+        }
+
         String message = "";
         if (numArchivedAppointments > 0) {
             message += String.format("%d %s archived", numArchivedAppointments,
@@ -21,7 +40,33 @@ public class StorageStatsManager {
             message += String.format(", of which %d %s not done", numExpiredAppointments,
                     numExpiredAppointments > 1 ? "are" : "is");
         }
-        return message.isBlank() ? message : message + ".";
+        if (!message.isBlank()) {
+            message += ".";
+        }
+
+        String maintenanceMessage = getArchiveMaintenanceMessage();
+        if (!message.isBlank() && !maintenanceMessage.isBlank()) {
+            message += " ";
+        }
+        return message + maintenanceMessage;
+    }
+
+    /**
+     * Returns the result of the last run of the archive retention policy.
+     */
+    public synchronized String getArchiveMaintenanceMessage() {
+        String message = "";
+        if (numRolledUpArchiveFiles > 0) {
+            message += String.format("%d archive %s rolled up into yearly files.", numRolledUpArchiveFiles,
+                    numRolledUpArchiveFiles > 1 ? "files" : "file");
+        }
+        if (numPurgedArchiveFiles > 0) {
+            message += String.format("%s%d archive %s with %d %s past the retention period deleted.",
+                    message.isBlank() ? "" : " ", numPurgedArchiveFiles,
+                    numPurgedArchiveFiles > 1 ? "files" : "file", numPurgedAppointments,
+                    numPurgedAppointments == 1 ? "appointment" : "appointments");
+        }
+        return message;
     }
 
     public String getLoadStatusMessage() {
@@ -34,10 +79,28 @@ public class StorageStatsManager {
             message += String.format("Failed to load %d %s.\n", numRemovedAppointments,
                     numRemovedAppointments > 1 ? "appointments" : "appointment");
         }
+        if (numOrphanedAppointments > 0) {
+            message += String.format("Removed %d %s of patients not in the patient book.\n", numOrphanedAppointments,
+                    numOrphanedAppointments > 1 ? "appointments" : "appointment");
+        }
         return message;
     }
 
-    public void setArchiveStats(int numOfArchivedAppointments, int numOfExpiredAppointments) {
+    /**
+     * Records that an archival of past appointments has started or finished.
+     */
+    public synchronized void setArchiveInProgress(boolean isArchiveInProgress) {
+        this.isArchiveInProgress = isArchiveInProgress;
+    }
+
+    public synchronized boolean isArchiveInProgress() {
+        return isArchiveInProgress;
+    }
+
+    /**
+     * Records the number of appointments archived by the last archival, and how many of them are not done.
+     */
+    public synchronized void setArchiveStats(int numOfArchivedAppointments, int numOfExpiredAppointments) {
         assert numOfArchivedAppointments >= 0;
         assert numOfExpiredAppointments >= 0;
         assert numOfArchivedAppointments >= numOfExpiredAppointments;
@@ -46,6 +109,21 @@ public class StorageStatsManager {
         this.numExpiredAppointments = numOfExpiredAppointments;
     }
 
+    /**
+     * Records the number of archive files rolled up into yearly files by the last run of the archive retention
+     * policy, and the number of archive files and appointments it deleted.
+     */
+    public synchronized void setArchiveMaintenanceStats(int numRolledUpArchiveFiles, int numPurgedArchiveFiles,
+                                                        int numPurgedAppointments) {
+        assert numRolledUpArchiveFiles >= 0;
+        assert numPurgedArchiveFiles >= 0;
+        assert numPurgedAppointments >= 0;
+
+        this.numRolledUpArchiveFiles = numRolledUpArchiveFiles;
+        this.numPurgedArchiveFiles = numPurgedArchiveFiles;
+        this.numPurgedAppointments = numPurgedAppointments;
+    }
+
     public void setRemovedAppointmentCount(int numRemovedAppointments) {
         assert numRemovedAppointments >= 0;
         this.numRemovedAppointments = numRemovedAppointments;
@@ -55,4 +133,47 @@ public class StorageStatsManager {
         assert numRemovedPatients >= 0;
         this.numRemovedPatients = numRemovedPatients;
     }
+
+    /**
+     * Records the number of loaded appointments that were removed because their patients are not in the patient book.
+     */
+    public void setOrphanedAppointmentCount(int numOrphanedAppointments) {
+        assert numOrphanedAppointments >= 0;
+        this.numOrphanedAppointments = numOrphanedAppointments;
+    }
+
+    /**
+     * Records that the patient book was saved. Data may be saved on a background thread.
+     */
+    public synchronized void recordPatientBookSave() {
+        numPatientBookSaves++;
+    }
+
+    public synchronized void recordPatientBookSkip() {
+        numPatientBookSkips++;
+    }
+
+    public synchronized void recordAppointmentBookSave() {
+        numAppointmentBookSaves++;
+    }
+
+    public synchronized void recordAppointmentBookSkip() {
+        numAppointmentBookSkips++;
+    }
+
+    public synchronized int getPatientBookSaveCount() {
+        return numPatientBookSaves;
+    }
+
+    public synchronized int getPatientBookSkipCount() {
+        return numPatientBookSkips;
+    }
+
+    public synchronized int getAppointmentBookSaveCount() {
+        return numAppointmentBookSaves;
+    }
+
+    public synchronized int getAppointmentBookSkipCount() {
+        return numAppointmentBookSkips;
+    }
 }
@@ -2,11 +2,17 @@ package seedu.address.storage.appointment;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import seedu.address.commons.exceptions.DataConversionException;
 import seedu.address.model.ReadOnlyAppointmentBook;
+import seedu.address.model.ReadOnlyPatientBook;
+import seedu.address.model.patient.Nric;
 import seedu.address.storage.StorageStatsManager;
+import seedu.address.storage.archive.CsvAdaptedAppointment;
 
 /**
  * Represents a storage for {@link seedu.address.model.AppointmentBook}.
@@ -22,16 +28,41 @@ public interface AppointmentBookStorage {
 
     /**
      * Returns AppointmentBook data as a {@link ReadOnlyAppointmentBook}.
+     * The patients of the appointments are looked up by NRIC in {@code patientBook}.
      * Returns {@code Optional.empty()} if storage file is not found.
      *
      * @throws DataConversionException if there was any problem when reading from the storage.
      */
-    Optional<ReadOnlyAppointmentBook> readAppointmentBook() throws DataConversionException;
+    default Optional<ReadOnlyAppointmentBook> readAppointmentBook(ReadOnlyPatientBook patientBook)
+            throws DataConversionException {
+        return readAppointmentBook(CompletableFuture.completedFuture(patientBook));
+    }
+
+    /**
+     * Returns AppointmentBook data as a {@link ReadOnlyAppointmentBook}, reading the storage while
+     * {@code patientBook} is still being loaded.
+     * The appointments are only looked up in the patient book once it is loaded.
+     *
+     * @throws DataConversionException if there was any problem when reading from the storage, or if the patient book
+     *     could not be loaded.
+     * @see #readAppointmentBook(ReadOnlyPatientBook)
+     */
+    Optional<ReadOnlyAppointmentBook> readAppointmentBook(CompletableFuture<? extends ReadOnlyPatientBook> patientBook)
+            throws DataConversionException;
 
     /**
      * @see #getAppointmentBookFilePath()
      */
-    Optional<ReadOnlyAppointmentBook> readAppointmentBook(Path filePath) throws DataConversionException;
+    default Optional<ReadOnlyAppointmentBook> readAppointmentBook(Path filePath, ReadOnlyPatientBook patientBook)
+            throws DataConversionException {
+        return readAppointmentBook(filePath, CompletableFuture.completedFuture(patientBook));
+    }
+
+    /**
+     * @see #readAppointmentBook(CompletableFuture)
+     */
+    Optional<ReadOnlyAppointmentBook> readAppointmentBook(Path filePath,
+            CompletableFuture<? extends ReadOnlyPatientBook> patientBook) throws DataConversionException;
 
     /**
      * Saves the given {@link ReadOnlyAppointmentBook} to the storage.
@@ -54,6 +85,32 @@ public interface AppointmentBookStorage {
      */
     ReadOnlyAppointmentBook archivePastAppointments(ReadOnlyAppointmentBook appointmentBook);
 
+    /**
+     * Compresses the archive files of past months.
+     *
+     * @return the number of archive files compressed.
+     * @throws IOException if there was any problem compressing a file.
+     */
+    int compressPastArchiveMonths() throws IOException;
+
+    /**
+     * Rolls up the archive files of the years that ended more than {@code rollUpYears} years ago into yearly files,
+     * and deletes the archive files of the months that ended more than {@code retentionYears} years ago.
+     * Either step is skipped if its number of years is 0.
+     *
+     * @throws IOException if there was any problem listing or deleting the archive files.
+     */
+    void applyArchiveRetentionPolicy(int rollUpYears, int retentionYears) throws IOException;
+
+    /**
+     * Returns the archived appointments dated from {@code startDate} to {@code endDate} inclusive.
+     *
+     * @param nric the NRIC of the patient of the appointments, or null for the appointments of all patients.
+     * @throws DataConversionException if the archive files are not in the expected format.
+     */
+    List<CsvAdaptedAppointment> findArchivedAppointments(Nric nric, LocalDate startDate, LocalDate endDate)
+            throws DataConversionException;
+
     /**
      * Makes a backup of the appointment storage file.
      *
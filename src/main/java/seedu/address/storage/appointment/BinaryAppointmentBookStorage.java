@@ -0,0 +1,104 @@
+package seedu.address.storage.appointment;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.model.ReadOnlyAppointmentBook;
+import seedu.address.model.ReadOnlyPatientBook;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.storage.BinarySnapshot;
+import seedu.address.storage.StorageStatsManager;
+
+/**
+ * A class to access AppointmentBook data stored as a json file on the hard disk, together with a
+ * {@link BinarySnapshot} of the same data next to it.
+ * The snapshot is read instead of the json file, unless it is missing, was not written from the json file as it is
+ * now, or is unreadable.
+ */
+public class BinaryAppointmentBookStorage extends JsonAppointmentBookStorage {
+
+    private static final Logger logger = LogsCenter.getLogger(BinaryAppointmentBookStorage.class);
+    private static final byte RECORD_KIND = 'A';
+
+    /**
+     * @param filePath the filePath for the appointment storage.
+     * @param archivePath the directory path for the appointment archives.
+     * @param statsManager the statistics handler for storage.
+     */
+    public BinaryAppointmentBookStorage(Path filePath, Path archivePath, StorageStatsManager statsManager) {
+        super(filePath, archivePath, statsManager);
+    }
+
+    @Override
+    public Optional<ReadOnlyAppointmentBook> readAppointmentBook(Path filePath,
+            CompletableFuture<? extends ReadOnlyPatientBook> patientBook) throws DataConversionException {
+        requireNonNull(filePath);
+        requireNonNull(patientBook);
+
+        Path snapshotFilePath = BinarySnapshot.getSnapshotFilePath(filePath);
+        if (BinarySnapshot.isUpToDate(snapshotFilePath, filePath)) {
+            try {
+                return Optional.of(readSnapshot(snapshotFilePath, patientBook));
+            } catch (IOException ioe) {
+                logger.warning("Failed to read appointment snapshot, reading " + filePath + " instead: " + ioe);
+            }
+        }
+        return super.readAppointmentBook(filePath, patientBook);
+    }
+
+    @Override
+    public void saveAppointmentBook(ReadOnlyAppointmentBook appointmentBook, Path filePath) throws IOException {
+        super.saveAppointmentBook(appointmentBook, filePath);
+        writeSnapshot(appointmentBook, BinarySnapshot.getSnapshotFilePath(filePath), filePath);
+    }
+
+    private ReadOnlyAppointmentBook readSnapshot(Path snapshotFilePath,
+            CompletableFuture<? extends ReadOnlyPatientBook> patientBook) throws IOException, DataConversionException {
+        BinarySnapshot.Reader reader = new BinarySnapshot.Reader(snapshotFilePath, RECORD_KIND);
+        JsonSerializableAppointmentBook.AppointmentCollector collector =
+                new JsonSerializableAppointmentBook.AppointmentCollector(patientBook);
+
+        while (reader.nextRecord()) {
+            LocalDate date;
+            LocalTime startTime;
+            LocalTime endTime;
+            try {
+                date = LocalDate.ofEpochDay(reader.readLong());
+                startTime = LocalTime.ofNanoOfDay(reader.readLong());
+                endTime = LocalTime.ofNanoOfDay(reader.readLong());
+            } catch (DateTimeException e) {
+                throw new IOException("Snapshot record has an invalid date or time", e);
+            }
+            boolean isDone = reader.readBoolean();
+            String patientNric = reader.readString();
+            collector.add(new JsonAdaptedAppointment(date, startTime, endTime, isDone, null, patientNric));
+        }
+        collector.awaitPatientBook();
+        return collector.build(getStatsManager());
+    }
+
+    private static void writeSnapshot(ReadOnlyAppointmentBook appointmentBook, Path snapshotFilePath,
+            Path filePath) throws IOException {
+        BinarySnapshot.Writer writer = new BinarySnapshot.Writer(RECORD_KIND);
+        for (Appointment appointment : appointmentBook.getAppointmentList()) {
+            writer.writeLong(appointment.getDate().getDate().toEpochDay());
+            writer.writeLong(appointment.getStartTime().getTime().toNanoOfDay());
+            writer.writeLong(appointment.getEndTime().getTime().toNanoOfDay());
+            writer.writeBoolean(appointment.getIsDoneStatus());
+            writer.writeString(appointment.getPatient().getNric().value);
+            writer.endRecord();
+        }
+        writer.writeTo(snapshotFilePath, filePath);
+    }
+
+}
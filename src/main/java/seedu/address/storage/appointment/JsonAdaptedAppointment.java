@@ -2,30 +2,37 @@ package seedu.address.storage.appointment;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import seedu.address.commons.exceptions.IllegalValueException;
 import seedu.address.model.appointment.Appointment;
 import seedu.address.model.appointment.Date;
 import seedu.address.model.appointment.Time;
+import seedu.address.model.patient.Nric;
 import seedu.address.model.patient.Patient;
 import seedu.address.storage.patient.JsonAdaptedPatient;
 
 /**
  * Jackson-friendly version of {@link Appointment}.
+ * The patient of the appointment is either embedded in full, or referenced by its NRIC only.
  */
-class JsonAdaptedAppointment {
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JsonAdaptedAppointment {
 
     public static final String MISSING_FIELD_MESSAGE_FORMAT = "Appointment's %s field is missing or corrupted!";
     public static final String TIME_IN_WRONG_ORDER = "Appointment start time is not before end time!";
+    public static final String MESSAGE_PATIENT_NOT_FOUND = "Appointment's patient %s is not in the patient book!";
 
     private final LocalDate date;
     private final LocalTime startTime;
     private final LocalTime endTime;
     private final Boolean isDone;
     private final JsonAdaptedPatient patient;
+    private final String patientNric;
 
     /**
      * Constructs a {@code JsonAdaptedAppointment} with the given appointment details.
@@ -35,31 +42,73 @@ class JsonAdaptedAppointment {
                                   @JsonProperty("startTime") LocalTime startTime,
                                   @JsonProperty("endTime") LocalTime endTime,
                                   @JsonProperty("isDone") Boolean isDone,
-                                  @JsonProperty("patient") JsonAdaptedPatient patient) {
+                                  @JsonProperty("patient") JsonAdaptedPatient patient,
+                                  @JsonProperty("patientNric") String patientNric) {
         this.date = date;
         this.startTime = startTime;
         this.endTime = endTime;
         this.isDone = isDone;
         this.patient = patient;
+        this.patientNric = patientNric;
     }
 
     /**
-     * Converts a given {@code Appointment} into this class for Jackson use.
+     * Constructs a {@code JsonAdaptedAppointment} with the given appointment details and embedded patient.
+     */
+    public JsonAdaptedAppointment(LocalDate date, LocalTime startTime, LocalTime endTime, Boolean isDone,
+                                  JsonAdaptedPatient patient) {
+        this(date, startTime, endTime, isDone, patient, null);
+    }
+
+    /**
+     * Converts a given {@code Appointment} into this class for Jackson use, embedding its patient in full.
      */
     public JsonAdaptedAppointment(Appointment source) {
+        this(source, true);
+    }
+
+    private JsonAdaptedAppointment(Appointment source, boolean isPatientEmbedded) {
         date = source.getDate().getDate();
         startTime = source.getStartTime().getTime();
         endTime = source.getEndTime().getTime();
         isDone = source.getIsDoneStatus();
-        patient = new JsonAdaptedPatient(source.getPatient());
+        patient = isPatientEmbedded ? new JsonAdaptedPatient(source.getPatient()) : null;
+        patientNric = isPatientEmbedded ? null : source.getPatient().getNric().value;
+    }
+
+    /**
+     * Converts a given {@code Appointment} into this class for Jackson use, referencing its patient by NRIC only.
+     */
+    public static JsonAdaptedAppointment referencingPatient(Appointment source) {
+        return new JsonAdaptedAppointment(source, false);
+    }
+
+    /**
+     * Returns true if the patient of this appointment is embedded in full instead of referenced by NRIC.
+     */
+    public boolean hasEmbeddedPatient() {
+        return patient != null;
     }
 
     /**
      * Converts this Jackson-friendly adapted appointment object into the model's {@code Appointment} object.
+     * The patient must be embedded in this appointment.
      *
      * @throws IllegalValueException if there were any data constraints violated in the adapted Appointment.
      */
     public Appointment toModelType() throws IllegalValueException {
+        return toModelType(Map.of());
+    }
+
+    /**
+     * Converts this Jackson-friendly adapted appointment object into the model's {@code Appointment} object.
+     * The patient is looked up by NRIC in {@code patientsByNric}, falling back to the embedded patient if it is not
+     * found there.
+     *
+     * @throws IllegalValueException if there were any data constraints violated in the adapted Appointment,
+     *     or if a patient referenced by NRIC only is not in {@code patientsByNric}.
+     */
+    public Appointment toModelType(Map<Nric, Patient> patientsByNric) throws IllegalValueException {
 
         if (startTime == null || endTime == null) {
             throw new IllegalValueException(String.format(MISSING_FIELD_MESSAGE_FORMAT, Time.class.getSimpleName()));
@@ -88,13 +137,30 @@ class JsonAdaptedAppointment {
 
         final boolean modelDoneStatus = isDone;
 
-        if (patient == null) {
+        final Patient modelPatient = toModelPatient(patientsByNric);
+
+        return new Appointment(modelDate, modelStartTime, modelEndTime, modelPatient, modelDoneStatus);
+    }
+
+    private Patient toModelPatient(Map<Nric, Patient> patientsByNric) throws IllegalValueException {
+        if (patient != null) {
+            Patient embeddedPatient = patient.toModelType();
+            return patientsByNric.getOrDefault(embeddedPatient.getNric(), embeddedPatient);
+        }
+
+        if (patientNric == null) {
             throw new IllegalValueException(String.format(MISSING_FIELD_MESSAGE_FORMAT, Patient.class.getSimpleName()));
         }
 
-        final Patient modelPatient = patient.toModelType();
+        if (!Nric.isValidNric(patientNric)) {
+            throw new IllegalValueException(Nric.MESSAGE_CONSTRAINTS);
+        }
 
-        return new Appointment(modelDate, modelStartTime, modelEndTime, modelPatient, modelDoneStatus);
+        Patient referencedPatient = patientsByNric.get(new Nric(patientNric));
+        if (referencedPatient == null) {
+            throw new IllegalValueException(String.format(MESSAGE_PATIENT_NOT_FOUND, patientNric));
+        }
+        return referencedPatient;
     }
 
 }
@@ -4,7 +4,10 @@ import static java.util.Objects.requireNonNull;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
 import seedu.address.commons.core.LogsCenter;
@@ -12,8 +15,11 @@ import seedu.address.commons.exceptions.DataConversionException;
 import seedu.address.commons.util.FileUtil;
 import seedu.address.commons.util.JsonUtil;
 import seedu.address.model.ReadOnlyAppointmentBook;
+import seedu.address.model.ReadOnlyPatientBook;
+import seedu.address.model.patient.Nric;
 import seedu.address.storage.StorageStatsManager;
 import seedu.address.storage.archive.AppointmentArchive;
+import seedu.address.storage.archive.CsvAdaptedAppointment;
 import seedu.address.storage.archive.CsvAppointmentArchive;
 
 /**
@@ -51,26 +57,45 @@ public class JsonAppointmentBookStorage implements AppointmentBookStorage {
     }
 
     @Override
-    public Optional<ReadOnlyAppointmentBook> readAppointmentBook() throws DataConversionException {
-        return readAppointmentBook(filePath);
+    public Optional<ReadOnlyAppointmentBook> readAppointmentBook(
+            CompletableFuture<? extends ReadOnlyPatientBook> patientBook) throws DataConversionException {
+        return readAppointmentBook(filePath, patientBook);
     }
 
     /**
-     * Similar to {@link #readAppointmentBook()}.
+     * Similar to {@link #readAppointmentBook(CompletableFuture)}.
+     * The data file is migrated to the current format if it is in an older format.
      *
      * @param filePath location of the data. Cannot be null.
      * @throws DataConversionException if the file is not in the correct format.
      */
-    public Optional<ReadOnlyAppointmentBook> readAppointmentBook(Path filePath) throws DataConversionException {
+    @Override
+    public Optional<ReadOnlyAppointmentBook> readAppointmentBook(Path filePath,
+            CompletableFuture<? extends ReadOnlyPatientBook> patientBook) throws DataConversionException {
         requireNonNull(filePath);
+        requireNonNull(patientBook);
+
+        return JsonSerializableAppointmentBook.readModelType(filePath, patientBook, statsManager,
+                appointmentBook -> migrate(appointmentBook, filePath));
+    }
 
-        Optional<JsonSerializableAppointmentBook> jsonAppointmentBook = JsonUtil.readJsonFile(
-                filePath, JsonSerializableAppointmentBook.class);
-        if (jsonAppointmentBook.isEmpty()) {
-            return Optional.empty();
+    /**
+     * Rewrites the data file at {@code filePath} in the current format, in which appointments reference their
+     * patients by NRIC instead of embedding them.
+     * Files other than the data file of this storage, such as backups, are left as they are.
+     */
+    private void migrate(ReadOnlyAppointmentBook appointmentBook, Path filePath) {
+        if (!filePath.equals(this.filePath)) {
+            return;
         }
 
-        return jsonAppointmentBook.map((book) -> book.toModelType(statsManager));
+        logger.info("Migrating appointment data file to format version "
+                + JsonSerializableAppointmentBook.FORMAT_VERSION + ": " + filePath);
+        try {
+            saveAppointmentBook(appointmentBook, filePath);
+        } catch (IOException ioe) {
+            logger.warning("Failed to migrate appointment data file, will try again on the next save: " + ioe);
+        }
     }
 
     @Override
@@ -78,6 +103,22 @@ public class JsonAppointmentBookStorage implements AppointmentBookStorage {
         return csvArchive.archivePastAppointments(appointmentBook);
     }
 
+    @Override
+    public int compressPastArchiveMonths() throws IOException {
+        return csvArchive.compressPastMonths();
+    }
+
+    @Override
+    public void applyArchiveRetentionPolicy(int rollUpYears, int retentionYears) throws IOException {
+        csvArchive.applyRetentionPolicy(rollUpYears, retentionYears);
+    }
+
+    @Override
+    public List<CsvAdaptedAppointment> findArchivedAppointments(Nric nric, LocalDate startDate, LocalDate endDate)
+            throws DataConversionException {
+        return csvArchive.findAppointments(nric, startDate, endDate);
+    }
+
     @Override
     public void saveAppointmentBook(ReadOnlyAppointmentBook appointmentBook) throws IOException {
         saveAppointmentBook(appointmentBook, filePath);
@@ -92,7 +133,6 @@ public class JsonAppointmentBookStorage implements AppointmentBookStorage {
         requireNonNull(appointmentBook);
         requireNonNull(filePath);
 
-        FileUtil.createIfMissing(filePath);
         JsonUtil.saveJsonFile(new JsonSerializableAppointmentBook(appointmentBook), filePath);
     }
 
@@ -1,7 +1,14 @@
 package seedu.address.storage.appointment;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -10,30 +17,43 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonRootName;
 
 import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.exceptions.DataConversionException;
 import seedu.address.commons.exceptions.IllegalValueException;
+import seedu.address.commons.util.JsonUtil;
 import seedu.address.model.AppointmentBook;
 import seedu.address.model.ReadOnlyAppointmentBook;
+import seedu.address.model.ReadOnlyPatientBook;
 import seedu.address.model.appointment.Appointment;
+import seedu.address.model.patient.Nric;
+import seedu.address.model.patient.Patient;
 import seedu.address.storage.StorageStatsManager;
 
 /**
  * An Immutable AppointmentBook that is serializable to JSON format.
+ * <p>
+ * Since format version 2, appointments reference their patients by NRIC only, and the patients are resolved
+ * against the patient book when the appointment book is read. Files without a version are in format version 1,
+ * in which every appointment embeds its patient in full; they can still be read.
  */
 @JsonRootName(value = "appointmentbook")
 class JsonSerializableAppointmentBook {
 
+    public static final int FORMAT_VERSION = 2;
     public static final String MESSAGE_OVERLAPPING_APPOINTMENT =
             "Appointment list contains overlapping appointment(s).";
 
     private static final Logger logger = LogsCenter.getLogger(JsonSerializableAppointmentBook.class);
 
+    private final Integer version;
     private final List<JsonAdaptedAppointment> appointments = new ArrayList<>();
 
     /**
-     * Constructs a {@code JsonSerializableAppointmentBook} with the given appointments.
+     * Constructs a {@code JsonSerializableAppointmentBook} with the given format version and appointments.
      */
     @JsonCreator
-    public JsonSerializableAppointmentBook(@JsonProperty("appointments") List<JsonAdaptedAppointment> appointments) {
+    public JsonSerializableAppointmentBook(@JsonProperty("version") Integer version,
+                                           @JsonProperty("appointments") List<JsonAdaptedAppointment> appointments) {
+        this.version = version;
         this.appointments.addAll(appointments);
     }
 
@@ -43,43 +63,148 @@ class JsonSerializableAppointmentBook {
      * @param source future changes to this will not affect the created {@code JsonSerializableAppointmentBook}.
      */
     public JsonSerializableAppointmentBook(ReadOnlyAppointmentBook source) {
+        version = FORMAT_VERSION;
         appointments.addAll(source.getAppointmentList()
                 .stream()
-                .map(JsonAdaptedAppointment::new)
+                .map(JsonAdaptedAppointment::referencingPatient)
                 .collect(Collectors.toList()));
     }
 
     /**
-     * Converts this appointment book into the model's {@code AppointmentBook} object.
+     * Converts this appointment book into the model's {@code AppointmentBook} object, resolving the patients of
+     * the appointments against {@code patientBook}.
+     * Appointments that cannot be converted, or that overlap with an earlier appointment, are discarded and
+     * counted in {@code statsManager}.
      */
-    public AppointmentBook toModelType(StorageStatsManager statsManager) {
-        AppointmentBook appointmentBook = new AppointmentBook();
-        int nDataViolations = 0;
+    public AppointmentBook toModelType(ReadOnlyPatientBook patientBook, StorageStatsManager statsManager) {
+        AppointmentCollector collector = new AppointmentCollector(patientBook);
+        appointments.forEach(collector::add);
+        return collector.build(statsManager);
+    }
+
+    /**
+     * Reads the appointment book in the given file into the model's {@code AppointmentBook} object, converting
+     * each appointment as soon as it is read instead of binding the whole file first.
+     * The file is read while {@code patientBook} is still being loaded; appointments read before then are held
+     * until it is loaded. Appointments are resolved and discarded in the same way as
+     * {@link #toModelType(ReadOnlyPatientBook, StorageStatsManager)}.
+     * Returns {@code Optional.empty()} if the file is not found.
+     *
+     * @param legacyFormatHandler given the appointment book read if any appointment in the file embeds its
+     *     patient, so that the file can be migrated to the current format version.
+     * @throws DataConversionException if the file is not in the correct format, or if the patient book could not be
+     *     loaded.
+     */
+    public static Optional<ReadOnlyAppointmentBook> readModelType(Path filePath,
+            CompletableFuture<? extends ReadOnlyPatientBook> patientBook, StorageStatsManager statsManager,
+            Consumer<ReadOnlyAppointmentBook> legacyFormatHandler) throws DataConversionException {
+        AppointmentCollector collector = new AppointmentCollector(patientBook);
+        if (!JsonUtil.readJsonArrayFile(filePath, "appointments", JsonAdaptedAppointment.class, collector::add)) {
+            return Optional.empty();
+        }
+
+        collector.awaitPatientBook();
+        AppointmentBook appointmentBook = collector.build(statsManager);
+        if (collector.hasEmbeddedPatients) {
+            legacyFormatHandler.accept(appointmentBook);
+        }
+        return Optional.of(appointmentBook);
+    }
+
+    /**
+     * Converts adapted appointments one at a time and collects them into an {@code AppointmentBook}.
+     * Appointments added before the patient book is loaded are held, and converted once it is loaded.
+     */
+    static class AppointmentCollector {
+        private final CompletableFuture<? extends ReadOnlyPatientBook> patientBook;
+        private final List<JsonAdaptedAppointment> pendingAppointments = new ArrayList<>();
+        private final List<Appointment> convertedAppointments = new ArrayList<>();
+        private Map<Nric, Patient> patientsByNric;
+        private int nDataViolations = 0;
+        private boolean hasEmbeddedPatients = false;
+
+        AppointmentCollector(ReadOnlyPatientBook patientBook) {
+            this(CompletableFuture.completedFuture(patientBook));
+            resolvePendingAppointments(patientBook);
+        }
+
+        AppointmentCollector(CompletableFuture<? extends ReadOnlyPatientBook> patientBook) {
+            this.patientBook = patientBook;
+        }
+
+        void add(JsonAdaptedAppointment jsonAdaptedAppointment) {
+            hasEmbeddedPatients |= jsonAdaptedAppointment.hasEmbeddedPatient();
+            if (patientsByNric == null && patientBook.isDone() && !patientBook.isCompletedExceptionally()) {
+                // the patient book is loaded, so this does not block
+                resolvePendingAppointments(patientBook.join());
+            }
+
+            if (patientsByNric == null) {
+                pendingAppointments.add(jsonAdaptedAppointment);
+            } else {
+                convert(jsonAdaptedAppointment);
+            }
+        }
+
+        /**
+         * Waits for the patient book to be loaded, and converts the appointments held until then.
+         *
+         * @throws DataConversionException if the patient book could not be loaded.
+         */
+        void awaitPatientBook() throws DataConversionException {
+            if (patientsByNric != null) {
+                return;
+            }
 
-        for (JsonAdaptedAppointment jsonAdaptedAppointment : appointments) {
-            Appointment appointment;
             try {
-                appointment = jsonAdaptedAppointment.toModelType();
+                resolvePendingAppointments(patientBook.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DataConversionException(e);
+            } catch (ExecutionException e) {
+                throw new DataConversionException(e);
+            }
+        }
+
+        private void resolvePendingAppointments(ReadOnlyPatientBook loadedPatientBook) {
+            patientsByNric = new HashMap<>();
+            for (Patient patient : loadedPatientBook.getPatientList()) {
+                patientsByNric.put(patient.getNric(), patient);
+            }
+            pendingAppointments.forEach(this::convert);
+            pendingAppointments.clear();
+        }
+
+        private void convert(JsonAdaptedAppointment jsonAdaptedAppointment) {
+            try {
+                convertedAppointments.add(jsonAdaptedAppointment.toModelType(patientsByNric));
             } catch (IllegalValueException ive) {
                 logger.info("Data constraints violated: " + ive.getMessage());
                 nDataViolations++;
-                continue;
             }
+        }
 
-            if (appointmentBook.hasOverlapsWith(appointment)) {
-                logger.info(MESSAGE_OVERLAPPING_APPOINTMENT);
-                nDataViolations++;
-                continue;
+        /**
+         * Returns the appointments collected. {@link #awaitPatientBook()} must have been called.
+         */
+        AppointmentBook build(StorageStatsManager statsManager) {
+            assert patientsByNric != null : "Patient book has not been loaded";
+            AppointmentBook appointmentBook = new AppointmentBook();
+
+            // validate and add all appointments in a single sweep
+            List<Appointment> overlappingAppointments =
+                    appointmentBook.setAppointmentsDiscardingOverlaps(convertedAppointments);
+            for (Appointment overlappingAppointment : overlappingAppointments) {
+                logger.info(MESSAGE_OVERLAPPING_APPOINTMENT + " Discarded: " + overlappingAppointment);
             }
+            int nViolations = nDataViolations + overlappingAppointments.size();
 
-            // add to appointment book
-            appointmentBook.addAppointment(appointment);
-        }
-        if (nDataViolations > 0) {
-            logger.warning("Failed to read " + nDataViolations + " appointment data!");
-            statsManager.setRemovedAppointmentCount(nDataViolations);
+            if (nViolations > 0) {
+                logger.warning("Failed to read " + nViolations + " appointment data!");
+                statsManager.setRemovedAppointmentCount(nViolations);
+            }
+            return appointmentBook;
         }
-        return appointmentBook;
     }
 
 }
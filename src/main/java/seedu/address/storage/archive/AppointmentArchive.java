@@ -2,10 +2,13 @@ package seedu.address.storage.archive;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 import seedu.address.commons.exceptions.DataConversionException;
 import seedu.address.model.ReadOnlyAppointmentBook;
+import seedu.address.model.patient.Nric;
 
 /**
  * Represents an archive storage for {@link seedu.address.model.AppointmentBook}.
@@ -23,6 +26,24 @@ public interface AppointmentArchive {
     ReadOnlyAppointmentBook archivePastAppointments(ReadOnlyAppointmentBook appointmentBook);
 
 
+    /**
+     * Compresses the archive files of the months before the current month, which are read back transparently.
+     *
+     * @return the number of archive files compressed.
+     * @throws IOException if there was an error compressing a file.
+     */
+    int compressPastMonths() throws IOException;
+
+    /**
+     * Deletes the archive files of the months that ended more than {@code retentionYears} years ago, and merges the
+     * archive files of each year that ended more than {@code rollUpYears} years ago into one file sorted by date.
+     * Either step is skipped if its number of years is 0. The statistics of the run are recorded in the
+     * {@link seedu.address.storage.StorageStatsManager}.
+     *
+     * @throws IOException if the archive files could not be listed or deleted.
+     */
+    void applyRetentionPolicy(int rollUpYears, int retentionYears) throws IOException;
+
     /**
      * Returns the archived data as a list of {@link CsvAdaptedAppointment}.
      *
@@ -36,6 +57,35 @@ public interface AppointmentArchive {
      */
     List<CsvAdaptedAppointment> readAppointments(Path filePath) throws DataConversionException;
 
+    /**
+     * Returns the archived data as a stream of {@link CsvAdaptedAppointment}, which reads the archive file one row at
+     * a time as it is consumed. The stream must be closed once it is no longer needed.
+     *
+     * @param fileName the name of the archive file in the archive storage.
+     * @throws DataConversionException if the archive file could not be opened.
+     */
+    Stream<CsvAdaptedAppointment> streamAppointments(String fileName) throws DataConversionException;
+
+    /**
+     * Returns the archived appointments dated from {@code startDate} to {@code endDate} inclusive as a stream, in
+     * order of their months. Only one archive file is open at a time, and the files of later months are not read
+     * if the stream is not consumed that far. The stream must be closed once it is no longer needed.
+     *
+     * @throws DataConversionException if the archive directory could not be read.
+     */
+    Stream<CsvAdaptedAppointment> streamAppointments(LocalDate startDate, LocalDate endDate)
+            throws DataConversionException;
+
+    /**
+     * Returns the archived appointments dated from {@code startDate} to {@code endDate} inclusive, in order of their
+     * months. Only the rows of the matching appointments are read, using the index of each archive file.
+     *
+     * @param nric the NRIC of the patient of the appointments, or null for the appointments of all patients.
+     * @throws DataConversionException if the data in storage is not in the expected format.
+     */
+    List<CsvAdaptedAppointment> findAppointments(Nric nric, LocalDate startDate, LocalDate endDate)
+            throws DataConversionException;
+
     /**
      * Saves the given list of {@code CsvAdaptedAppointment}.
      *
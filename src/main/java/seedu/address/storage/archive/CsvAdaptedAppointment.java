@@ -8,6 +8,8 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonUnwrapped;
 
 import seedu.address.model.appointment.Appointment;
+import seedu.address.model.appointment.Date;
+import seedu.address.model.appointment.Time;
 
 /**
  * Csv-friendly version of {@link Appointment}.
@@ -65,6 +67,27 @@ public class CsvAdaptedAppointment {
         patient = new CsvAdaptedPatient(source.getPatient());
     }
 
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    CsvAdaptedPatient getPatient() {
+        return patient;
+    }
+
+    /**
+     * Returns the row of this appointment in an archive file that keeps its patients in a {@link CsvPatientDictionary}.
+     *
+     * @param patientVersion the version of the details of the patient in the dictionary.
+     */
+    CsvAdaptedAppointmentRow toRow(int patientVersion) {
+        return new CsvAdaptedAppointmentRow(date, startTime, endTime, isDone, patient.getNric(), patientVersion);
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -82,4 +105,19 @@ public class CsvAdaptedAppointment {
                 && otherAppointment.startTime.equals(startTime)
                 && otherAppointment.endTime.equals(endTime);
     }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(date.format(Date.DATE_FORMAT))
+                .append(", from ")
+                .append(startTime.format(Time.TIME_FORMAT))
+                .append(" to ")
+                .append(endTime.format(Time.TIME_FORMAT))
+                .append(isDone ? " (done)" : "")
+                .append("\nPatient: ")
+                .append(patient);
+
+        return builder.toString();
+    }
 }
@@ -0,0 +1,64 @@
+package seedu.address.storage.archive;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * A row of an archive file that refers to its patient by NRIC and the version of the patient's details only.
+ * The details of the patient are kept once per version per archive file, in its {@link CsvPatientDictionary}.
+ */
+@JsonPropertyOrder({"date", "startTime", "endTime", "isDone", "nric", "patientVersion"})
+class CsvAdaptedAppointmentRow {
+    @JsonFormat(pattern = "yyy-MM-dd")
+    private LocalDate date;
+
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime startTime;
+
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime endTime;
+
+    private Boolean isDone;
+
+    private String nric;
+
+    // null in rows written before the versions of patients were recorded
+    private Integer patientVersion;
+
+    /*
+     * Empty constructor is used for deserialization, as in CsvAdaptedAppointment.
+     */
+    public CsvAdaptedAppointmentRow() {
+    }
+
+    /**
+     * Constructs a {@code CsvAdaptedAppointmentRow} with the given appointment details.
+     */
+    public CsvAdaptedAppointmentRow(LocalDate date, LocalTime startTime, LocalTime endTime, Boolean isDone,
+                                    String nric, Integer patientVersion) {
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.isDone = isDone;
+        this.nric = nric;
+        this.patientVersion = patientVersion;
+    }
+
+    public String getNric() {
+        return nric;
+    }
+
+    public Integer getPatientVersion() {
+        return patientVersion;
+    }
+
+    /**
+     * Returns the appointment of this row, made by {@code patient}.
+     */
+    public CsvAdaptedAppointment toCsvAdaptedAppointment(CsvAdaptedPatient patient) {
+        return new CsvAdaptedAppointment(date, startTime, endTime, isDone, patient);
+    }
+}
@@ -1,5 +1,7 @@
 package seedu.address.storage.archive;
 
+import java.util.Objects;
+
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
@@ -10,22 +12,27 @@ import seedu.address.model.patient.Patient;
  * Csv-friendly version of {@link Patient}.
  * Contains minimal Patient data for archive purposes.
  */
-@JsonPropertyOrder({"name", "phone", "address", "remark"})
+@JsonPropertyOrder({"name", "nric", "phone", "address", "remark"})
 class CsvAdaptedPatient {
 
     private final String name;
+    private final String nric;
     private final String phone;
     private final String address;
     private final String remark;
 
     /**
      * Constructs a {@code JsonAdaptedPatient} with the given patient details.
+     * {@code nric} is null or empty for patients archived before the NRIC was added to the archive.
      */
     @JsonCreator
-    public CsvAdaptedPatient(@JsonProperty("name") String name, @JsonProperty("phone") String phone,
+    public CsvAdaptedPatient(@JsonProperty("name") String name, @JsonProperty("nric") String nric,
+                             @JsonProperty("phone") String phone,
                              @JsonProperty("address") String address,
                              @JsonProperty("remark") String remark) {
         this.name = name;
+        // the missing NRIC of a patient archived before is written as an empty field when the file is rewritten
+        this.nric = nric == null || nric.isEmpty() ? null : nric;
         this.phone = phone;
         this.address = address;
         this.remark = remark;
@@ -36,11 +43,16 @@ class CsvAdaptedPatient {
      */
     public CsvAdaptedPatient(Patient source) {
         name = source.getName().fullName;
+        nric = source.getNric().value;
         phone = source.getPhone().value;
         address = source.getAddress().value;
         remark = source.getRemark().value;
     }
 
+    public String getNric() {
+        return nric;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -52,9 +64,20 @@ class CsvAdaptedPatient {
         }
 
         CsvAdaptedPatient otherPatient = (CsvAdaptedPatient) other;
-        return otherPatient.address.equals(address)
-                && otherPatient.name.equals(name)
-                && otherPatient.phone.equals(phone)
-                && otherPatient.remark.equals(remark);
+        return Objects.equals(otherPatient.address, address)
+                && Objects.equals(otherPatient.name, name)
+                && Objects.equals(otherPatient.nric, nric)
+                && Objects.equals(otherPatient.phone, phone)
+                && Objects.equals(otherPatient.remark, remark);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, nric, phone, address, remark);
+    }
+
+    @Override
+    public String toString() {
+        return name + (nric == null ? "" : " (" + nric + ")") + "; Contact: " + phone;
     }
 }
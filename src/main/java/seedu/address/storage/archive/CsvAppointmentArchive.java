@@ -1,24 +1,46 @@
 package seedu.address.storage.archive;
 
 import static java.util.Objects.requireNonNull;
+import static seedu.address.commons.util.AppUtil.checkArgument;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
 import java.time.format.TextStyle;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 import seedu.address.commons.core.LogsCenter;
 import seedu.address.commons.exceptions.DataConversionException;
 import seedu.address.commons.util.CsvUtil;
 import seedu.address.commons.util.DateTimeUtil;
-import seedu.address.commons.util.FileUtil;
 import seedu.address.model.AppointmentBook;
 import seedu.address.model.ReadOnlyAppointmentBook;
 import seedu.address.model.appointment.Appointment;
+import seedu.address.model.patient.Nric;
 import seedu.address.storage.StorageStatsManager;
 
 /**
@@ -26,7 +48,15 @@ import seedu.address.storage.StorageStatsManager;
  */
 public class CsvAppointmentArchive implements AppointmentArchive {
 
+    public static final String FILE_EXTENSION = ".csv";
+    public static final String COMPRESSED_FILE_EXTENSION = FILE_EXTENSION + CsvUtil.COMPRESSED_FILE_EXTENSION;
+
     private static final Logger logger = LogsCenter.getLogger(CsvAppointmentArchive.class);
+    private static final DateTimeFormatter FILE_NAME_FORMAT = new DateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .appendPattern("uuuu_MMM")
+            .toFormatter(Locale.ENGLISH);
+    private static final DateTimeFormatter YEARLY_FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("uuuu");
 
     private final Path directoryPath;
     private final StorageStatsManager statsManager;
@@ -48,54 +78,53 @@ public class CsvAppointmentArchive implements AppointmentArchive {
     public ReadOnlyAppointmentBook archivePastAppointments(ReadOnlyAppointmentBook appointmentBook) {
         requireNonNull(appointmentBook);
         List<Appointment> appointments = appointmentBook.getAppointmentList();
-
-        LocalDate date = null;
-        List<CsvAdaptedAppointment> pastAppointments = new ArrayList<>();
-        List<Appointment> upcomingAppointments = new ArrayList<>();
+        List<Appointment> unarchivedAppointments = new ArrayList<>();
 
         // Statistics
         int numberOfArchivedAppointments = 0;
         int numberOfExpiredAppointments = 0;
 
-        for (int i = 0; i < appointments.size(); i++) {
-            Appointment appointment = appointments.get(i);
-            LocalDate appointmentDate = appointment.getDate().getDate();
+        // The appointments are sorted, so the past appointments come first and those of each month are together.
+        int monthStart = 0;
+        while (monthStart < appointments.size() && isPast(appointments.get(monthStart))) {
+            YearMonth month = YearMonth.from(appointments.get(monthStart).getDate().getDate());
+            int monthEnd = monthStart + 1;
+            while (monthEnd < appointments.size() && isPast(appointments.get(monthEnd))
+                    && month.equals(YearMonth.from(appointments.get(monthEnd).getDate().getDate()))) {
+                monthEnd++;
+            }
 
-            if (date == null || date != appointmentDate) {
-                if (DateTimeUtil.isExpiredByDay(appointmentDate)) {
-                    // change of day
-                    if (date != null && (date.getYear() != appointmentDate.getYear()
-                            || date.getMonth() != appointmentDate.getMonth())) {
-                        saveAppointments(pastAppointments, getFileName(date));
-                    }
-                    pastAppointments.clear();
-                    date = appointmentDate;
-                } else {
-                    // no more expired appointments
-                    while (i < appointments.size()) {
-                        upcomingAppointments.add(appointments.get(i));
-                        i++;
-                    }
-                    break;
-                }
+            List<Appointment> monthAppointments = appointments.subList(monthStart, monthEnd);
+            try {
+                appendToArchiveFile(directoryPath.resolve(getFileName(month.atDay(1))), () ->
+                        monthAppointments.stream().map(CsvAdaptedAppointment::new).iterator());
+                numberOfArchivedAppointments += monthAppointments.size();
+                numberOfExpiredAppointments += (int) monthAppointments.stream()
+                        .filter(appointment -> !appointment.getIsDoneStatus())
+                        .count();
+            } catch (IOException ioe) {
+                logger.warning("Failed to archive past appointments of " + month + ": " + ioe);
+                unarchivedAppointments.addAll(monthAppointments);
             }
-            pastAppointments.add(new CsvAdaptedAppointment(appointment));
-            numberOfArchivedAppointments++;
-            numberOfExpiredAppointments += appointment.getIsDoneStatus() ? 0 : 1;
+            monthStart = monthEnd;
         }
 
-        if (pastAppointments.isEmpty()) {
+        if (numberOfArchivedAppointments == 0) {
             return appointmentBook;
         }
 
-        saveAppointments(pastAppointments, getFileName(date));
         statsManager.setArchiveStats(numberOfArchivedAppointments, numberOfExpiredAppointments);
 
+        unarchivedAppointments.addAll(appointments.subList(monthStart, appointments.size()));
         AppointmentBook book = new AppointmentBook();
-        book.setAppointments(upcomingAppointments);
+        book.setAppointments(unarchivedAppointments);
         return book;
     }
 
+    private static boolean isPast(Appointment appointment) {
+        return DateTimeUtil.isExpiredByDay(appointment.getDate().getDate());
+    }
+
     @Override
     public void saveAppointments(List<CsvAdaptedAppointment> appointments, String fileName) {
         try {
@@ -116,11 +145,336 @@ public class CsvAppointmentArchive implements AppointmentArchive {
     public void saveAppointments(List<CsvAdaptedAppointment> appointments, Path filePath)
             throws IOException {
         requireNonNull(appointments);
-        requireNonNull(directoryPath);
+        requireNonNull(filePath);
 
-        boolean isNewFile = !FileUtil.isFileExists(filePath);
-        FileUtil.createIfMissing(filePath);
-        CsvUtil.saveCsvFile(appointments, CsvAdaptedAppointment.class, filePath, isNewFile);
+        appendToArchiveFile(filePath, appointments);
+    }
+
+    /**
+     * Appends {@code appointments} to the archive file at {@code filePath}, and adds them to the index of the file.
+     * The patients of the appointments are added to the patient dictionary of the file first, so that the rows of
+     * the file only hold their NRIC. Files written by an older version of the app, with the details of the patient in
+     * every row, are kept in that layout.
+     */
+    private void appendToArchiveFile(Path filePath, Iterable<CsvAdaptedAppointment> appointments)
+            throws IOException {
+        decompressArchiveFile(filePath);
+        List<String> columnNames = CsvArchiveIndex.readColumnNames(filePath);
+        if (hasPatientColumns(columnNames)) {
+            upgradeArchiveFile(filePath, columnNames);
+            CsvUtil.appendToCsvFile(filePath, CsvAdaptedAppointment.class, appointments.iterator());
+        } else {
+            List<CsvAdaptedAppointmentRow> rows;
+            try {
+                rows = CsvPatientDictionary.load(filePath).toRows(appointments);
+            } catch (DataConversionException e) {
+                throw new IOException("Cannot read patient dictionary of " + filePath, e);
+            }
+            CsvUtil.appendToCsvFile(filePath, CsvAdaptedAppointmentRow.class, rows.iterator());
+        }
+
+        try {
+            CsvArchiveIndex.load(filePath);
+        } catch (IOException ioe) {
+            // the index is brought up to date again when it is next read
+            logger.warning("Failed to update archive index of " + filePath + ": " + ioe);
+        }
+    }
+
+    /**
+     * Replaces the compressed archive file of the plain archive file at {@code filePath}, if there is one, with the
+     * plain archive file, so that rows can be appended to it. The month is compressed again later.
+     */
+    private void decompressArchiveFile(Path filePath) throws IOException {
+        Path compressedFilePath = getCompressedFilePath(filePath);
+        if (!Files.exists(compressedFilePath)) {
+            return;
+        }
+        if (Files.exists(filePath)) {
+            // left behind by a compression that was stopped before the plain file was deleted
+            Files.delete(compressedFilePath);
+            return;
+        }
+
+        logger.info("Decompressing archive file " + compressedFilePath + " to append to it");
+        Path tempFilePath = filePath.resolveSibling(filePath.getFileName() + ".tmp");
+        try (InputStream inputStream = CsvArchiveIndex.openArchiveFile(compressedFilePath)) {
+            Files.copy(inputStream, tempFilePath, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tempFilePath, filePath);
+        } finally {
+            Files.deleteIfExists(tempFilePath);
+        }
+        Files.delete(compressedFilePath);
+    }
+
+    @Override
+    public int compressPastMonths() throws IOException {
+        // Appointments are archived once they are past, so no more rows are expected in the files of past months.
+        YearMonth currentMonth = YearMonth.now();
+        int compressedFileCount = 0;
+        try {
+            for (ArchiveFile archiveFile : getArchiveFiles(LocalDate.MIN, LocalDate.MAX)) {
+                if (archiveFile.lastMonth.isBefore(currentMonth) && !archiveFile.isCompressed()) {
+                    compressArchiveFile(archiveFile.path);
+                    compressedFileCount++;
+                }
+            }
+        } catch (DataConversionException e) {
+            throw new IOException("Cannot list the archive files in " + directoryPath, e);
+        }
+        return compressedFileCount;
+    }
+
+    @Override
+    public void applyRetentionPolicy(int rollUpYears, int retentionYears) throws IOException {
+        checkArgument(rollUpYears >= 0 && retentionYears >= 0, "Numbers of years must not be negative.");
+        YearMonth currentMonth = YearMonth.now();
+        List<ArchiveFile> archiveFiles;
+        try {
+            archiveFiles = getArchiveFiles(LocalDate.MIN, LocalDate.MAX);
+        } catch (DataConversionException e) {
+            throw new IOException("Cannot list the archive files in " + directoryPath, e);
+        }
+
+        int numPurgedFiles = 0;
+        int numPurgedAppointments = 0;
+        if (retentionYears > 0) {
+            YearMonth oldestRetainedMonth = currentMonth.minusYears(retentionYears);
+            for (ArchiveFile archiveFile : archiveFiles) {
+                if (archiveFile.lastMonth.isBefore(oldestRetainedMonth)) {
+                    numPurgedAppointments += getRowCount(archiveFile.path);
+                    deleteArchiveFile(archiveFile);
+                    numPurgedFiles++;
+                }
+            }
+            archiveFiles.removeIf(archiveFile -> archiveFile.lastMonth.isBefore(oldestRetainedMonth));
+        }
+
+        int numRolledUpFiles = 0;
+        if (rollUpYears > 0) {
+            YearMonth oldestMonthNotRolledUp = currentMonth.minusYears(rollUpYears);
+            Map<Year, List<ArchiveFile>> archiveFilesByYear = archiveFiles.stream()
+                    .filter(archiveFile -> Year.from(archiveFile.lastMonth).atMonth(Month.DECEMBER)
+                            .isBefore(oldestMonthNotRolledUp))
+                    .collect(Collectors.groupingBy(archiveFile -> Year.from(archiveFile.firstMonth),
+                            TreeMap::new, Collectors.toList()));
+            for (Map.Entry<Year, List<ArchiveFile>> yearArchiveFiles : archiveFilesByYear.entrySet()) {
+                try {
+                    numRolledUpFiles += rollUpYear(yearArchiveFiles.getKey(), yearArchiveFiles.getValue());
+                } catch (IOException ioe) {
+                    // the archive files of the year are left as they are, and rolled up on the next run
+                    logger.warning("Failed to roll up the archive files of " + yearArchiveFiles.getKey() + ": " + ioe);
+                }
+            }
+        }
+
+        logger.info(String.format("Archive maintenance: %d files rolled up, %d files with %d appointments purged",
+                numRolledUpFiles, numPurgedFiles, numPurgedAppointments));
+        statsManager.setArchiveMaintenanceStats(numRolledUpFiles, numPurgedFiles, numPurgedAppointments);
+    }
+
+    /**
+     * Merges the monthly archive files of {@code year} into the yearly file of the year, together with the rows
+     * already in the yearly file, sorted by date and start time. One month is held in memory at a time.
+     *
+     * @param archiveFiles the archive files of the year.
+     * @return the number of monthly archive files merged.
+     * @throws IOException if the archive files could not be merged. No archive files are changed if so.
+     */
+    private int rollUpYear(Year year, List<ArchiveFile> archiveFiles) throws IOException {
+        Optional<ArchiveFile> yearlyFile = archiveFiles.stream().filter(ArchiveFile::isYearly).findFirst();
+        Map<YearMonth, ArchiveFile> monthlyFiles = archiveFiles.stream()
+                .filter(archiveFile -> !archiveFile.isYearly())
+                .collect(Collectors.toMap(archiveFile -> archiveFile.firstMonth, archiveFile -> archiveFile));
+        if (monthlyFiles.isEmpty()) {
+            return 0;
+        }
+
+        logger.info("Rolling up the archive files of " + year);
+        Path yearlyFilePath = directoryPath.resolve(getYearlyFileName(year));
+        Path tempFilePath = yearlyFilePath.resolveSibling(yearlyFilePath.getFileName() + ".tmp");
+        Files.deleteIfExists(tempFilePath);
+        try {
+            writeYearlyFile(year, yearlyFile, monthlyFiles, tempFilePath,
+                    CsvPatientDictionary.load(yearlyFilePath));
+
+            // The old index is deleted first, so that it is never used for the new yearly file.
+            Files.deleteIfExists(CsvArchiveIndex.getIndexFilePath(yearlyFilePath));
+            Files.move(tempFilePath, yearlyFilePath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (DataConversionException | UncheckedIOException e) {
+            throw new IOException("Cannot read the archive files of " + year, e);
+        } finally {
+            Files.deleteIfExists(tempFilePath);
+        }
+
+        // The rows of the monthly files are in the yearly file now, so they are deleted before anything else can fail.
+        for (ArchiveFile monthlyFile : monthlyFiles.values()) {
+            deleteArchiveFile(monthlyFile);
+        }
+        Files.deleteIfExists(getCompressedFilePath(yearlyFilePath));
+
+        try {
+            CsvArchiveIndex.load(yearlyFilePath);
+        } catch (IOException ioe) {
+            // the index is built again when it is next read
+            logger.warning("Failed to index yearly archive file " + yearlyFilePath + ": " + ioe);
+        }
+        return monthlyFiles.size();
+    }
+
+    /**
+     * Writes the rows of {@code yearlyFile} and {@code monthlyFiles} to {@code filePath}, sorted by date and start
+     * time, with their patients in {@code patients}.
+     */
+    private void writeYearlyFile(Year year, Optional<ArchiveFile> yearlyFile, Map<YearMonth, ArchiveFile> monthlyFiles,
+            Path filePath, CsvPatientDictionary patients) throws IOException, DataConversionException {
+        try (Stream<CsvAdaptedAppointment> yearlyAppointments = yearlyFile.isPresent()
+                ? streamAppointments(yearlyFile.get().path)
+                : Stream.empty()) {
+            // The yearly file is sorted, so its rows of each month are read together.
+            Iterator<CsvAdaptedAppointment> yearlyRows = yearlyAppointments.iterator();
+            CsvAdaptedAppointment nextYearlyRow = yearlyRows.hasNext() ? yearlyRows.next() : null;
+            for (Month month : Month.values()) {
+                YearMonth yearMonth = year.atMonth(month);
+                List<CsvAdaptedAppointment> appointments = new ArrayList<>();
+                while (nextYearlyRow != null && YearMonth.from(nextYearlyRow.getDate()).equals(yearMonth)) {
+                    appointments.add(nextYearlyRow);
+                    nextYearlyRow = yearlyRows.hasNext() ? yearlyRows.next() : null;
+                }
+                if (monthlyFiles.containsKey(yearMonth)) {
+                    appointments.addAll(readAppointments(monthlyFiles.get(yearMonth).path));
+                }
+                appointments.sort(Comparator.comparing(CsvAdaptedAppointment::getDate)
+                        .thenComparing(CsvAdaptedAppointment::getStartTime));
+
+                // Every version of the details of a patient in the monthly files is kept in the yearly dictionary.
+                CsvUtil.appendToCsvFile(filePath, CsvAdaptedAppointmentRow.class,
+                        patients.toRows(appointments).iterator());
+            }
+            if (nextYearlyRow != null) {
+                throw new IOException("Yearly archive file is not sorted: " + yearlyFile.get().path);
+            }
+        }
+    }
+
+    private static int getRowCount(Path filePath) {
+        try {
+            return CsvArchiveIndex.load(filePath).getRowCount();
+        } catch (IOException ioe) {
+            logger.warning("Cannot count the appointments in archive file " + filePath + ": " + ioe);
+            return 0;
+        }
+    }
+
+    /**
+     * Deletes {@code archiveFile}, together with its compressed or plain copy, its index and its patient dictionary.
+     * The index is deleted first, so that it is never used for a new archive file with the same name.
+     */
+    private static void deleteArchiveFile(ArchiveFile archiveFile) throws IOException {
+        Path plainFilePath = archiveFile.getPlainPath();
+        Files.deleteIfExists(CsvArchiveIndex.getIndexFilePath(plainFilePath));
+        Files.deleteIfExists(plainFilePath);
+        Files.deleteIfExists(getCompressedFilePath(plainFilePath));
+        Files.deleteIfExists(CsvPatientDictionary.getDictionaryFilePath(plainFilePath));
+    }
+
+    /**
+     * Replaces the plain archive file at {@code filePath} with a compressed one. Its index is brought up to date
+     * first, as it is kept for the compressed file.
+     */
+    private void compressArchiveFile(Path filePath) throws IOException {
+        logger.info("Compressing archive file " + filePath);
+        CsvArchiveIndex.load(filePath);
+
+        Path compressedFilePath = getCompressedFilePath(filePath);
+        Path tempFilePath = compressedFilePath.resolveSibling(compressedFilePath.getFileName() + ".tmp");
+        try {
+            try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(tempFilePath))) {
+                Files.copy(filePath, outputStream);
+            }
+            Files.move(tempFilePath, compressedFilePath, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFilePath);
+        }
+        Files.delete(filePath);
+    }
+
+    private static Path getCompressedFilePath(Path filePath) {
+        return filePath.resolveSibling(filePath.getFileName() + CsvUtil.COMPRESSED_FILE_EXTENSION);
+    }
+
+    /**
+     * Returns the compressed archive file of the plain archive file at {@code filePath} if the month has been
+     * compressed, or {@code filePath} otherwise.
+     */
+    private static Path getReadableFilePath(Path filePath) {
+        Path compressedFilePath = getCompressedFilePath(filePath);
+        return !Files.exists(filePath) && Files.exists(compressedFilePath) ? compressedFilePath : filePath;
+    }
+
+    /**
+     * Returns true if an archive file with the columns {@code columnNames} holds the details of the patient in every
+     * row, instead of in a patient dictionary. Empty files are written with a patient dictionary.
+     */
+    private static boolean hasPatientColumns(List<String> columnNames) {
+        List<String> rowColumnNames = CsvUtil.getCsvColumnNames(CsvAdaptedAppointmentRow.class);
+        // files written before the versions of patients were recorded lack the last column
+        return !columnNames.isEmpty() && !columnNames.equals(rowColumnNames)
+                && !columnNames.equals(rowColumnNames.subList(0, rowColumnNames.size() - 1));
+    }
+
+    /**
+     * Rewrites the archive file at {@code filePath}, which holds the details of the patient in every row, with the
+     * current columns if it was written by an older version of the app with different columns, so that new rows can
+     * be appended to it.
+     */
+    private void upgradeArchiveFile(Path filePath, List<String> columnNames) throws IOException {
+        if (columnNames.equals(CsvUtil.getCsvColumnNames(CsvAdaptedAppointment.class))) {
+            return;
+        }
+
+        // The rows are copied one at a time into a new file, which then replaces the old one.
+        logger.info("Rewriting archive file " + filePath + " with the current columns");
+        Path tempFilePath = filePath.resolveSibling(filePath.getFileName() + ".tmp");
+        Files.deleteIfExists(tempFilePath);
+        try (Stream<CsvAdaptedAppointment> appointments = streamAppointments(filePath)) {
+            CsvUtil.appendToCsvFile(tempFilePath, CsvAdaptedAppointment.class, appointments.iterator());
+            Files.move(tempFilePath, filePath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (DataConversionException | UncheckedIOException e) {
+            throw new IOException("Cannot read archive file " + filePath + " to rewrite it", e);
+        } finally {
+            Files.deleteIfExists(tempFilePath);
+        }
+        Files.deleteIfExists(CsvArchiveIndex.getIndexFilePath(filePath));
+    }
+
+    @Override
+    public List<CsvAdaptedAppointment> findAppointments(Nric nric, LocalDate startDate, LocalDate endDate)
+            throws DataConversionException {
+        requireNonNull(startDate);
+        requireNonNull(endDate);
+
+        // Only the archive files of the months from startDate to endDate are read.
+        List<CsvAdaptedAppointment> appointments = new ArrayList<>();
+        for (ArchiveFile archiveFile : getArchiveFiles(startDate, endDate)) {
+            Path filePath = archiveFile.path;
+            try {
+                String rows = CsvArchiveIndex.load(filePath).readRows(filePath, nric, startDate, endDate);
+                if (rows.isEmpty()) {
+                    continue;
+                }
+                if (hasPatientColumns(CsvArchiveIndex.readColumnNames(filePath))) {
+                    appointments.addAll(CsvUtil.fromCsvString(rows, CsvAdaptedAppointment.class));
+                } else {
+                    appointments.addAll(CsvPatientDictionary.load(filePath)
+                            .joinAll(CsvUtil.fromCsvString(rows, CsvAdaptedAppointmentRow.class)));
+                }
+            } catch (IOException ioe) {
+                logger.warning("Error reading from archive file " + filePath + ": " + ioe);
+                throw new DataConversionException(ioe);
+            }
+        }
+        return appointments;
     }
 
     @Override
@@ -140,10 +494,122 @@ public class CsvAppointmentArchive implements AppointmentArchive {
     public List<CsvAdaptedAppointment> readAppointments(Path filePath) throws DataConversionException {
         requireNonNull(filePath);
 
-        List<CsvAdaptedAppointment> csvAdaptedAppointments =
-                CsvUtil.readCsvFile(filePath, CsvAdaptedAppointment.class);
+        try (Stream<CsvAdaptedAppointment> appointments = streamAppointments(filePath)) {
+            return appointments.collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            logger.warning("Error reading from archive file " + filePath + ": " + e.getCause());
+            throw new DataConversionException(e.getCause());
+        }
+    }
+
+    @Override
+    public Stream<CsvAdaptedAppointment> streamAppointments(String fileName) throws DataConversionException {
+        requireNonNull(fileName);
+        return streamAppointments(directoryPath.resolve(fileName));
+    }
+
+    /**
+     * Returns the archived data as a stream of {@link CsvAdaptedAppointment}.
+     * If the file does not exist, an empty stream will be returned.
+     * Similar to {@link #streamAppointments(String)}.
+     *
+     * @param filePath location of the archived data. Cannot be null.
+     * @throws DataConversionException if the file could not be opened.
+     */
+    public Stream<CsvAdaptedAppointment> streamAppointments(Path filePath) throws DataConversionException {
+        requireNonNull(filePath);
+        filePath = getReadableFilePath(filePath);
+
+        List<String> columnNames;
+        try {
+            columnNames = CsvArchiveIndex.readColumnNames(filePath);
+        } catch (IOException ioe) {
+            throw new DataConversionException(ioe);
+        }
+        if (hasPatientColumns(columnNames)) {
+            return CsvUtil.streamCsvFile(filePath, CsvAdaptedAppointment.class);
+        }
+
+        // The patient of each row is looked up as the row is read.
+        CsvPatientDictionary patients = CsvPatientDictionary.load(filePath);
+        return CsvUtil.streamCsvFile(filePath, CsvAdaptedAppointmentRow.class).map(patients::join);
+    }
+
+    @Override
+    public Stream<CsvAdaptedAppointment> streamAppointments(LocalDate startDate, LocalDate endDate)
+            throws DataConversionException {
+        requireNonNull(startDate);
+        requireNonNull(endDate);
+
+        // flatMap opens the file of a month only when the stream reaches it, and closes it before the next one.
+        return getArchiveFiles(startDate, endDate).stream()
+                .map(archiveFile -> archiveFile.path)
+                .flatMap(filePath -> {
+                    try {
+                        return streamAppointments(filePath);
+                    } catch (DataConversionException e) {
+                        throw new UncheckedIOException(new IOException("Cannot read archive file " + filePath, e));
+                    }
+                })
+                .filter(appointment -> !appointment.getDate().isBefore(startDate)
+                        && !appointment.getDate().isAfter(endDate));
+    }
+
+    /**
+     * Returns the archive files with appointments from {@code startDate} to {@code endDate}, in order of their months.
+     * The yearly file of a year comes before the files of the months of that year that were archived after it was
+     * rolled up. The plain archive file is returned if there is also a compressed one.
+     */
+    private List<ArchiveFile> getArchiveFiles(LocalDate startDate, LocalDate endDate)
+            throws DataConversionException {
+        if (!Files.isDirectory(directoryPath)) {
+            return new ArrayList<>();
+        }
 
-        return csvAdaptedAppointments;
+        YearMonth startMonth = YearMonth.from(startDate);
+        YearMonth endMonth = YearMonth.from(endDate);
+        Map<Path, ArchiveFile> archiveFiles = new HashMap<>();
+        String fileNamePattern = "*{" + FILE_EXTENSION + "," + COMPRESSED_FILE_EXTENSION + "}";
+        try (DirectoryStream<Path> directory = Files.newDirectoryStream(directoryPath, fileNamePattern)) {
+            for (Path filePath : directory) {
+                getArchiveFile(filePath)
+                        .filter(file -> !file.lastMonth.isBefore(startMonth) && !file.firstMonth.isAfter(endMonth))
+                        .ifPresent(file -> archiveFiles.merge(file.getPlainPath(), file, (archiveFile, otherFile) ->
+                                archiveFile.isCompressed() ? otherFile : archiveFile));
+            }
+        } catch (IOException ioe) {
+            throw new DataConversionException(ioe);
+        }
+
+        List<ArchiveFile> sortedArchiveFiles = new ArrayList<>(archiveFiles.values());
+        sortedArchiveFiles.sort(Comparator.comparing((ArchiveFile file) -> file.firstMonth)
+                .thenComparing(file -> !file.isYearly()));
+        return sortedArchiveFiles;
+    }
+
+    /**
+     * Returns the archive file at {@code filePath}, or an empty {@code Optional} if the file is not named like a
+     * monthly or yearly archive file.
+     */
+    private static Optional<ArchiveFile> getArchiveFile(Path filePath) {
+        String fileName = filePath.getFileName().toString();
+        String extension = CsvArchiveIndex.isCompressed(filePath) ? COMPRESSED_FILE_EXTENSION : FILE_EXTENSION;
+        if (!fileName.endsWith(extension)) {
+            return Optional.empty();
+        }
+        String baseName = fileName.substring(0, fileName.length() - extension.length());
+        try {
+            YearMonth month = YearMonth.parse(baseName, FILE_NAME_FORMAT);
+            return Optional.of(new ArchiveFile(filePath, month, month));
+        } catch (DateTimeParseException e) {
+            // not a monthly archive file
+        }
+        try {
+            Year year = Year.parse(baseName, YEARLY_FILE_NAME_FORMAT);
+            return Optional.of(new ArchiveFile(filePath, year.atMonth(Month.JANUARY), year.atMonth(Month.DECEMBER)));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
     }
 
     /**
@@ -157,7 +623,50 @@ public class CsvAppointmentArchive implements AppointmentArchive {
         requireNonNull(date);
         return date.getYear() + "_"
                 + date.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH).toUpperCase()
-                + ".csv";
+                + FILE_EXTENSION;
+    }
+
+    /**
+     * Returns the name of the file that the archive files of the months of {@code year} are rolled up into.
+     */
+    public String getYearlyFileName(Year year) {
+        requireNonNull(year);
+        return year.format(YEARLY_FILE_NAME_FORMAT) + FILE_EXTENSION;
+    }
+
+    /**
+     * An archive file in the archive directory, with the months of the appointments in it.
+     */
+    private static class ArchiveFile {
+        private final Path path;
+        private final YearMonth firstMonth;
+        private final YearMonth lastMonth;
+
+        ArchiveFile(Path path, YearMonth firstMonth, YearMonth lastMonth) {
+            this.path = path;
+            this.firstMonth = firstMonth;
+            this.lastMonth = lastMonth;
+        }
+
+        boolean isYearly() {
+            return !firstMonth.equals(lastMonth);
+        }
+
+        boolean isCompressed() {
+            return CsvArchiveIndex.isCompressed(path);
+        }
+
+        /**
+         * Returns the path of the plain file of this archive file, which is its own path if it is not compressed.
+         */
+        Path getPlainPath() {
+            if (!isCompressed()) {
+                return path;
+            }
+            String fileName = path.getFileName().toString();
+            int extensionIndex = fileName.length() - CsvUtil.COMPRESSED_FILE_EXTENSION.length();
+            return path.resolveSibling(fileName.substring(0, extensionIndex));
+        }
     }
 
 }
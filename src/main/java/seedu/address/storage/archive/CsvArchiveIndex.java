@@ -0,0 +1,405 @@
+package seedu.address.storage.archive;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+
+import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.util.CsvUtil;
+import seedu.address.model.patient.Nric;
+import seedu.address.storage.BinarySnapshot;
+
+/**
+ * A side index of an archive file, which maps the date and the patient NRIC of every row in the file to where the
+ * row is in the file, so that the rows of a patient or of some dates can be read without parsing the whole file.
+ * <p>
+ * The index is kept in a {@link BinarySnapshot} next to the archive file, with the same name but the
+ * {@value #FILE_EXTENSION} extension. It records how much of the archive file it covers, so that rows appended to the
+ * file later are indexed without reading the rows before them again. An index that is missing, unreadable or longer
+ * than its archive file is rebuilt from the archive file.
+ * <p>
+ * The archive file may be compressed with gzip once no more rows are appended to it. The index of a compressed file
+ * holds the positions of the rows in the uncompressed text, so the index of the file from before it was compressed
+ * is kept as it is.
+ * <p>
+ * The rows are also grouped by patient NRIC when the index is loaded, so that the rows of a patient are found without
+ * going through the rows of the other patients.
+ */
+class CsvArchiveIndex {
+
+    public static final String FILE_EXTENSION = ".idx";
+
+    private static final Logger logger = LogsCenter.getLogger(CsvArchiveIndex.class);
+    private static final byte RECORD_KIND = 'I';
+    private static final String DATE_COLUMN = "date";
+    private static final String NRIC_COLUMN = "nric";
+
+    private final int headerLength;
+    private final long indexedLength;
+    private final List<Entry> entries;
+    // the entries of each patient NRIC, in the order of their rows in the archive file
+    private final Map<String, List<Entry>> entriesByNric = new HashMap<>();
+
+    private CsvArchiveIndex(int headerLength, long indexedLength, List<Entry> entries) {
+        this.headerLength = headerLength;
+        this.indexedLength = indexedLength;
+        this.entries = entries;
+        for (Entry entry : entries) {
+            if (entry.nric != null) {
+                entriesByNric.computeIfAbsent(entry.nric, nric -> new ArrayList<>()).add(entry);
+            }
+        }
+    }
+
+    /**
+     * Returns the path of the index of the archive file at {@code archiveFilePath}.
+     */
+    public static Path getIndexFilePath(Path archiveFilePath) {
+        requireNonNull(archiveFilePath);
+        String fileName = archiveFilePath.getFileName().toString();
+        int extensionIndex = fileName.indexOf('.');
+        String baseName = extensionIndex > 0 ? fileName.substring(0, extensionIndex) : fileName;
+        return archiveFilePath.resolveSibling(baseName + FILE_EXTENSION);
+    }
+
+    /**
+     * Returns the index of the archive file at {@code archiveFilePath}, after indexing the rows that were added to the
+     * file since the index was last saved. The index is saved again if it has changed.
+     *
+     * @throws IOException if the archive file could not be read.
+     */
+    public static synchronized CsvArchiveIndex load(Path archiveFilePath) throws IOException {
+        requireNonNull(archiveFilePath);
+        Path indexFilePath = getIndexFilePath(archiveFilePath);
+
+        CsvArchiveIndex index = null;
+        if (Files.exists(indexFilePath)) {
+            try {
+                index = read(indexFilePath);
+            } catch (IOException ioe) {
+                logger.warning("Rebuilding unreadable archive index " + indexFilePath + ": " + ioe);
+            }
+        }
+
+        // No rows are appended to a compressed file, so its index is either complete or rebuilt in full.
+        if (isCompressed(archiveFilePath)) {
+            if (index == null) {
+                index = new CsvArchiveIndex(0, 0, List.of()).indexRowsAfter(archiveFilePath);
+                index.write(indexFilePath);
+            }
+            return index;
+        }
+
+        long archiveLength = Files.size(archiveFilePath);
+        if (index == null) {
+            index = new CsvArchiveIndex(0, 0, List.of());
+        }
+        if (index.indexedLength > archiveLength) {
+            logger.info("Rebuilding archive index " + indexFilePath + " of a file that has been replaced");
+            index = new CsvArchiveIndex(0, 0, List.of());
+        }
+        if (index.indexedLength == archiveLength) {
+            return index;
+        }
+
+        CsvArchiveIndex updatedIndex = index.indexRowsAfter(archiveFilePath);
+        if (updatedIndex.indexedLength != index.indexedLength) {
+            updatedIndex.write(indexFilePath);
+        }
+        return updatedIndex;
+    }
+
+    /**
+     * Returns the names of the columns in the header of the archive file at {@code archiveFilePath}, or an empty list
+     * if the file is missing or has no complete header.
+     */
+    public static List<String> readColumnNames(Path archiveFilePath) throws IOException {
+        requireNonNull(archiveFilePath);
+        if (!Files.exists(archiveFilePath)) {
+            return List.of();
+        }
+
+        try (InputStream inputStream = openArchiveFile(archiveFilePath)) {
+            List<String> columnNames = new RowScanner(inputStream).nextRow();
+            return columnNames == null ? List.of() : columnNames;
+        }
+    }
+
+    /**
+     * Returns true if the archive file at {@code archiveFilePath} is compressed with gzip.
+     */
+    public static boolean isCompressed(Path archiveFilePath) {
+        return archiveFilePath.getFileName().toString().endsWith(CsvUtil.COMPRESSED_FILE_EXTENSION);
+    }
+
+    /**
+     * Opens the archive file at {@code archiveFilePath} for reading its text, which is decompressed as it is read if
+     * the file is compressed.
+     */
+    public static InputStream openArchiveFile(Path archiveFilePath) throws IOException {
+        InputStream inputStream = Files.newInputStream(archiveFilePath);
+        try {
+            return new BufferedInputStream(isCompressed(archiveFilePath)
+                    ? new GZIPInputStream(inputStream)
+                    : inputStream);
+        } catch (IOException ioe) {
+            inputStream.close();
+            throw ioe;
+        }
+    }
+
+    public int getRowCount() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the rows of the archive file that are dated from {@code startDate} to {@code endDate} inclusive, and
+     * are of the patient with {@code nric} unless it is null, as csv text that starts with the header of the file.
+     * Only the matching rows are read from the file. Returns an empty string if no rows match.
+     *
+     * @throws IOException if the archive file could not be read.
+     */
+    public String readRows(Path archiveFilePath, Nric nric, LocalDate startDate, LocalDate endDate)
+            throws IOException {
+        requireNonNull(archiveFilePath);
+        requireNonNull(startDate);
+        requireNonNull(endDate);
+
+        long startDay = startDate.toEpochDay();
+        long endDay = endDate.toEpochDay();
+        List<Entry> candidateEntries = nric == null ? entries : entriesByNric.getOrDefault(nric.value, List.of());
+        List<Entry> matchingEntries = new ArrayList<>();
+        for (Entry entry : candidateEntries) {
+            if (entry.epochDay >= startDay && entry.epochDay <= endDay) {
+                matchingEntries.add(entry);
+            }
+        }
+        if (matchingEntries.isEmpty()) {
+            return "";
+        }
+
+        ByteArrayOutputStream rows = new ByteArrayOutputStream();
+        if (isCompressed(archiveFilePath)) {
+            // A compressed file can only be read in order, so the rows in between are decompressed and skipped.
+            try (InputStream inputStream = openArchiveFile(archiveFilePath)) {
+                RowScanner scanner = new RowScanner(inputStream);
+                rows.write(scanner.readBytes(headerLength));
+                for (Entry entry : matchingEntries) {
+                    scanner.skipTo(entry.offset);
+                    rows.write(scanner.readBytes(entry.length));
+                }
+            }
+        } else {
+            try (FileChannel channel = FileChannel.open(archiveFilePath, StandardOpenOption.READ)) {
+                rows.write(readBytes(channel, 0, headerLength));
+                for (Entry entry : matchingEntries) {
+                    rows.write(readBytes(channel, entry.offset, entry.length));
+                }
+            }
+        }
+        return rows.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns a copy of this index that also holds the rows of the archive file after the rows already indexed.
+     * A row that is not complete yet, such as one that is still being appended, is left out.
+     */
+    private CsvArchiveIndex indexRowsAfter(Path archiveFilePath) throws IOException {
+        try (InputStream inputStream = openArchiveFile(archiveFilePath)) {
+            RowScanner scanner = new RowScanner(inputStream);
+            List<String> columnNames = scanner.nextRow();
+            if (columnNames == null) {
+                return this;
+            }
+            int dateColumn = columnNames.indexOf(DATE_COLUMN);
+            int nricColumn = columnNames.indexOf(NRIC_COLUMN);
+            int newHeaderLength = (int) scanner.getPosition();
+            boolean isSameHeader = newHeaderLength == headerLength;
+
+            List<Entry> newEntries = isSameHeader ? new ArrayList<>(entries) : new ArrayList<>();
+            long rowStart = isSameHeader ? Math.max(indexedLength, newHeaderLength) : newHeaderLength;
+            scanner.skipTo(rowStart);
+            List<String> row;
+            while ((row = scanner.nextRow()) != null) {
+                long rowEnd = scanner.getPosition();
+                Long epochDay = parseEpochDay(getField(row, dateColumn));
+                if (epochDay != null) {
+                    int rowLength = (int) (rowEnd - rowStart);
+                    newEntries.add(new Entry(epochDay, getField(row, nricColumn), rowStart, rowLength));
+                }
+                rowStart = rowEnd;
+            }
+            return new CsvArchiveIndex(newHeaderLength, rowStart, newEntries);
+        }
+    }
+
+    private static String getField(List<String> row, int column) {
+        return column >= 0 && column < row.size() && !row.get(column).isEmpty() ? row.get(column) : null;
+    }
+
+    private static Long parseEpochDay(String date) {
+        if (date == null) {
+            return null;
+        }
+
+        try {
+            return LocalDate.parse(date).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static byte[] readBytes(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Archive file is shorter than its index");
+            }
+        }
+        return buffer.array();
+    }
+
+    private static CsvArchiveIndex read(Path indexFilePath) throws IOException {
+        BinarySnapshot.Reader reader = new BinarySnapshot.Reader(indexFilePath, RECORD_KIND);
+        if (!reader.nextRecord()) {
+            throw new IOException("Archive index has no header: " + indexFilePath);
+        }
+        int headerLength = reader.readInt();
+        long indexedLength = reader.readLong();
+
+        List<Entry> entries = new ArrayList<>(reader.getRecordCount());
+        while (reader.nextRecord()) {
+            long epochDay = reader.readLong();
+            String nric = reader.readString();
+            long offset = reader.readLong();
+            int length = reader.readInt();
+            if (offset < headerLength || length <= 0 || offset + length > indexedLength) {
+                throw new IOException("Archive index refers to rows outside the indexed file: " + indexFilePath);
+            }
+            entries.add(new Entry(epochDay, nric, offset, length));
+        }
+        return new CsvArchiveIndex(headerLength, indexedLength, entries);
+    }
+
+    private void write(Path indexFilePath) throws IOException {
+        BinarySnapshot.Writer writer = new BinarySnapshot.Writer(RECORD_KIND);
+        writer.writeInt(headerLength);
+        writer.writeLong(indexedLength);
+        writer.endRecord();
+
+        for (Entry entry : entries) {
+            writer.writeLong(entry.epochDay);
+            writer.writeString(entry.nric);
+            writer.writeLong(entry.offset);
+            writer.writeInt(entry.length);
+            writer.endRecord();
+        }
+        writer.writeTo(indexFilePath);
+    }
+
+    /**
+     * The date, the patient NRIC and the position in the archive file of a row.
+     */
+    private static class Entry {
+        private final long epochDay;
+        private final String nric;
+        private final long offset;
+        private final int length;
+
+        Entry(long epochDay, String nric, long offset, int length) {
+            this.epochDay = epochDay;
+            this.nric = nric;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Splits csv text into rows of fields, keeping track of how many bytes have been read.
+     * Quoted fields may hold commas, line breaks and doubled quotes.
+     */
+    private static class RowScanner {
+        private final InputStream inputStream;
+        private long position;
+
+        RowScanner(InputStream inputStream) {
+            this.inputStream = inputStream;
+        }
+
+        long getPosition() {
+            return position;
+        }
+
+        void skipTo(long targetPosition) throws IOException {
+            while (position < targetPosition) {
+                long skipped = inputStream.skip(targetPosition - position);
+                if (skipped <= 0) {
+                    if (inputStream.read() == -1) {
+                        throw new EOFException("Archive file is shorter than its index");
+                    }
+                    skipped = 1;
+                }
+                position += skipped;
+            }
+        }
+
+        byte[] readBytes(int length) throws IOException {
+            byte[] bytes = inputStream.readNBytes(length);
+            if (bytes.length < length) {
+                throw new EOFException("Archive file is shorter than its index");
+            }
+            position += length;
+            return bytes;
+        }
+
+        /**
+         * Returns the fields of the next row, or null if the rest of the text holds no complete row.
+         */
+        List<String> nextRow() throws IOException {
+            List<String> fields = new ArrayList<>();
+            ByteArrayOutputStream field = new ByteArrayOutputStream();
+            boolean isQuoted = false;
+            int previous = -1;
+            int current;
+            while ((current = inputStream.read()) != -1) {
+                position++;
+                if (current == '"') {
+                    if (!isQuoted && previous == '"') {
+                        field.write(current);
+                    }
+                    isQuoted = !isQuoted;
+                } else if (isQuoted) {
+                    field.write(current);
+                } else if (current == ',') {
+                    fields.add(field.toString(StandardCharsets.UTF_8));
+                    field.reset();
+                } else if (current == '\n') {
+                    fields.add(field.toString(StandardCharsets.UTF_8));
+                    return fields;
+                } else if (current != '\r') {
+                    field.write(current);
+                }
+                previous = current;
+            }
+            return null;
+        }
+    }
+}
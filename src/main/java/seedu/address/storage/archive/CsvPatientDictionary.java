@@ -0,0 +1,153 @@
+package seedu.address.storage.archive;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.commons.util.CsvUtil;
+
+/**
+ * The details of the patients of an archive file, keyed by NRIC and version, so that the rows of the file only need
+ * to hold the NRIC of their patient and the version of the patient's details.
+ * <p>
+ * The dictionary is kept in a csv file next to the archive file, with the same name but the {@value #FILE_EXTENSION}
+ * extension. Patients are only ever appended to it. If the details of a patient change, the new details are appended
+ * as the next version of the patient, and the rows archived before keep the details they were archived with.
+ * The versions of a patient are numbered from 1 in the order they are in the file. Rows written before the versions
+ * were recorded have the latest details of their patient.
+ */
+class CsvPatientDictionary {
+
+    public static final String FILE_EXTENSION = ".patients.csv";
+
+    private final Path filePath;
+    // the versions of the details of the patient of each NRIC, in order
+    private final Map<String, List<CsvAdaptedPatient>> patientVersions = new HashMap<>();
+
+    private CsvPatientDictionary(Path filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Returns the path of the patient dictionary of the archive file at {@code archiveFilePath}.
+     */
+    public static Path getDictionaryFilePath(Path archiveFilePath) {
+        requireNonNull(archiveFilePath);
+        String fileName = archiveFilePath.getFileName().toString();
+        int extensionIndex = fileName.indexOf('.');
+        String baseName = extensionIndex > 0 ? fileName.substring(0, extensionIndex) : fileName;
+        return archiveFilePath.resolveSibling(baseName + FILE_EXTENSION);
+    }
+
+    /**
+     * Returns the patient dictionary of the archive file at {@code archiveFilePath}, which is empty if the dictionary
+     * file does not exist.
+     *
+     * @throws DataConversionException if the dictionary file is not in the expected format.
+     */
+    public static CsvPatientDictionary load(Path archiveFilePath) throws DataConversionException {
+        CsvPatientDictionary dictionary = new CsvPatientDictionary(getDictionaryFilePath(archiveFilePath));
+        dictionary.reload();
+        return dictionary;
+    }
+
+    /**
+     * Returns the rows of {@code appointments}, which refer to the versions of the details of their patients in the
+     * dictionary. Details that are not in the dictionary yet are appended to the dictionary file as new versions.
+     *
+     * @throws IOException if a patient has no NRIC, or there was an error writing to the dictionary file.
+     */
+    public List<CsvAdaptedAppointmentRow> toRows(Iterable<CsvAdaptedAppointment> appointments) throws IOException {
+        requireNonNull(appointments);
+        Map<String, List<CsvAdaptedPatient>> updatedVersions = new HashMap<>();
+        List<CsvAdaptedPatient> newPatients = new ArrayList<>();
+        List<CsvAdaptedAppointmentRow> rows = new ArrayList<>();
+        for (CsvAdaptedAppointment appointment : appointments) {
+            CsvAdaptedPatient patient = appointment.getPatient();
+            if (patient.getNric() == null) {
+                throw new IOException("Cannot archive patient " + patient + " without an NRIC");
+            }
+
+            List<CsvAdaptedPatient> versions = updatedVersions.computeIfAbsent(patient.getNric(),
+                    nric -> new ArrayList<>(patientVersions.getOrDefault(nric, List.of())));
+            int versionIndex = versions.lastIndexOf(patient);
+            if (versionIndex == -1) {
+                versions.add(patient);
+                newPatients.add(patient);
+                versionIndex = versions.size() - 1;
+            }
+            rows.add(appointment.toRow(versionIndex + 1));
+        }
+
+        if (!newPatients.isEmpty()) {
+            CsvUtil.appendToCsvFile(filePath, CsvAdaptedPatient.class, newPatients.iterator());
+            patientVersions.putAll(updatedVersions);
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the appointment of {@code row}, with the details of its patient.
+     * The dictionary file is read again if the patient is not found, in case the patient was added after it was loaded.
+     *
+     * @throws UncheckedIOException if the patient is not in the dictionary.
+     */
+    public CsvAdaptedAppointment join(CsvAdaptedAppointmentRow row) {
+        CsvAdaptedPatient patient = getPatient(row);
+        if (patient == null) {
+            try {
+                reload();
+            } catch (DataConversionException e) {
+                throw new UncheckedIOException(new IOException("Cannot read patient dictionary " + filePath, e));
+            }
+            patient = getPatient(row);
+        }
+        if (patient == null) {
+            throw new UncheckedIOException(new IOException(
+                    "Patient " + row.getNric() + " of an archived appointment is missing from " + filePath));
+        }
+        return row.toCsvAdaptedAppointment(patient);
+    }
+
+    /**
+     * Returns the appointments of {@code rows}, with the details of their patients.
+     *
+     * @throws IOException if a patient is not in the dictionary.
+     */
+    public List<CsvAdaptedAppointment> joinAll(List<CsvAdaptedAppointmentRow> rows) throws IOException {
+        List<CsvAdaptedAppointment> appointments = new ArrayList<>(rows.size());
+        try {
+            for (CsvAdaptedAppointmentRow row : rows) {
+                appointments.add(join(row));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return appointments;
+    }
+
+    private CsvAdaptedPatient getPatient(CsvAdaptedAppointmentRow row) {
+        List<CsvAdaptedPatient> versions = patientVersions.getOrDefault(row.getNric(), List.of());
+        Integer version = row.getPatientVersion();
+        if (version == null) {
+            return versions.isEmpty() ? null : versions.get(versions.size() - 1);
+        }
+        return version >= 1 && version <= versions.size() ? versions.get(version - 1) : null;
+    }
+
+    private void reload() throws DataConversionException {
+        Map<String, List<CsvAdaptedPatient>> versions = new HashMap<>();
+        for (CsvAdaptedPatient patient : CsvUtil.readCsvFile(filePath, CsvAdaptedPatient.class)) {
+            versions.computeIfAbsent(patient.getNric(), nric -> new ArrayList<>()).add(patient);
+        }
+        patientVersions.clear();
+        patientVersions.putAll(versions);
+    }
+}
@@ -0,0 +1,176 @@
+package seedu.address.storage.journal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import seedu.address.commons.exceptions.IllegalValueException;
+import seedu.address.model.EntityChange;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.patient.Patient;
+import seedu.address.storage.appointment.JsonAdaptedAppointment;
+import seedu.address.storage.patient.JsonAdaptedPatient;
+
+/**
+ * Jackson-friendly version of an {@link EntityChange} made to the patient book or the appointment book.
+ * Only the entities needed to redo the change are kept.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+class JsonAdaptedJournalEntry {
+
+    public static final String PATIENT_BOOK = "patients";
+    public static final String APPOINTMENT_BOOK = "appointments";
+    public static final String MESSAGE_INVALID_ENTRY = "Journal entry is missing or has invalid fields!";
+
+    private final String book;
+    private final String kind;
+    private final int index;
+    private final List<JsonAdaptedPatient> patientsBefore = new ArrayList<>();
+    private final List<JsonAdaptedPatient> patientsAfter = new ArrayList<>();
+    private final List<JsonAdaptedAppointment> appointmentsBefore = new ArrayList<>();
+    private final List<JsonAdaptedAppointment> appointmentsAfter = new ArrayList<>();
+
+    /**
+     * Constructs a {@code JsonAdaptedJournalEntry} with the given entry details.
+     */
+    @JsonCreator
+    public JsonAdaptedJournalEntry(@JsonProperty("book") String book, @JsonProperty("kind") String kind,
+                                   @JsonProperty("index") int index,
+                                   @JsonProperty("patientsBefore") List<JsonAdaptedPatient> patientsBefore,
+                                   @JsonProperty("patientsAfter") List<JsonAdaptedPatient> patientsAfter,
+                                   @JsonProperty("appointmentsBefore") List<JsonAdaptedAppointment> appointmentsBefore,
+                                   @JsonProperty("appointmentsAfter") List<JsonAdaptedAppointment> appointmentsAfter) {
+        this.book = book;
+        this.kind = kind;
+        this.index = index;
+        addAllIfPresent(this.patientsBefore, patientsBefore);
+        addAllIfPresent(this.patientsAfter, patientsAfter);
+        addAllIfPresent(this.appointmentsBefore, appointmentsBefore);
+        addAllIfPresent(this.appointmentsAfter, appointmentsAfter);
+    }
+
+    private JsonAdaptedJournalEntry(String book, EntityChange<?> change) {
+        this.book = book;
+        this.kind = change.getKind().name();
+        this.index = change.getIndex();
+    }
+
+    /**
+     * Converts a given patient book {@code EntityChange} into this class for Jackson use.
+     */
+    public static JsonAdaptedJournalEntry fromPatientChange(EntityChange<Patient> change) {
+        JsonAdaptedJournalEntry entry = new JsonAdaptedJournalEntry(PATIENT_BOOK, change);
+        entry.patientsBefore.addAll(adaptBefore(change, JsonAdaptedPatient::new));
+        entry.patientsAfter.addAll(adapt(change.getAfter(), JsonAdaptedPatient::new));
+        return entry;
+    }
+
+    /**
+     * Converts a given appointment book {@code EntityChange} into this class for Jackson use.
+     */
+    public static JsonAdaptedJournalEntry fromAppointmentChange(EntityChange<Appointment> change) {
+        JsonAdaptedJournalEntry entry = new JsonAdaptedJournalEntry(APPOINTMENT_BOOK, change);
+        entry.appointmentsBefore.addAll(adaptBefore(change, JsonAdaptedAppointment::new));
+        entry.appointmentsAfter.addAll(adapt(change.getAfter(), JsonAdaptedAppointment::new));
+        return entry;
+    }
+
+    public boolean isPatientBookEntry() {
+        return PATIENT_BOOK.equals(book);
+    }
+
+    public boolean isAppointmentBookEntry() {
+        return APPOINTMENT_BOOK.equals(book);
+    }
+
+    /**
+     * Converts this entry into the patient book {@code EntityChange} it was made from.
+     *
+     * @throws IllegalValueException if there were any data constraints violated in the entry.
+     */
+    public EntityChange<Patient> toPatientChange() throws IllegalValueException {
+        List<Patient> before = new ArrayList<>();
+        for (JsonAdaptedPatient patient : patientsBefore) {
+            before.add(patient.toModelType());
+        }
+        List<Patient> after = new ArrayList<>();
+        for (JsonAdaptedPatient patient : patientsAfter) {
+            after.add(patient.toModelType());
+        }
+        return toModelType(before, after);
+    }
+
+    /**
+     * Converts this entry into the appointment book {@code EntityChange} it was made from.
+     *
+     * @throws IllegalValueException if there were any data constraints violated in the entry.
+     */
+    public EntityChange<Appointment> toAppointmentChange() throws IllegalValueException {
+        List<Appointment> before = new ArrayList<>();
+        for (JsonAdaptedAppointment appointment : appointmentsBefore) {
+            before.add(appointment.toModelType());
+        }
+        List<Appointment> after = new ArrayList<>();
+        for (JsonAdaptedAppointment appointment : appointmentsAfter) {
+            after.add(appointment.toModelType());
+        }
+        return toModelType(before, after);
+    }
+
+    private <T> EntityChange<T> toModelType(List<T> before, List<T> after) throws IllegalValueException {
+        EntityChange.Kind modelKind;
+        try {
+            modelKind = EntityChange.Kind.valueOf(String.valueOf(kind));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalValueException(MESSAGE_INVALID_ENTRY);
+        }
+
+        switch (modelKind) {
+        case ADD:
+            checkSize(before, 0, after, 1);
+            return EntityChange.added(index, after.get(0));
+        case REMOVE:
+            checkSize(before, 1, after, 0);
+            return EntityChange.removed(index, before.get(0));
+        case REPLACE:
+            checkSize(before, 1, after, 1);
+            return EntityChange.replaced(before.get(0), after.get(0));
+        default:
+            return EntityChange.reset(Collections.emptyList(), after);
+        }
+    }
+
+    private static void checkSize(List<?> before, int expectedBefore, List<?> after, int expectedAfter)
+            throws IllegalValueException {
+        if (before.size() != expectedBefore || after.size() != expectedAfter) {
+            throw new IllegalValueException(MESSAGE_INVALID_ENTRY);
+        }
+    }
+
+    /**
+     * Returns the adapted entities removed or replaced by {@code change}.
+     * The entities replaced by a reset are not needed to redo it, so they are left out.
+     */
+    private static <T, R> List<R> adaptBefore(EntityChange<T> change, Function<T, R> adapter) {
+        if (change.getKind() == EntityChange.Kind.RESET) {
+            return Collections.emptyList();
+        }
+        return adapt(change.getBefore(), adapter);
+    }
+
+    private static <T, R> List<R> adapt(List<T> entities, Function<T, R> adapter) {
+        return entities.stream().map(adapter).collect(Collectors.toList());
+    }
+
+    private static <T> void addAllIfPresent(List<T> target, List<T> source) {
+        if (source != null) {
+            target.addAll(source);
+        }
+    }
+}
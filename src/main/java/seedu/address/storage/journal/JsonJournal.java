@@ -0,0 +1,292 @@
+package seedu.address.storage.journal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.commons.exceptions.IllegalValueException;
+import seedu.address.commons.util.FileUtil;
+import seedu.address.commons.util.JsonUtil;
+import seedu.address.model.AppointmentBook;
+import seedu.address.model.EntityChange;
+import seedu.address.model.PatientBook;
+import seedu.address.model.ReadOnlyAppointmentBook;
+import seedu.address.model.ReadOnlyPatientBook;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.patient.Nric;
+import seedu.address.model.patient.Patient;
+
+/**
+ * An append-only journal of the changes made to the patient book and the appointment book since they were last
+ * saved in full, stored as one json object per line on the hard disk.
+ * <p>
+ * Replaying the journal matches patients by NRIC and appointments by their start, so replaying it onto a snapshot
+ * that already contains some of its changes gives the same books as replaying it onto the snapshot it was written
+ * against.
+ */
+public class JsonJournal {
+
+    private static final Logger logger = LogsCenter.getLogger(JsonJournal.class);
+
+    private final Path filePath;
+    private int entryCount;
+
+    /**
+     * @param filePath the file path for the journal.
+     */
+    public JsonJournal(Path filePath) {
+        requireNonNull(filePath);
+        this.filePath = filePath;
+    }
+
+    public Path getJournalFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Returns true if the journal file exists on the hard disk.
+     */
+    public boolean exists() {
+        return FileUtil.isFileExists(filePath);
+    }
+
+    /**
+     * Returns the number of changes in the journal that were written or read by this instance.
+     */
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Appends the given changes to the end of the journal in a single write, which is forced to the disk before
+     * this method returns, so that the changes survive a crash of the system.
+     */
+    public void append(List<EntityChange<Patient>> patientChanges,
+                       List<EntityChange<Appointment>> appointmentChanges) throws IOException {
+        requireNonNull(patientChanges);
+        requireNonNull(appointmentChanges);
+        if (patientChanges.isEmpty() && appointmentChanges.isEmpty()) {
+            return;
+        }
+
+        StringBuilder lines = new StringBuilder();
+        for (EntityChange<Patient> change : patientChanges) {
+            lines.append(JsonUtil.toCompactJsonString(JsonAdaptedJournalEntry.fromPatientChange(change)))
+                    .append(System.lineSeparator());
+        }
+        for (EntityChange<Appointment> change : appointmentChanges) {
+            lines.append(JsonUtil.toCompactJsonString(JsonAdaptedJournalEntry.fromAppointmentChange(change)))
+                    .append(System.lineSeparator());
+        }
+
+        FileUtil.createParentDirsOfFile(filePath);
+        FileUtil.appendToFileDurably(filePath, lines.toString());
+        entryCount += patientChanges.size() + appointmentChanges.size();
+    }
+
+    /**
+     * Deletes the journal, once the books it applies to have been saved in full.
+     */
+    public void clear() throws IOException {
+        Files.deleteIfExists(filePath);
+        entryCount = 0;
+    }
+
+    /**
+     * Returns a copy of {@code snapshot} with the patient book changes in the journal replayed onto it.
+     *
+     * @throws DataConversionException if the journal could not be read.
+     */
+    public ReadOnlyPatientBook replayPatientBook(ReadOnlyPatientBook snapshot) throws DataConversionException {
+        requireNonNull(snapshot);
+        PatientReplayEditor editor = new PatientReplayEditor(snapshot.getPatientList());
+        readEntries(entry -> {
+            if (!entry.isPatientBookEntry()) {
+                return true;
+            }
+            try {
+                entry.toPatientChange().applyTo(editor);
+                return true;
+            } catch (IllegalValueException e) {
+                logger.warning("Illegal patient change in journal " + filePath + ", ignoring the rest: " + e);
+                return false;
+            }
+        });
+
+        PatientBook patientBook = new PatientBook();
+        patientBook.setPatients(new ArrayList<>(editor.patients.values()));
+        return patientBook;
+    }
+
+    /**
+     * Returns a copy of {@code snapshot} with the appointment book changes in the journal replayed onto it.
+     * Replayed appointments that overlap with an earlier appointment are discarded.
+     *
+     * @throws DataConversionException if the journal could not be read.
+     */
+    public ReadOnlyAppointmentBook replayAppointmentBook(ReadOnlyAppointmentBook snapshot)
+            throws DataConversionException {
+        requireNonNull(snapshot);
+        AppointmentReplayEditor editor = new AppointmentReplayEditor(snapshot.getAppointmentList());
+        readEntries(entry -> {
+            if (!entry.isAppointmentBookEntry()) {
+                return true;
+            }
+            try {
+                entry.toAppointmentChange().applyTo(editor);
+                return true;
+            } catch (IllegalValueException e) {
+                logger.warning("Illegal appointment change in journal " + filePath + ", ignoring the rest: " + e);
+                return false;
+            }
+        });
+
+        AppointmentBook appointmentBook = new AppointmentBook();
+        List<Appointment> discardedAppointments =
+                appointmentBook.setAppointmentsDiscardingOverlaps(new ArrayList<>(editor.appointments.values()));
+        if (!discardedAppointments.isEmpty()) {
+            logger.warning("Discarded overlapping appointments replayed from journal: " + discardedAppointments);
+        }
+        return appointmentBook;
+    }
+
+    /**
+     * Reads the entries in the journal one line at a time, up to the first line that cannot be parsed, which is left
+     * behind if the application stopped in the middle of an append.
+     * Each entry is passed to {@code handler} until it returns false, after which the rest are only counted.
+     */
+    private void readEntries(Predicate<JsonAdaptedJournalEntry> handler) throws DataConversionException {
+        int count = 0;
+        if (!exists()) {
+            entryCount = count;
+            return;
+        }
+
+        boolean isHandling = true;
+        try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonAdaptedJournalEntry entry;
+                try {
+                    entry = JsonUtil.fromJsonString(line, JsonAdaptedJournalEntry.class);
+                } catch (IOException e) {
+                    logger.warning("Unreadable entry in journal " + filePath + ", ignoring the rest: " + e);
+                    break;
+                }
+                count++;
+                isHandling = isHandling && handler.test(entry);
+            }
+        } catch (IOException e) {
+            throw new DataConversionException(e);
+        }
+        entryCount = count;
+    }
+
+    /**
+     * Replays patient book changes onto a map of patients in the order they were added, matching patients by NRIC.
+     */
+    private static class PatientReplayEditor implements EntityChange.Editor<Patient> {
+        private final Map<Nric, Patient> patients = new LinkedHashMap<>();
+
+        PatientReplayEditor(List<Patient> patients) {
+            setAll(patients);
+        }
+
+        @Override
+        public boolean add(int index, Patient patient) {
+            remove(patient);
+            if (index < 0 || index >= patients.size()) {
+                patients.put(patient.getNric(), patient);
+            } else {
+                // only undoing a removal adds a patient before the end, so the map is rarely rebuilt
+                List<Patient> reorderedPatients = new ArrayList<>(patients.values());
+                reorderedPatients.add(index, patient);
+                setAll(reorderedPatients);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean remove(Patient patient) {
+            return patients.remove(patient.getNric()) != null;
+        }
+
+        @Override
+        public boolean set(Patient target, Patient edited) {
+            if (target.getNric().equals(edited.getNric()) || !patients.containsKey(target.getNric())) {
+                // the edited patient keeps its place if the snapshot already holds it
+                patients.put(edited.getNric(), edited);
+                return true;
+            }
+
+            remove(edited);
+            setAll(patients.values().stream()
+                    .map(patient -> patient.getNric().equals(target.getNric()) ? edited : patient)
+                    .collect(Collectors.toList()));
+            return true;
+        }
+
+        @Override
+        public List<Patient> setAll(List<Patient> entities) {
+            patients.clear();
+            entities.forEach(patient -> patients.put(patient.getNric(), patient));
+            return entities;
+        }
+    }
+
+    /**
+     * Replays appointment book changes onto a map of appointments, matching appointments by their start.
+     */
+    private static class AppointmentReplayEditor implements EntityChange.Editor<Appointment> {
+        private final Map<LocalDateTime, Appointment> appointments = new LinkedHashMap<>();
+
+        AppointmentReplayEditor(List<Appointment> appointments) {
+            setAll(appointments);
+        }
+
+        @Override
+        public boolean add(int index, Appointment appointment) {
+            appointments.put(startOf(appointment), appointment);
+            return true;
+        }
+
+        @Override
+        public boolean remove(Appointment appointment) {
+            return appointments.remove(startOf(appointment)) != null;
+        }
+
+        @Override
+        public boolean set(Appointment target, Appointment edited) {
+            remove(target);
+            return add(EntityChange.NO_INDEX, edited);
+        }
+
+        @Override
+        public List<Appointment> setAll(List<Appointment> entities) {
+            appointments.clear();
+            entities.forEach(appointment -> add(EntityChange.NO_INDEX, appointment));
+            return entities;
+        }
+
+        private static LocalDateTime startOf(Appointment appointment) {
+            return LocalDateTime.of(appointment.getDate().getDate(), appointment.getStartTime().getTime());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package seedu.address.storage.patient;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.model.ReadOnlyPatientBook;
+import seedu.address.model.patient.Patient;
+import seedu.address.model.tag.Tag;
+import seedu.address.storage.BinarySnapshot;
+import seedu.address.storage.StorageStatsManager;
+
+/**
+ * A class to access PatientBook data stored as a json file on the hard disk, together with a {@link BinarySnapshot}
+ * of the same data next to it.
+ * The snapshot is read instead of the json file, unless it is missing, was not written from the json file as it is
+ * now, or is unreadable.
+ */
+public class BinaryPatientBookStorage extends JsonPatientBookStorage {
+
+    private static final Logger logger = LogsCenter.getLogger(BinaryPatientBookStorage.class);
+    private static final byte RECORD_KIND = 'P';
+
+    /**
+     * @param filePath the filePath for the patient storage.
+     * @param statsManager the statistics handler for storage.
+     */
+    public BinaryPatientBookStorage(Path filePath, StorageStatsManager statsManager) {
+        super(filePath, statsManager);
+    }
+
+    @Override
+    public Optional<ReadOnlyPatientBook> readPatientBook(Path filePath) throws DataConversionException {
+        requireNonNull(filePath);
+
+        Path snapshotFilePath = BinarySnapshot.getSnapshotFilePath(filePath);
+        if (BinarySnapshot.isUpToDate(snapshotFilePath, filePath)) {
+            try {
+                return Optional.of(readSnapshot(snapshotFilePath));
+            } catch (IOException ioe) {
+                logger.warning("Failed to read patient snapshot, reading " + filePath + " instead: " + ioe);
+            }
+        }
+        return super.readPatientBook(filePath);
+    }
+
+    @Override
+    public void savePatientBook(ReadOnlyPatientBook patientBook, Path filePath) throws IOException {
+        super.savePatientBook(patientBook, filePath);
+        writeSnapshot(patientBook, BinarySnapshot.getSnapshotFilePath(filePath), filePath);
+    }
+
+    private ReadOnlyPatientBook readSnapshot(Path snapshotFilePath) throws IOException {
+        BinarySnapshot.Reader reader = new BinarySnapshot.Reader(snapshotFilePath, RECORD_KIND);
+        JsonSerializablePatientBook.PatientCollector collector = new JsonSerializablePatientBook.PatientCollector();
+
+        while (reader.nextRecord()) {
+            String name = reader.readString();
+            String phone = reader.readString();
+            String address = reader.readString();
+            String nric = reader.readString();
+            String remark = reader.readString();
+            int tagCount = reader.readInt();
+            List<JsonAdaptedTag> tags = new ArrayList<>();
+            for (int i = 0; i < tagCount; i++) {
+                tags.add(new JsonAdaptedTag(reader.readString()));
+            }
+            collector.add(new JsonAdaptedPatient(name, phone, address, tags, nric, remark));
+        }
+        return collector.build(getStatsManager());
+    }
+
+    private static void writeSnapshot(ReadOnlyPatientBook patientBook, Path snapshotFilePath, Path filePath)
+            throws IOException {
+        BinarySnapshot.Writer writer = new BinarySnapshot.Writer(RECORD_KIND);
+        for (Patient patient : patientBook.getPatientList()) {
+            writer.writeString(patient.getName().fullName);
+            writer.writeString(patient.getPhone().value);
+            writer.writeString(patient.getAddress().value);
+            writer.writeString(patient.getNric().value);
+            writer.writeString(patient.getRemark().value);
+            writer.writeInt(patient.getTags().size());
+            for (Tag tag : patient.getTags()) {
+                writer.writeString(tag.tagName);
+            }
+            writer.endRecord();
+        }
+        writer.writeTo(snapshotFilePath, filePath);
+    }
+
+}
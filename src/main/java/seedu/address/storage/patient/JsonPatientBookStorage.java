@@ -51,13 +51,7 @@ public class JsonPatientBookStorage implements PatientBookStorage {
     public Optional<ReadOnlyPatientBook> readPatientBook(Path filePath) throws DataConversionException {
         requireNonNull(filePath);
 
-        Optional<JsonSerializablePatientBook> jsonPatientBook = JsonUtil.readJsonFile(
-                filePath, JsonSerializablePatientBook.class);
-        if (jsonPatientBook.isEmpty()) {
-            return Optional.empty();
-        }
-
-        return jsonPatientBook.map(book -> book.toModelType(statsManager));
+        return JsonSerializablePatientBook.readModelType(filePath, statsManager);
     }
 
     @Override
@@ -74,7 +68,6 @@ public class JsonPatientBookStorage implements PatientBookStorage {
         requireNonNull(patientBook);
         requireNonNull(filePath);
 
-        FileUtil.createIfMissing(filePath);
         JsonUtil.saveJsonFile(new JsonSerializablePatientBook(patientBook), filePath);
     }
 
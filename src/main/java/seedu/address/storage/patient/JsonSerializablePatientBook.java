@@ -1,7 +1,9 @@
 package seedu.address.storage.patient;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -10,7 +12,9 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonRootName;
 
 import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.exceptions.DataConversionException;
 import seedu.address.commons.exceptions.IllegalValueException;
+import seedu.address.commons.util.JsonUtil;
 import seedu.address.model.PatientBook;
 import seedu.address.model.ReadOnlyPatientBook;
 import seedu.address.model.patient.Patient;
@@ -49,32 +53,60 @@ class JsonSerializablePatientBook {
      * Converts this patient book into the model's {@code PatientBook} object.
      */
     public PatientBook toModelType(StorageStatsManager statsManager) {
-        PatientBook patientBook = new PatientBook();
-        int nDataViolations = 0;
+        PatientCollector collector = new PatientCollector();
+        patients.forEach(collector::add);
+        return collector.build(statsManager);
+    }
+
+    /**
+     * Reads the patient book in the given file into the model's {@code PatientBook} object, converting each
+     * patient as soon as it is read instead of binding the whole file first.
+     * Returns {@code Optional.empty()} if the file is not found.
+     *
+     * @throws DataConversionException if the file is not in the correct format.
+     */
+    public static Optional<ReadOnlyPatientBook> readModelType(Path filePath, StorageStatsManager statsManager)
+            throws DataConversionException {
+        PatientCollector collector = new PatientCollector();
+        if (!JsonUtil.readJsonArrayFile(filePath, "patients", JsonAdaptedPatient.class, collector::add)) {
+            return Optional.empty();
+        }
+        return Optional.of(collector.build(statsManager));
+    }
+
+    /**
+     * Converts adapted patients one at a time and adds them to a {@code PatientBook}.
+     */
+    static class PatientCollector {
+        private final PatientBook patientBook = new PatientBook();
+        private int nDataViolations = 0;
 
-        for (JsonAdaptedPatient jsonAdaptedPatient : patients) {
+        void add(JsonAdaptedPatient jsonAdaptedPatient) {
             Patient patient;
             try {
                 patient = jsonAdaptedPatient.toModelType();
             } catch (IllegalValueException ive) {
                 logger.info("Data constraints violated: " + ive.getMessage());
                 nDataViolations++;
-                continue;
+                return;
             }
 
             if (patientBook.hasPatient(patient)) {
                 logger.info(MESSAGE_DUPLICATE_PATIENT);
                 nDataViolations++;
-                continue;
+                return;
             }
 
             patientBook.addPatient(patient);
         }
-        if (nDataViolations > 0) {
-            logger.warning("Failed to read " + nDataViolations + " patient data!");
-            statsManager.setRemovedPatientCount(nDataViolations);
+
+        PatientBook build(StorageStatsManager statsManager) {
+            if (nDataViolations > 0) {
+                logger.warning("Failed to read " + nDataViolations + " patient data!");
+                statsManager.setRemovedPatientCount(nDataViolations);
+            }
+            return patientBook;
         }
-        return patientBook;
     }
 
 }
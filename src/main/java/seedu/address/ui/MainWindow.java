@@ -6,6 +6,7 @@ import java.util.logging.Logger;
 
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
@@ -149,6 +150,8 @@ public class MainWindow extends UiPart<Stage> {
         resultDisplay = new ResultDisplay();
         resultDisplayPlaceholder.getChildren().add(resultDisplay.getRoot());
         resultDisplay.setFeedbackToUser(logic.getStorageStatus());
+        logic.setSaveFailureHandler(message ->
+                Platform.runLater(() -> resultDisplay.setFeedbackToUser(message + "\n")));
 
         StatusBarFooter patientStatusBarFooter = new StatusBarFooter(logic.getPatientBookFilePath());
         patientStatusbarPlaceholder.getChildren().add(patientStatusBarFooter.getRoot());
@@ -162,6 +165,11 @@ public class MainWindow extends UiPart<Stage> {
         initClock();
 
         setSplitViewPosition(logic.getGuiSettings());
+
+        logic.archivePastAppointments(Platform::runLater, status -> {
+            appointmentStatusBarFooter.setArchiveStatus(status);
+            statisticsDisplay.setStatistics(logic.getAppointmentBook().getAppointmentBookStatistics().toString());
+        });
     }
 
     // @@author JinHao-L-reused
@@ -17,6 +17,9 @@ public class StatusBarFooter extends UiPart<Region> {
     @FXML
     private Label saveLocationStatus;
 
+    @FXML
+    private Label archiveStatus;
+
     /**
      * Creates a {@code StatusBarFooter} with the given {@code Path}.
      */
@@ -25,4 +28,11 @@ public class StatusBarFooter extends UiPart<Region> {
         saveLocationStatus.setText(Paths.get(".").resolve(saveLocation).toString());
     }
 
+    /**
+     * Shows {@code status} as the status of the archival of past appointments.
+     */
+    public void setArchiveStatus(String status) {
+        archiveStatus.setText(status);
+    }
+
 }
@@ -6,7 +6,10 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static seedu.address.testutil.Assert.assertThrows;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -67,6 +70,19 @@ public class FileUtilTest {
         assertEquals(FileUtil.readFromFile(filePath), line1 + line2);
     }
 
+    @Test
+    public void appendToFileDurably() throws IOException {
+        Path filePath = getTempFilePath("appendDurablyTest");
+
+        String line1 = "line 1\n";
+        FileUtil.appendToFileDurably(filePath, line1);
+        assertEquals(FileUtil.readFromFile(filePath), line1);
+
+        String line2 = "line 2";
+        FileUtil.appendToFileDurably(filePath, line2);
+        assertEquals(FileUtil.readFromFile(filePath), line1 + line2);
+    }
+
     @Test
     public void copyFile() throws IOException {
         Path originalFilePath = getTempFilePath("originalFile");
@@ -96,4 +112,49 @@ public class FileUtilTest {
 
         assertEquals(FileUtil.readFromFile(originalFilePath), FileUtil.readFromFile(backupFilePath));
     }
+
+    @Test
+    public void writeToFileAtomically() throws IOException {
+        Path filePath = getTempFilePath("missingFolder/atomicFile");
+        FileUtil.writeToFileAtomically(filePath, "old text");
+        FileUtil.writeToFileAtomically(filePath, "new text");
+        assertEquals("new text", FileUtil.readFromFile(filePath));
+
+        // no temporary files are left behind
+        try (Stream<Path> files = Files.list(filePath.getParent())) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void backupFile_multipleGenerations_rotatesBackups() throws IOException {
+        Path originalFilePath = getTempFilePath("originalFile");
+        FileUtil.writeToFile(originalFilePath, "first");
+        Files.setLastModifiedTime(originalFilePath, FileTime.fromMillis(1000));
+        FileUtil.backupFileToFolder(originalFilePath, "backup", 2);
+
+        FileUtil.writeToFile(originalFilePath, "second");
+        Files.setLastModifiedTime(originalFilePath, FileTime.fromMillis(2000));
+        FileUtil.backupFileToFolder(originalFilePath, "backup", 2);
+
+        FileUtil.writeToFile(originalFilePath, "third");
+        Files.setLastModifiedTime(originalFilePath, FileTime.fromMillis(3000));
+        FileUtil.backupFileToFolder(originalFilePath, "backup", 2);
+
+        assertEquals("third", FileUtil.readFromFile(getTempFilePath("backup/originalFile")));
+        assertEquals("second", FileUtil.readFromFile(getTempFilePath("backup.2/originalFile")));
+        assertFalse(FileUtil.isFileExists(getTempFilePath("backup.3/originalFile")));
+    }
+
+    @Test
+    public void backupFile_unchangedFile_keepsOlderBackups() throws IOException {
+        Path originalFilePath = getTempFilePath("originalFile");
+        FileUtil.writeToFile(originalFilePath, "first");
+        Files.setLastModifiedTime(originalFilePath, FileTime.fromMillis(1000));
+        FileUtil.backupFileToFolder(originalFilePath, "backup", 2);
+        FileUtil.backupFileToFolder(originalFilePath, "backup", 2);
+
+        assertEquals("first", FileUtil.readFromFile(getTempFilePath("backup/originalFile")));
+        assertFalse(FileUtil.isFileExists(getTempFilePath("backup.2/originalFile")));
+    }
 }
@@ -1,12 +1,18 @@
 package seedu.address.commons.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static seedu.address.testutil.Assert.assertThrows;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import seedu.address.commons.exceptions.DataConversionException;
 import seedu.address.testutil.SerializableJsonTestClass;
 import seedu.address.testutil.TestUtil;
 
@@ -39,6 +45,31 @@ public class JsonUtilTest {
         assertEquals(serializableTestClass.getMapOfIntegerToString(), SerializableJsonTestClass.getHashMapTestValues());
     }
 
+    @Test
+    public void readJsonArrayFile_validFile_readsElementsInOrder() throws Exception {
+        FileUtil.writeToFile(SERIALIZATION_FILE, "{ \"skipped\" : { \"values\" : [ 9 ] }, "
+                + "\"values\" : [ 1, 2, 3 ], \"other\" : [ 4 ] }");
+
+        List<Integer> values = new ArrayList<>();
+        assertTrue(JsonUtil.readJsonArrayFile(SERIALIZATION_FILE, "values", Integer.class, values::add));
+        assertEquals(List.of(1, 2, 3), values);
+    }
+
+    @Test
+    public void readJsonArrayFile_missingFile_returnsFalse() throws Exception {
+        List<Integer> values = new ArrayList<>();
+        assertFalse(JsonUtil.readJsonArrayFile(TestUtil.getFilePathInSandboxFolder("missing.json"), "values",
+                Integer.class, values::add));
+        assertTrue(values.isEmpty());
+    }
+
+    @Test
+    public void readJsonArrayFile_truncatedFile_throwsDataConversionException() throws Exception {
+        FileUtil.writeToFile(SERIALIZATION_FILE, "{ \"values\" : [ 1, 2");
+        assertThrows(DataConversionException.class, () ->
+                JsonUtil.readJsonArrayFile(SERIALIZATION_FILE, "values", Integer.class, value -> {}));
+    }
+
     //TODO: @Test jsonUtil_readJsonStringToObjectInstance_correctObject()
 
     //TODO: @Test jsonUtil_writeThenReadObjectToJson_correctObject()
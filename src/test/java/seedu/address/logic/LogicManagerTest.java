@@ -12,6 +12,10 @@ import static seedu.address.testutil.TypicalPatients.AMY;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,6 +24,7 @@ import org.junit.jupiter.api.io.TempDir;
 import seedu.address.commons.core.GuiSettings;
 import seedu.address.logic.commands.AddCommand;
 import seedu.address.logic.commands.CommandResult;
+import seedu.address.logic.commands.HistoryCommand;
 import seedu.address.logic.commands.ListCommand;
 import seedu.address.logic.commands.exceptions.CommandException;
 import seedu.address.logic.parser.exceptions.ParseException;
@@ -27,12 +32,14 @@ import seedu.address.model.Model;
 import seedu.address.model.ModelManager;
 import seedu.address.model.ReadOnlyPatientBook;
 import seedu.address.model.UserPrefs;
+import seedu.address.model.appointment.Appointment;
 import seedu.address.model.patient.Patient;
 import seedu.address.storage.JsonUserPrefsStorage;
 import seedu.address.storage.StorageManager;
 import seedu.address.storage.StorageStatsManager;
 import seedu.address.storage.appointment.JsonAppointmentBookStorage;
 import seedu.address.storage.patient.JsonPatientBookStorage;
+import seedu.address.testutil.AppointmentBuilder;
 import seedu.address.testutil.PatientBuilder;
 
 public class LogicManagerTest {
@@ -76,6 +83,12 @@ public class LogicManagerTest {
         assertCommandSuccess(listCommand, ListCommand.MESSAGE_SUCCESS, model);
     }
 
+    @Test
+    public void execute_historyCommand_readsArchive() throws Exception {
+        String historyCommand = HistoryCommand.COMMAND_WORD + NRIC_DESC_AMY;
+        assertCommandSuccess(historyCommand, String.format(HistoryCommand.MESSAGE_SUCCESS, 0, ""), model);
+    }
+
     @Test
     public void execute_storageThrowsIoException_throwsCommandException() {
         // Setup LogicManager with JsonPatientBookIoExceptionThrowingStub
@@ -106,6 +119,57 @@ public class LogicManagerTest {
         assertCommandFailure(addCommand, CommandException.class, expectedMessage, expectedModel);
     }
 
+    @Test
+    public void archivePastAppointments_pastAndUpcomingAppointments_pastAppointmentRemoved() throws Exception {
+        Patient patient = new PatientBuilder(AMY).build();
+        Appointment pastAppointment = new AppointmentBuilder().withPatient(patient)
+                .withDate(LocalDate.now().minusDays(1)).build();
+        Appointment upcomingAppointment = new AppointmentBuilder().withPatient(patient)
+                .withDate(LocalDate.now().plusDays(1)).build();
+        model.addPatient(patient);
+        model.addAppointment(pastAppointment);
+        model.addAppointment(upcomingAppointment);
+        model.commitPatientBook();
+        model.commitAppointmentBook();
+
+        List<String> statuses = new ArrayList<>();
+        logic.archivePastAppointments(Runnable::run, statuses::add).get();
+        assertEquals(List.of(upcomingAppointment), model.getAppointmentBook().getAppointmentList());
+        assertEquals(List.of(StorageStatsManager.MESSAGE_ARCHIVE_IN_PROGRESS,
+                "1 appointment archived, of which 1 is not done."), statuses);
+
+        // undoing does not bring the archived appointment back
+        model.undoAppointmentBook();
+        assertEquals(List.of(), model.getAppointmentBook().getAppointmentList());
+    }
+
+    @Test
+    public void execute_pastAppointmentsOverArchiveThreshold_archivalStarted() throws Exception {
+        UserPrefs userPrefs = new UserPrefs();
+        userPrefs.setArchiveThreshold(2);
+        model.setUserPrefs(userPrefs);
+        List<String> statuses = Collections.synchronizedList(new ArrayList<>());
+        logic.archivePastAppointments(Runnable::run, statuses::add).get();
+        assertEquals(2, statuses.size());
+
+        Patient patient = new PatientBuilder(AMY).build();
+        model.addPatient(patient);
+        for (int daysAgo = 1; daysAgo <= 2; daysAgo++) {
+            model.addAppointment(new AppointmentBuilder().withPatient(patient)
+                    .withDate(LocalDate.now().minusDays(daysAgo)).build());
+        }
+
+        // threshold not exceeded -> archival not started
+        logic.execute(ListCommand.COMMAND_WORD);
+        assertEquals(2, statuses.size());
+
+        // threshold exceeded -> archival started
+        model.addAppointment(new AppointmentBuilder().withPatient(patient)
+                .withDate(LocalDate.now().minusDays(3)).build());
+        logic.execute(ListCommand.COMMAND_WORD);
+        assertEquals(StorageStatsManager.MESSAGE_ARCHIVE_IN_PROGRESS, statuses.get(2));
+    }
+
     @Test
     public void getFilteredPatientList_modifyList_throwsUnsupportedOperationException() {
         assertThrows(UnsupportedOperationException.class, () -> logic.getFilteredPatientList().remove(0));
@@ -9,7 +9,9 @@ import static seedu.address.testutil.Assert.assertThrows;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Predicate;
 
 import org.junit.jupiter.api.Test;
@@ -19,12 +21,15 @@ import javafx.collections.transformation.FilteredList;
 import seedu.address.commons.core.GuiSettings;
 import seedu.address.logic.commands.exceptions.CommandException;
 import seedu.address.model.AppointmentBook;
+import seedu.address.model.EntityChange;
+import seedu.address.model.HistoryFootprint;
 import seedu.address.model.Model;
 import seedu.address.model.PatientBook;
 import seedu.address.model.ReadOnlyAppointmentBook;
 import seedu.address.model.ReadOnlyPatientBook;
 import seedu.address.model.ReadOnlyUserPrefs;
 import seedu.address.model.appointment.Appointment;
+import seedu.address.model.patient.Nric;
 import seedu.address.model.patient.Patient;
 import seedu.address.testutil.PatientBuilder;
 
@@ -159,6 +164,11 @@ public class AddCommandTest {
             throw new AssertionError("This method should not be called.");
         }
 
+        @Override
+        public Optional<Patient> getPatientByNric(Nric nric) {
+            throw new AssertionError("This method should not be called.");
+        }
+
         @Override
         public boolean hasOverlappingAppointment(Appointment appointment) {
             throw new AssertionError("This method should not be called.");
@@ -203,6 +213,11 @@ public class AddCommandTest {
             throw new AssertionError("This method should not be called.");
         }
 
+        @Override
+        public void removeArchivedAppointments(Collection<Appointment> archivedAppointments) {
+            throw new AssertionError("This method should not be called.");
+        }
+
         @Override
         public ObservableList<Patient> getFilteredPatientList() {
             throw new AssertionError("This method should not be called.");
@@ -290,6 +305,26 @@ public class AddCommandTest {
         public void commitPatientBook() {
             throw new AssertionError("This method should not be called.");
         }
+
+        @Override
+        public List<EntityChange<Patient>> takeUnsavedPatientBookChanges() {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public List<EntityChange<Appointment>> takeUnsavedAppointmentBookChanges() {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public HistoryFootprint getPatientBookHistoryFootprint() {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public HistoryFootprint getAppointmentBookHistoryFootprint() {
+            throw new AssertionError("This method should not be called.");
+        }
     }
 
     /**
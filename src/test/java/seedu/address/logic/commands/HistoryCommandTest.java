@@ -0,0 +1,91 @@
+package seedu.address.logic.commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static seedu.address.logic.commands.CommandTestUtil.VALID_NRIC_AMY;
+import static seedu.address.logic.commands.CommandTestUtil.VALID_NRIC_BOB;
+import static seedu.address.logic.commands.CommandTestUtil.assertCommandFailure;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import seedu.address.commons.util.FileUtil;
+import seedu.address.logic.commands.exceptions.CommandException;
+import seedu.address.model.Model;
+import seedu.address.model.ModelManager;
+import seedu.address.model.patient.Nric;
+import seedu.address.storage.StorageStatsManager;
+import seedu.address.storage.archive.CsvAppointmentArchive;
+
+public class HistoryCommandTest {
+
+    private static final LocalDate FIRST_DATE = LocalDate.of(2010, 5, 1);
+    private static final LocalDate SECOND_DATE = LocalDate.of(2010, 5, 31);
+
+    @TempDir
+    public Path testFolder;
+
+    private final Model model = new ModelManager();
+    private final Model expectedModel = new ModelManager();
+    private final ArchivedAppointmentFinder archive = (nric, startDate, endDate) ->
+            new CsvAppointmentArchive(testFolder, new StorageStatsManager()).findAppointments(nric, startDate, endDate);
+
+    @Test
+    public void execute_noArchive_noAppointmentsListed() throws Exception {
+        String expectedMessage = String.format(HistoryCommand.MESSAGE_SUCCESS, 0, "");
+        assertHistorySuccess(new HistoryCommand(new Nric(VALID_NRIC_AMY), LocalDate.MIN, LocalDate.MAX),
+                expectedMessage);
+    }
+
+    @Test
+    public void execute_withoutArchive_throwsCommandException() {
+        assertCommandFailure(new HistoryCommand(new Nric(VALID_NRIC_AMY), LocalDate.MIN, LocalDate.MAX), model,
+                HistoryCommand.MESSAGE_ARCHIVE_UNAVAILABLE);
+    }
+
+    @Test
+    public void execute_noMatchingAppointments_noAppointmentsListed() throws Exception {
+        FileUtil.writeToFile(testFolder.resolve("2010_MAY.csv"),
+                "date,startTime,endTime,isDone,name,nric,phone,address,remark\n"
+                + "2010-05-05,09:00,10:00,false,\"Alice Pauline\",S1234567I,94351253,\"Jurong\",\"\"\n");
+
+        String expectedMessage = String.format(HistoryCommand.MESSAGE_SUCCESS, 0, "");
+        assertHistorySuccess(new HistoryCommand(new Nric(VALID_NRIC_AMY), LocalDate.MIN, LocalDate.MAX),
+                expectedMessage);
+        assertHistorySuccess(new HistoryCommand(null, LocalDate.of(2010, 6, 1), LocalDate.MAX), expectedMessage);
+    }
+
+    @Test
+    public void equals() {
+        HistoryCommand amyCommand = new HistoryCommand(new Nric(VALID_NRIC_AMY), FIRST_DATE, SECOND_DATE);
+
+        // same object -> returns true
+        assertTrue(amyCommand.equals(amyCommand));
+
+        // same values -> returns true
+        assertTrue(amyCommand.equals(new HistoryCommand(new Nric(VALID_NRIC_AMY), FIRST_DATE, SECOND_DATE)));
+
+        // different types -> returns false
+        assertFalse(amyCommand.equals(1));
+
+        // null -> returns false
+        assertFalse(amyCommand.equals(null));
+
+        // different nric -> returns false
+        assertFalse(amyCommand.equals(new HistoryCommand(new Nric(VALID_NRIC_BOB), FIRST_DATE, SECOND_DATE)));
+        assertFalse(amyCommand.equals(new HistoryCommand(null, FIRST_DATE, SECOND_DATE)));
+
+        // different dates -> returns false
+        assertFalse(amyCommand.equals(new HistoryCommand(new Nric(VALID_NRIC_AMY), FIRST_DATE, FIRST_DATE)));
+        assertFalse(amyCommand.equals(new HistoryCommand(new Nric(VALID_NRIC_AMY), SECOND_DATE, SECOND_DATE)));
+    }
+
+    private void assertHistorySuccess(HistoryCommand command, String expectedMessage) throws CommandException {
+        assertEquals(new CommandResult(expectedMessage), command.execute(model, archive));
+        assertEquals(expectedModel, model);
+    }
+}
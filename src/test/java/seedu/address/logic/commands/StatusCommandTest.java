@@ -0,0 +1,36 @@
+package seedu.address.logic.commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static seedu.address.logic.commands.CommandTestUtil.assertCommandSuccess;
+import static seedu.address.testutil.TypicalAppointments.getTypicalAppointmentBook;
+import static seedu.address.testutil.TypicalPatients.getTypicalPatientBook;
+
+import org.junit.jupiter.api.Test;
+
+import seedu.address.model.Model;
+import seedu.address.model.ModelManager;
+import seedu.address.model.UserPrefs;
+
+public class StatusCommandTest {
+
+    private final Model model = new ModelManager(getTypicalPatientBook(), getTypicalAppointmentBook(),
+            new UserPrefs());
+    private final Model expectedModel = new ModelManager(getTypicalPatientBook(), getTypicalAppointmentBook(),
+            new UserPrefs());
+
+    @Test
+    public void execute_emptyHistory_showsEmptyFootprint() {
+        String expectedMessage = String.format(StatusCommand.MESSAGE_SUCCESS,
+                StatusCommand.formatFootprint("Patients", model.getPatientBookHistoryFootprint()),
+                StatusCommand.formatFootprint("Appointments", model.getAppointmentBookHistoryFootprint()));
+        assertCommandSuccess(new StatusCommand(), model, expectedMessage, expectedModel);
+    }
+
+    @Test
+    public void formatFootprint_emptyHistory_showsBudget() {
+        String expected = String.format(StatusCommand.MESSAGE_FOOTPRINT, "Patients", 0,
+                UserPrefs.DEFAULT_HISTORY_MEMORY_BUDGET, 0, 0, 0L);
+        assertEquals(expected,
+                StatusCommand.formatFootprint("Patients", model.getPatientBookHistoryFootprint()));
+    }
+}
@@ -0,0 +1,72 @@
+package seedu.address.logic.parser;
+
+import static seedu.address.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static seedu.address.logic.commands.CommandTestUtil.ASSIGN_DATE;
+import static seedu.address.logic.commands.CommandTestUtil.INVALID_DATE_DESC;
+import static seedu.address.logic.commands.CommandTestUtil.INVALID_NRIC_DESC;
+import static seedu.address.logic.commands.CommandTestUtil.NRIC_DESC_AMY;
+import static seedu.address.logic.commands.CommandTestUtil.VALID_NRIC_AMY;
+import static seedu.address.logic.parser.CliSyntax.PREFIX_DATE;
+import static seedu.address.logic.parser.CommandParserTestUtil.assertParseFailure;
+import static seedu.address.logic.parser.CommandParserTestUtil.assertParseSuccess;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import seedu.address.logic.commands.HistoryCommand;
+import seedu.address.model.patient.Nric;
+
+public class HistoryCommandParserTest {
+
+    private static final String MESSAGE_INVALID_FORMAT =
+            String.format(MESSAGE_INVALID_COMMAND_FORMAT, HistoryCommand.MESSAGE_USAGE);
+    private static final String FIRST_DATE_DESC = " " + PREFIX_DATE + "01-Jan-2020";
+    private static final String SECOND_DATE_DESC = " " + PREFIX_DATE + "31-Jan-2020";
+
+    private final HistoryCommandParser parser = new HistoryCommandParser();
+
+    @Test
+    public void parse_nricOnly_returnsAllDates() {
+        HistoryCommand expectedCommand = new HistoryCommand(new Nric(VALID_NRIC_AMY), LocalDate.MIN, LocalDate.MAX);
+        assertParseSuccess(parser, NRIC_DESC_AMY, expectedCommand);
+    }
+
+    @Test
+    public void parse_oneDate_returnsThatDate() {
+        HistoryCommand expectedCommand = new HistoryCommand(null, LocalDate.of(2050, 11, 20),
+                LocalDate.of(2050, 11, 20));
+        assertParseSuccess(parser, ASSIGN_DATE, expectedCommand);
+    }
+
+    @Test
+    public void parse_nricAndTwoDates_returnsDateRange() {
+        HistoryCommand expectedCommand = new HistoryCommand(new Nric(VALID_NRIC_AMY), LocalDate.of(2020, 1, 1),
+                LocalDate.of(2020, 1, 31));
+        assertParseSuccess(parser, NRIC_DESC_AMY + FIRST_DATE_DESC + SECOND_DATE_DESC, expectedCommand);
+    }
+
+    @Test
+    public void parse_invalidFormat_failure() {
+        // no fields
+        assertParseFailure(parser, "", MESSAGE_INVALID_FORMAT);
+
+        // preamble
+        assertParseFailure(parser, " some text" + NRIC_DESC_AMY, MESSAGE_INVALID_FORMAT);
+
+        // more than two dates
+        assertParseFailure(parser, FIRST_DATE_DESC + SECOND_DATE_DESC + ASSIGN_DATE, MESSAGE_INVALID_FORMAT);
+    }
+
+    @Test
+    public void parse_invalidValues_failure() {
+        assertParseFailure(parser, INVALID_NRIC_DESC, Nric.MESSAGE_CONSTRAINTS);
+        assertParseFailure(parser, INVALID_DATE_DESC, DateParserUtil.MESSAGE_CONSTRAINTS);
+    }
+
+    @Test
+    public void parse_secondDateBeforeFirstDate_failure() {
+        assertParseFailure(parser, SECOND_DATE_DESC + FIRST_DATE_DESC,
+                HistoryCommandParser.MESSAGE_INVALID_DATE_RANGE);
+    }
+}
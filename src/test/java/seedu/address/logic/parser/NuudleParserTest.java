@@ -37,8 +37,10 @@ import seedu.address.logic.commands.ExitCommand;
 import seedu.address.logic.commands.FindCommand;
 import seedu.address.logic.commands.FindCommand.FindPatientDescriptor;
 import seedu.address.logic.commands.HelpCommand;
+import seedu.address.logic.commands.HistoryCommand;
 import seedu.address.logic.commands.ListCommand;
 import seedu.address.logic.commands.RedoCommand;
+import seedu.address.logic.commands.StatusCommand;
 import seedu.address.logic.commands.RemarkCommand;
 import seedu.address.logic.commands.UndoCommand;
 import seedu.address.logic.commands.ViewCommand;
@@ -46,6 +48,7 @@ import seedu.address.logic.parser.exceptions.ParseException;
 import seedu.address.model.appointment.Date;
 import seedu.address.model.appointment.DateMatchesPredicate;
 import seedu.address.model.appointment.Time;
+import seedu.address.model.patient.Nric;
 import seedu.address.model.patient.Patient;
 import seedu.address.model.patient.Remark;
 import seedu.address.testutil.EditPatientDescriptorBuilder;
@@ -192,6 +195,19 @@ public class NuudleParserTest {
         assertTrue(parser.parseCommand(UndoCommand.COMMAND_WORD + " 3") instanceof UndoCommand);
     }
 
+    @Test
+    public void parseCommand_history() throws Exception {
+        HistoryCommand command = (HistoryCommand) parser.parseCommand(HistoryCommand.COMMAND_WORD + " "
+                + PREFIX_NRIC + "S1234567I");
+        assertEquals(new HistoryCommand(new Nric("S1234567I"), LocalDate.MIN, LocalDate.MAX), command);
+    }
+
+    @Test
+    public void parseCommand_status() throws Exception {
+        assertTrue(parser.parseCommand(StatusCommand.COMMAND_WORD) instanceof StatusCommand);
+        assertTrue(parser.parseCommand(StatusCommand.COMMAND_WORD + " 3") instanceof StatusCommand);
+    }
+
     @Test
     public void parseCommand_redo() throws Exception {
         assertTrue(parser.parseCommand(RedoCommand.COMMAND_WORD) instanceof RedoCommand);
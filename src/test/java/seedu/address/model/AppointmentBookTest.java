@@ -182,6 +182,11 @@ public class AppointmentBookTest {
             return appointments;
         }
 
+        @Override
+        public long getModificationCount() {
+            return 0;
+        }
+
         @Override
         public AppointmentStatistics getAppointmentBookStatistics() {
             return new AppointmentStatistics(0, 0, 0, 0);
@@ -18,10 +18,13 @@ import static seedu.address.testutil.TypicalPatients.getTypicalPatientBook;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 
 import seedu.address.commons.core.GuiSettings;
+import seedu.address.model.appointment.Appointment;
 import seedu.address.model.exceptions.NoRedoableStateException;
 import seedu.address.model.exceptions.NoUndoableStateException;
 import seedu.address.model.patient.NameContainsKeywordsPredicate;
@@ -109,6 +112,18 @@ public class ModelManagerTest {
         assertEquals(path, modelManager.getArchiveDirPath());
     }
 
+    @Test
+    public void getPatientByNric_nullNric_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> modelManager.getPatientByNric(null));
+    }
+
+    @Test
+    public void getPatientByNric_patientInPatientBook_returnsPatient() {
+        modelManager.addPatient(ALICE);
+        assertEquals(Optional.of(ALICE), modelManager.getPatientByNric(ALICE.getNric()));
+        assertEquals(Optional.empty(), modelManager.getPatientByNric(BENSON.getNric()));
+    }
+
     @Test
     public void hasPatient_nullPatient_throwsNullPointerException() {
         assertThrows(NullPointerException.class, () -> modelManager.hasPatient(null));
@@ -226,6 +241,24 @@ public class ModelManagerTest {
         assertTrue(ModelManager.isValidModel(patientBook, appointmentBook));
     }
 
+    @Test
+    public void getOrphanedAppointments_inconsistentModel_orphansInOrder() {
+        PatientBook patientBook = new PatientBookBuilder().withPatient(BENSON).build();
+        AppointmentBook appointmentBook = new AppointmentBookBuilder().withAppointment(ALICE_APPOINTMENT)
+                .withAppointment(BENSON_APPOINTMENT).withAppointment(CARL_APPOINTMENT).build();
+
+        List<Appointment> expectedOrphans = appointmentBook.getAppointmentList()
+                .filtered(appointment -> !appointment.hasPatient(BENSON));
+        assertEquals(expectedOrphans, ModelManager.getOrphanedAppointments(patientBook, appointmentBook));
+        assertEquals(2, expectedOrphans.size());
+    }
+
+    @Test
+    public void getOrphanedAppointments_consistentModel_empty() {
+        assertTrue(ModelManager.getOrphanedAppointments(getTypicalPatientBook(), getTypicalAppointmentBook())
+                .isEmpty());
+    }
+
     @Test
     public void getSyncedAppointmentBook_inconsistentModel_successful() {
         PatientBook patientBook = new PatientBookBuilder().withPatient(ALICE).build();
@@ -54,6 +54,20 @@ public class PatientBookTest {
         assertThrows(DuplicatePatientException.class, () -> patientBook.resetData(newData));
     }
 
+    @Test
+    public void restoreSnapshot_null_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> patientBook.restoreSnapshot(null));
+    }
+
+    @Test
+    public void restoreSnapshot_withPatientBook_replacesData() {
+        patientBook.addPatient(ALICE);
+        PatientBook snapshot = getTypicalPatientBook();
+        patientBook.restoreSnapshot(snapshot);
+        assertEquals(snapshot, patientBook);
+        assertTrue(patientBook.hasPatient(ALICE));
+    }
+
     @Test
     public void hasPatient_nullPatient_throwsNullPointerException() {
         assertThrows(NullPointerException.class, () -> patientBook.hasPatient(null));
@@ -78,6 +92,19 @@ public class PatientBookTest {
         assertTrue(patientBook.hasPatient(editedAlice));
     }
 
+    @Test
+    public void getModificationCount_afterEachChange_increases() {
+        long count = patientBook.getModificationCount();
+        patientBook.hasPatient(ALICE);
+        assertEquals(count, patientBook.getModificationCount());
+
+        patientBook.addPatient(ALICE);
+        assertTrue(patientBook.getModificationCount() > count);
+        count = patientBook.getModificationCount();
+        patientBook.removePatient(ALICE);
+        assertTrue(patientBook.getModificationCount() > count);
+    }
+
     @Test
     public void getPatientList_modifyList_throwsUnsupportedOperationException() {
         assertThrows(UnsupportedOperationException.class, () -> patientBook.getPatientList().remove(0));
@@ -97,6 +124,11 @@ public class PatientBookTest {
         public ObservableList<Patient> getPatientList() {
             return patients;
         }
+
+        @Override
+        public long getModificationCount() {
+            return 0;
+        }
     }
 
 }
@@ -30,6 +30,43 @@ public class UserPrefsTest {
         assertThrows(NullPointerException.class, () -> userPrefs.setAppointmentBookFilePath(null));
     }
 
+    @Test
+    public void setHistoryMemoryBudget_negativeBudget_throwsIllegalArgumentException() {
+        UserPrefs userPrefs = new UserPrefs();
+        assertThrows(IllegalArgumentException.class, () -> userPrefs.setHistoryMemoryBudget(-1));
+    }
+
+    @Test
+    public void setHistorySpillLimit_negativeLimit_throwsIllegalArgumentException() {
+        UserPrefs userPrefs = new UserPrefs();
+        assertThrows(IllegalArgumentException.class, () -> userPrefs.setHistorySpillLimit(-1));
+    }
+
+    @Test
+    public void setJournalCheckpointInterval_negativeInterval_throwsIllegalArgumentException() {
+        UserPrefs userPrefs = new UserPrefs();
+        assertThrows(IllegalArgumentException.class, () -> userPrefs.setJournalCheckpointInterval(-1));
+    }
+
+    @Test
+    public void setBackupCount_negativeCount_throwsIllegalArgumentException() {
+        UserPrefs userPrefs = new UserPrefs();
+        assertThrows(IllegalArgumentException.class, () -> userPrefs.setBackupCount(-1));
+    }
+
+    @Test
+    public void setArchiveThreshold_negativeThreshold_throwsIllegalArgumentException() {
+        UserPrefs userPrefs = new UserPrefs();
+        assertThrows(IllegalArgumentException.class, () -> userPrefs.setArchiveThreshold(-1));
+    }
+
+    @Test
+    public void setArchiveYears_negativeYears_throwsIllegalArgumentException() {
+        UserPrefs userPrefs = new UserPrefs();
+        assertThrows(IllegalArgumentException.class, () -> userPrefs.setArchiveRollUpYears(-1));
+        assertThrows(IllegalArgumentException.class, () -> userPrefs.setArchiveRetentionYears(-1));
+    }
+
     @Test
     public void equals() {
         UserPrefs defaultUserPrefs = new UserPrefs();
@@ -40,7 +77,17 @@ public class UserPrefsTest {
         UserPrefs userPrefsCopy = new UserPrefs(defaultUserPrefs.getGuiSettings(),
                 defaultUserPrefs.getPatientBookFilePath(),
                 defaultUserPrefs.getAppointmentBookFilePath(),
-                defaultUserPrefs.getArchiveDirectoryPath());
+                defaultUserPrefs.getArchiveDirectoryPath(),
+                defaultUserPrefs.getHistoryMemoryBudget(),
+                defaultUserPrefs.getHistorySpillLimit(),
+                defaultUserPrefs.getJournalCheckpointInterval(),
+                defaultUserPrefs.isBackgroundSaveEnabled(),
+                defaultUserPrefs.getBackupCount(),
+                defaultUserPrefs.isBinarySnapshotEnabled(),
+                defaultUserPrefs.getArchiveThreshold(),
+                defaultUserPrefs.isArchiveCompressionEnabled(),
+                defaultUserPrefs.getArchiveRollUpYears(),
+                defaultUserPrefs.getArchiveRetentionYears());
         assertTrue(defaultUserPrefs.equals(userPrefsCopy));
 
         // different types -> returns false
@@ -69,5 +116,55 @@ public class UserPrefsTest {
         differentUserPrefs.setArchiveDirectoryPath(Path.of("different", "path"));
         assertFalse(defaultUserPrefs.equals(differentUserPrefs));
 
+        // different history memory budget -> returns false
+        differentUserPrefs = new UserPrefs();
+        differentUserPrefs.setHistoryMemoryBudget(1);
+        assertFalse(defaultUserPrefs.equals(differentUserPrefs));
+
+        // different history spill limit -> returns false
+        differentUserPrefs = new UserPrefs();
+        differentUserPrefs.setHistorySpillLimit(1);
+        assertFalse(defaultUserPrefs.equals(differentUserPrefs));
+
+        // different journal checkpoint interval -> returns false
+        differentUserPrefs = new UserPrefs();
+        differentUserPrefs.setJournalCheckpointInterval(1);
+        assertFalse(defaultUserPrefs.equals(differentUserPrefs));
+
+        // different background saving -> returns false
+        differentUserPrefs = new UserPrefs();
+        differentUserPrefs.setBackgroundSaveEnabled(false);
+        assertFalse(defaultUserPrefs.equals(differentUserPrefs));
+
+        // different backup count -> returns false
+        differentUserPrefs = new UserPrefs();
+        differentUserPrefs.setBackupCount(3);
+        assertFalse(defaultUserPrefs.equals(differentUserPrefs));
+
+        // different binary snapshots -> returns false
+        differentUserPrefs = new UserPrefs();
+        differentUserPrefs.setBinarySnapshotEnabled(true);
+        assertFalse(defaultUserPrefs.equals(differentUserPrefs));
+
+        // different archive threshold -> returns false
+        differentUserPrefs = new UserPrefs();
+        differentUserPrefs.setArchiveThreshold(1);
+        assertFalse(defaultUserPrefs.equals(differentUserPrefs));
+
+        // different archive compression -> returns false
+        differentUserPrefs = new UserPrefs();
+        differentUserPrefs.setArchiveCompressionEnabled(true);
+        assertFalse(defaultUserPrefs.equals(differentUserPrefs));
+
+        // different archive roll-up years -> returns false
+        differentUserPrefs = new UserPrefs();
+        differentUserPrefs.setArchiveRollUpYears(5);
+        assertFalse(defaultUserPrefs.equals(differentUserPrefs));
+
+        // different archive retention years -> returns false
+        differentUserPrefs = new UserPrefs();
+        differentUserPrefs.setArchiveRetentionYears(7);
+        assertFalse(defaultUserPrefs.equals(differentUserPrefs));
+
     }
 }
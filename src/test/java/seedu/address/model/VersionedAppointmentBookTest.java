@@ -7,6 +7,8 @@ import static seedu.address.testutil.Assert.assertThrows;
 import static seedu.address.testutil.TypicalAppointments.ALICE_APPOINTMENT;
 import static seedu.address.testutil.TypicalAppointments.BENSON_APPOINTMENT;
 import static seedu.address.testutil.TypicalAppointments.HOON_APPOINTMENT;
+import static seedu.address.testutil.TypicalAppointments.getTypicalAppointmentBook;
+import static seedu.address.testutil.TypicalPatients.ALICE;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -14,9 +16,11 @@ import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import seedu.address.model.appointment.Appointment;
 import seedu.address.model.exceptions.NoRedoableStateException;
 import seedu.address.model.exceptions.NoUndoableStateException;
 import seedu.address.testutil.AppointmentBookBuilder;
+import seedu.address.testutil.PatientBuilder;
 
 public class VersionedAppointmentBookTest {
 
@@ -222,6 +226,113 @@ public class VersionedAppointmentBookTest {
         assertThrows(NoRedoableStateException.class, versionedAppointmentBook::redo);
     }
 
+    @Test
+    public void undo_deleteAppointmentsWithPatients_restoresAppointments() {
+        VersionedAppointmentBook versionedAppointmentBook = new VersionedAppointmentBook(getTypicalAppointmentBook());
+        versionedAppointmentBook.deleteAppointmentsWithPatients(ALICE);
+        versionedAppointmentBook.commit();
+        assertFalse(versionedAppointmentBook.hasAppointment(ALICE_APPOINTMENT));
+
+        versionedAppointmentBook.undo();
+        assertEquals(getTypicalAppointmentBook(), new AppointmentBook(versionedAppointmentBook));
+
+        versionedAppointmentBook.redo();
+        assertFalse(versionedAppointmentBook.hasAppointment(ALICE_APPOINTMENT));
+    }
+
+    @Test
+    public void undo_updateAppointmentsWithPatients_restoresAppointments() {
+        VersionedAppointmentBook versionedAppointmentBook = new VersionedAppointmentBook(getTypicalAppointmentBook());
+        versionedAppointmentBook.updateAppointmentsWithPatients(ALICE,
+                new PatientBuilder(ALICE).withName("Alice Tan").build());
+        versionedAppointmentBook.commit();
+
+        versionedAppointmentBook.undo();
+        assertEquals(getTypicalAppointmentBook(), new AppointmentBook(versionedAppointmentBook));
+    }
+
+    @Test
+    public void undo_replacedAppointmentArchived_changeSkippedAndNotSaved() {
+        VersionedAppointmentBook versionedAppointmentBook = new VersionedAppointmentBook(emptyAppointmentBook);
+        versionedAppointmentBook.addAppointment(ALICE_APPOINTMENT);
+        versionedAppointmentBook.commit();
+        Appointment doneAppointment = ALICE_APPOINTMENT.markAsDone();
+        versionedAppointmentBook.setAppointment(ALICE_APPOINTMENT, doneAppointment);
+        versionedAppointmentBook.commit();
+        versionedAppointmentBook.removeArchivedAppointments(List.of(doneAppointment));
+        versionedAppointmentBook.takeUnsavedChanges();
+
+        versionedAppointmentBook.undo();
+        assertEquals(emptyAppointmentBook, new AppointmentBook(versionedAppointmentBook));
+        assertEquals(List.of(), versionedAppointmentBook.takeUnsavedChanges());
+    }
+
+    @Test
+    public void redo_addedAppointmentArchived_appointmentNotAddedBack() {
+        VersionedAppointmentBook versionedAppointmentBook = new VersionedAppointmentBook(emptyAppointmentBook);
+        versionedAppointmentBook.addAppointment(ALICE_APPOINTMENT);
+        versionedAppointmentBook.commit();
+        versionedAppointmentBook.removeArchivedAppointments(List.of(ALICE_APPOINTMENT));
+        versionedAppointmentBook.takeUnsavedChanges();
+
+        versionedAppointmentBook.undo();
+        versionedAppointmentBook.redo();
+        assertEquals(emptyAppointmentBook, new AppointmentBook(versionedAppointmentBook));
+        assertEquals(List.of(), versionedAppointmentBook.takeUnsavedChanges());
+    }
+
+    @Test
+    public void undo_resetAfterArchival_archivedAppointmentsLeftOut() {
+        VersionedAppointmentBook versionedAppointmentBook = new VersionedAppointmentBook(
+                new AppointmentBookBuilder().withAppointment(ALICE_APPOINTMENT).withAppointment(BENSON_APPOINTMENT)
+                        .build());
+        versionedAppointmentBook.setAppointments(List.of());
+        versionedAppointmentBook.commit();
+        versionedAppointmentBook.undo();
+        versionedAppointmentBook.removeArchivedAppointments(List.of(ALICE_APPOINTMENT));
+        versionedAppointmentBook.redo();
+        versionedAppointmentBook.takeUnsavedChanges();
+
+        versionedAppointmentBook.undo();
+        assertEquals(appointmentBookWithBensonAppointment, new AppointmentBook(versionedAppointmentBook));
+        assertEquals(List.of(EntityChange.reset(List.of(), List.of(BENSON_APPOINTMENT))),
+                versionedAppointmentBook.takeUnsavedChanges());
+    }
+
+    @Test
+    public void redo_archivedAppointmentAddedAgainAfterHistoryDropped_appointmentAddedBack() {
+        VersionedAppointmentBook versionedAppointmentBook = new VersionedAppointmentBook(emptyAppointmentBook, 0, 0);
+        versionedAppointmentBook.addAppointment(ALICE_APPOINTMENT);
+        versionedAppointmentBook.commit();
+        versionedAppointmentBook.removeArchivedAppointments(List.of(ALICE_APPOINTMENT));
+        versionedAppointmentBook.addAppointment(BENSON_APPOINTMENT);
+        versionedAppointmentBook.commit();
+        versionedAppointmentBook.addAppointment(ALICE_APPOINTMENT);
+        versionedAppointmentBook.commit();
+
+        versionedAppointmentBook.undo();
+        versionedAppointmentBook.redo();
+        assertEquals(new AppointmentBookBuilder().withAppointment(ALICE_APPOINTMENT)
+                .withAppointment(BENSON_APPOINTMENT).build(), new AppointmentBook(versionedAppointmentBook));
+    }
+
+    @Test
+    public void undo_spilledAppointments_restoresAppointmentsFromDisk() {
+        VersionedAppointmentBook versionedAppointmentBook = new VersionedAppointmentBook(emptyAppointmentBook, 0);
+        versionedAppointmentBook.addAppointment(ALICE_APPOINTMENT);
+        versionedAppointmentBook.commit();
+        versionedAppointmentBook.setAppointment(ALICE_APPOINTMENT, ALICE_APPOINTMENT.markAsDone());
+        versionedAppointmentBook.commit();
+        assertEquals(1, versionedAppointmentBook.getHistoryFootprint().getStepsOnDisk());
+
+        versionedAppointmentBook.undo();
+        versionedAppointmentBook.undo();
+        assertEquals(emptyAppointmentBook, new AppointmentBook(versionedAppointmentBook));
+
+        versionedAppointmentBook.redo();
+        assertEquals(appointmentBookWithAliceAppointment, new AppointmentBook(versionedAppointmentBook));
+    }
+
     @Test
     public void equals() {
         VersionedAppointmentBook versionedAppointmentBook =
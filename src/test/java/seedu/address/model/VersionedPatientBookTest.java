@@ -7,6 +7,9 @@ import static seedu.address.testutil.Assert.assertThrows;
 import static seedu.address.testutil.TypicalPatients.AMY;
 import static seedu.address.testutil.TypicalPatients.BOB;
 import static seedu.address.testutil.TypicalPatients.CARL;
+import static seedu.address.testutil.TypicalPatients.DANIEL;
+import static seedu.address.testutil.TypicalPatients.ELLE;
+import static seedu.address.testutil.TypicalPatients.getTypicalPatientBook;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -16,6 +19,7 @@ import org.junit.jupiter.api.Test;
 
 import seedu.address.model.exceptions.NoRedoableStateException;
 import seedu.address.model.exceptions.NoUndoableStateException;
+import seedu.address.model.patient.Patient;
 import seedu.address.testutil.PatientBookBuilder;
 
 public class VersionedPatientBookTest {
@@ -208,6 +212,106 @@ public class VersionedPatientBookTest {
         assertThrows(NoRedoableStateException.class, versionedPatientBook::redo);
     }
 
+    @Test
+    public void undo_removedPatient_restoresPatientAtOriginalPosition() {
+        VersionedPatientBook versionedPatientBook = new VersionedPatientBook(getTypicalPatientBook());
+        Patient secondPatient = versionedPatientBook.getPatientList().get(1);
+        versionedPatientBook.removePatient(secondPatient);
+        versionedPatientBook.commit();
+
+        versionedPatientBook.undo();
+        assertEquals(getTypicalPatientBook(), new PatientBook(versionedPatientBook));
+
+        versionedPatientBook.redo();
+        assertFalse(versionedPatientBook.hasPatient(secondPatient));
+    }
+
+    @Test
+    public void undo_removedPatientFromBookNotInNameOrder_restoresOriginalOrder() {
+        PatientBook patientBook = new PatientBookBuilder().withPatient(CARL).withPatient(AMY).withPatient(BOB).build();
+        VersionedPatientBook versionedPatientBook = new VersionedPatientBook(patientBook);
+        // the copy made by the constructor is in name order, so the patients are set in the original order here
+        versionedPatientBook.setPatients(List.of(CARL, AMY, BOB));
+        versionedPatientBook.commit();
+
+        versionedPatientBook.removePatient(AMY);
+        versionedPatientBook.commit();
+        versionedPatientBook.undo();
+        assertEquals(patientBook, versionedPatientBook);
+
+        versionedPatientBook.setPatients(List.of(BOB));
+        versionedPatientBook.commit();
+        versionedPatientBook.undo();
+        assertEquals(patientBook, versionedPatientBook);
+    }
+
+    @Test
+    public void undo_uncommittedChanges_revertsUncommittedChangesAndLastCommit() {
+        VersionedPatientBook versionedPatientBook = preparePatientBookList(emptyPatientBook, patientBookWithAmy);
+        versionedPatientBook.addPatient(BOB);
+
+        versionedPatientBook.undo();
+        assertEquals(emptyPatientBook, new PatientBook(versionedPatientBook));
+    }
+
+    @Test
+    public void commit_overMemoryBudget_spillsOlderStepsAndUndoesThroughThem() {
+        VersionedPatientBook versionedPatientBook = new VersionedPatientBook(emptyPatientBook, 1);
+        versionedPatientBook.addPatient(AMY);
+        versionedPatientBook.commit();
+        versionedPatientBook.addPatient(BOB);
+        versionedPatientBook.commit();
+        versionedPatientBook.addPatient(CARL);
+        versionedPatientBook.commit();
+
+        HistoryFootprint footprint = versionedPatientBook.getHistoryFootprint();
+        assertEquals(1, footprint.getEntitiesInMemory());
+        assertEquals(1, footprint.getStepsInMemory());
+        assertEquals(2, footprint.getStepsOnDisk());
+        assertTrue(footprint.getBytesOnDisk() > 0);
+
+        shiftCurrentStatePointerLeftwards(versionedPatientBook, 3);
+        assertEquals(emptyPatientBook, new PatientBook(versionedPatientBook));
+        assertFalse(versionedPatientBook.canUndo());
+        assertEquals(0, versionedPatientBook.getHistoryFootprint().getStepsOnDisk());
+
+        versionedPatientBook.redo();
+        versionedPatientBook.redo();
+        versionedPatientBook.redo();
+        assertEquals(new PatientBookBuilder().withPatient(AMY).withPatient(BOB).withPatient(CARL).build(),
+                new PatientBook(versionedPatientBook));
+    }
+
+    @Test
+    public void commit_overSpillLimit_dropsOldestSpilledSteps() {
+        VersionedPatientBook versionedPatientBook = new VersionedPatientBook(emptyPatientBook, 1, 1);
+        for (Patient patient : List.of(AMY, BOB, CARL, DANIEL, ELLE)) {
+            versionedPatientBook.addPatient(patient);
+            versionedPatientBook.commit();
+        }
+        assertEquals(1, versionedPatientBook.getHistoryFootprint().getStepsOnDisk());
+
+        shiftCurrentStatePointerLeftwards(versionedPatientBook, 2);
+        assertEquals(new PatientBookBuilder().withPatient(AMY).withPatient(BOB).withPatient(CARL).build(),
+                new PatientBook(versionedPatientBook));
+        assertFalse(versionedPatientBook.canUndo());
+        assertEquals(0, versionedPatientBook.getHistoryFootprint().getBytesOnDisk());
+    }
+
+    @Test
+    public void commit_zeroSpillLimit_keepsNoStepsOnDisk() {
+        VersionedPatientBook versionedPatientBook = new VersionedPatientBook(emptyPatientBook, 0, 0);
+        versionedPatientBook.addPatient(AMY);
+        versionedPatientBook.commit();
+        versionedPatientBook.addPatient(BOB);
+        versionedPatientBook.commit();
+        assertEquals(0, versionedPatientBook.getHistoryFootprint().getStepsOnDisk());
+
+        versionedPatientBook.undo();
+        assertEquals(new PatientBookBuilder().withPatient(AMY).build(), new PatientBook(versionedPatientBook));
+        assertFalse(versionedPatientBook.canUndo());
+    }
+
     @Test
     public void equals() {
         VersionedPatientBook versionedPatientBook = preparePatientBookList(patientBookWithAmy,
@@ -0,0 +1,108 @@
+package seedu.address.model.appointment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static seedu.address.testutil.Assert.assertThrows;
+import static seedu.address.testutil.TypicalAppointments.ALICE_APPOINTMENT;
+import static seedu.address.testutil.TypicalAppointments.BENSON_APPOINTMENT;
+import static seedu.address.testutil.TypicalAppointments.CARL_APPOINTMENT;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import seedu.address.testutil.AppointmentBuilder;
+
+public class AppointmentIntervalIndexTest {
+
+    private final AppointmentIntervalIndex index = new AppointmentIntervalIndex();
+
+    @Test
+    public void hasOverlaps_nullAppointment_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> index.hasOverlaps(null));
+    }
+
+    @Test
+    public void hasOverlaps_emptyIndex_returnsFalse() {
+        assertFalse(index.hasOverlaps(ALICE_APPOINTMENT));
+    }
+
+    @Test
+    public void hasOverlaps_sameDay_checksNeighbouringIntervals() {
+        // ALICE_APPOINTMENT: 2050-01-01, 9:00 to 10:00; CARL_APPOINTMENT: 2050-01-01, 20:00 to 21:00
+        index.add(ALICE_APPOINTMENT);
+        index.add(CARL_APPOINTMENT);
+
+        // ends exactly when an existing appointment starts
+        assertFalse(index.hasOverlaps(appointmentAt(8, 0, 9, 0)));
+
+        // starts exactly when an existing appointment ends
+        assertFalse(index.hasOverlaps(appointmentAt(10, 0, 11, 0)));
+
+        // lies between two existing appointments
+        assertFalse(index.hasOverlaps(appointmentAt(12, 0, 19, 0)));
+
+        // partial overlaps at either end
+        assertTrue(index.hasOverlaps(appointmentAt(8, 30, 9, 30)));
+        assertTrue(index.hasOverlaps(appointmentAt(9, 30, 10, 30)));
+
+        // contained in and containing an existing appointment
+        assertTrue(index.hasOverlaps(appointmentAt(9, 15, 9, 45)));
+        assertTrue(index.hasOverlaps(appointmentAt(8, 0, 21, 30)));
+    }
+
+    @Test
+    public void hasOverlaps_differentDay_returnsFalse() {
+        index.add(ALICE_APPOINTMENT);
+        Appointment nextDay = new AppointmentBuilder(ALICE_APPOINTMENT)
+                .withDate(LocalDate.of(2050, 1, 2))
+                .build();
+        assertFalse(index.hasOverlaps(nextDay));
+    }
+
+    @Test
+    public void getAppointmentStartingAt_existingAppointment_returnsAppointment() {
+        index.add(ALICE_APPOINTMENT);
+        assertEquals(Optional.of(ALICE_APPOINTMENT), index.getAppointmentStartingAt(
+                ALICE_APPOINTMENT.getDate(), ALICE_APPOINTMENT.getStartTime()));
+        assertEquals(Optional.empty(), index.getAppointmentStartingAt(
+                BENSON_APPOINTMENT.getDate(), BENSON_APPOINTMENT.getStartTime()));
+    }
+
+    @Test
+    public void remove_differentAppointmentAtSameSlot_returnsFalse() {
+        index.add(ALICE_APPOINTMENT);
+        Appointment differentPatient = new AppointmentBuilder(BENSON_APPOINTMENT)
+                .withDate(LocalDate.of(2050, 1, 1))
+                .withTime(LocalTime.of(9, 0))
+                .build();
+
+        assertFalse(index.remove(differentPatient));
+        assertTrue(index.hasOverlaps(ALICE_APPOINTMENT));
+    }
+
+    @Test
+    public void remove_existingAppointment_removesAppointment() {
+        index.add(ALICE_APPOINTMENT);
+        assertTrue(index.remove(ALICE_APPOINTMENT));
+        assertFalse(index.hasOverlaps(ALICE_APPOINTMENT));
+    }
+
+    @Test
+    public void setAll_replacesContents() {
+        index.add(ALICE_APPOINTMENT);
+        index.setAll(List.of(BENSON_APPOINTMENT));
+        assertFalse(index.hasOverlaps(ALICE_APPOINTMENT));
+        assertTrue(index.hasOverlaps(BENSON_APPOINTMENT));
+    }
+
+    private Appointment appointmentAt(int startHour, int startMinute, int endHour, int endMinute) {
+        return new AppointmentBuilder(ALICE_APPOINTMENT)
+                .withTime(LocalTime.of(startHour, startMinute), LocalTime.of(endHour, endMinute))
+                .build();
+    }
+}
@@ -5,13 +5,18 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static seedu.address.testutil.Assert.assertThrows;
 import static seedu.address.testutil.TypicalAppointments.ALICE_APPOINTMENT;
+import static seedu.address.testutil.TypicalAppointments.ALICE_APPOINTMENT_2;
 import static seedu.address.testutil.TypicalAppointments.BENSON_APPOINTMENT;
+import static seedu.address.testutil.TypicalPatients.ALICE;
+import static seedu.address.testutil.TypicalPatients.BOB;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
@@ -151,6 +156,26 @@ public class UniqueAppointmentListTest {
                 .setAppointment(BENSON_APPOINTMENT, editedBensonAppt));
     }
 
+    @Test
+    public void setAppointment_editedAppointmentHasOverlappingDateTime_targetStillIndexed() {
+        uniqueAppointmentList.add(ALICE_APPOINTMENT);
+        uniqueAppointmentList.add(BENSON_APPOINTMENT);
+        Appointment editedBensonAppt = new AppointmentBuilder(BENSON_APPOINTMENT)
+                .withDate(LocalDate.of(2050, 1, 1))
+                .withTime(LocalTime.of(9, 30))
+                .build();
+        assertThrows(OverlappingAppointmentException.class, () -> uniqueAppointmentList
+                .setAppointment(BENSON_APPOINTMENT, editedBensonAppt));
+        assertTrue(uniqueAppointmentList.hasCompleteOverlaps(BENSON_APPOINTMENT));
+    }
+
+    @Test
+    public void remove_existingAppointment_noLongerOverlaps() {
+        uniqueAppointmentList.add(ALICE_APPOINTMENT);
+        uniqueAppointmentList.remove(ALICE_APPOINTMENT);
+        assertFalse(uniqueAppointmentList.hasOverlaps(ALICE_APPOINTMENT));
+    }
+
     @Test
     public void remove_nullAppointment_throwsNullPointerException() {
         assertThrows(NullPointerException.class, () -> uniqueAppointmentList.remove(null));
@@ -206,6 +231,104 @@ public class UniqueAppointmentListTest {
                 .setAppointments(listWithDuplicateAppointments));
     }
 
+    @Test
+    public void setAppointments_listWithOverlapsOutOfOrder_throwsOverlappingAppointmentException() {
+        Appointment overlappingAppt = new AppointmentBuilder(BENSON_APPOINTMENT)
+                .withDate(LocalDate.of(2050, 1, 1))
+                .withTime(LocalTime.of(9, 30))
+                .build();
+        List<Appointment> appointments = Arrays.asList(ALICE_APPOINTMENT_2, overlappingAppt, ALICE_APPOINTMENT);
+        assertThrows(OverlappingAppointmentException.class, () -> uniqueAppointmentList
+                .setAppointments(appointments));
+    }
+
+    @Test
+    public void setAppointmentsDiscardingOverlaps_nullList_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> uniqueAppointmentList.setAppointmentsDiscardingOverlaps(null));
+    }
+
+    @Test
+    public void setAppointmentsDiscardingOverlaps_listWithOverlaps_keepsEarliestAppointments() {
+        Appointment overlappingAppt = new AppointmentBuilder(BENSON_APPOINTMENT)
+                .withDate(LocalDate.of(2050, 1, 1))
+                .withTime(LocalTime.of(9, 30))
+                .build();
+        List<Appointment> appointments = Arrays.asList(overlappingAppt, BENSON_APPOINTMENT, ALICE_APPOINTMENT,
+                ALICE_APPOINTMENT);
+
+        List<Appointment> discardedAppointments = uniqueAppointmentList.setAppointmentsDiscardingOverlaps(appointments);
+
+        assertEquals(Arrays.asList(ALICE_APPOINTMENT, overlappingAppt), discardedAppointments);
+        UniqueAppointmentList expectedUniqueAppointmentList = new UniqueAppointmentList();
+        expectedUniqueAppointmentList.add(ALICE_APPOINTMENT);
+        expectedUniqueAppointmentList.add(BENSON_APPOINTMENT);
+        assertEquals(expectedUniqueAppointmentList, uniqueAppointmentList);
+        assertTrue(uniqueAppointmentList.hasOverlaps(overlappingAppt));
+    }
+
+    @Test
+    public void removeAll_appointmentsAddedOutOfOrder_removesOnlyGivenAppointments() {
+        List<Appointment> appointments = new ArrayList<>();
+        for (int hour = 9; hour < 15; hour++) {
+            appointments.add(new AppointmentBuilder(ALICE_APPOINTMENT)
+                    .withDate(LocalDate.of(2050, 1, 1)).withTime(LocalTime.of(hour, 0)).build());
+        }
+        List<Appointment> shuffledAppointments = new ArrayList<>(appointments);
+        Collections.shuffle(shuffledAppointments, new Random(0));
+        shuffledAppointments.forEach(uniqueAppointmentList::add);
+
+        // two adjacent appointments, one on its own, a duplicate and one not in the list
+        List<Appointment> removedAppointments = uniqueAppointmentList.removeAll(List.of(appointments.get(4),
+                appointments.get(1), appointments.get(2), appointments.get(4), BENSON_APPOINTMENT));
+
+        assertEquals(List.of(appointments.get(1), appointments.get(2), appointments.get(4)), removedAppointments);
+        List<Appointment> remainingAppointments = new ArrayList<>();
+        uniqueAppointmentList.forEach(remainingAppointments::add);
+        assertEquals(List.of(appointments.get(0), appointments.get(3), appointments.get(5)), remainingAppointments);
+        assertFalse(uniqueAppointmentList.hasOverlaps(appointments.get(1)));
+    }
+
+    @Test
+    public void deleteAppointmentsWithPatients_patientWithAppointments_removesOnlyTheirAppointments() {
+        uniqueAppointmentList.add(ALICE_APPOINTMENT);
+        uniqueAppointmentList.add(BENSON_APPOINTMENT);
+        uniqueAppointmentList.add(ALICE_APPOINTMENT_2);
+        uniqueAppointmentList.deleteAppointmentsWithPatients(ALICE);
+
+        UniqueAppointmentList expectedUniqueAppointmentList = new UniqueAppointmentList();
+        expectedUniqueAppointmentList.add(BENSON_APPOINTMENT);
+        assertEquals(expectedUniqueAppointmentList, uniqueAppointmentList);
+        assertFalse(uniqueAppointmentList.hasOverlaps(ALICE_APPOINTMENT));
+    }
+
+    @Test
+    public void deleteAppointmentsWithPatients_patientWithoutAppointments_noChange() {
+        uniqueAppointmentList.add(BENSON_APPOINTMENT);
+        uniqueAppointmentList.deleteAppointmentsWithPatients(ALICE);
+
+        UniqueAppointmentList expectedUniqueAppointmentList = new UniqueAppointmentList();
+        expectedUniqueAppointmentList.add(BENSON_APPOINTMENT);
+        assertEquals(expectedUniqueAppointmentList, uniqueAppointmentList);
+    }
+
+    @Test
+    public void updateAppointmentsWithPatients_patientWithAppointments_updatesOnlyTheirAppointments() {
+        uniqueAppointmentList.add(ALICE_APPOINTMENT);
+        uniqueAppointmentList.add(BENSON_APPOINTMENT);
+        uniqueAppointmentList.updateAppointmentsWithPatients(ALICE, BOB);
+
+        Appointment updatedAliceAppt = ALICE_APPOINTMENT.setPatient(BOB);
+        UniqueAppointmentList expectedUniqueAppointmentList = new UniqueAppointmentList();
+        expectedUniqueAppointmentList.add(updatedAliceAppt);
+        expectedUniqueAppointmentList.add(BENSON_APPOINTMENT);
+        assertEquals(expectedUniqueAppointmentList, uniqueAppointmentList);
+        assertTrue(uniqueAppointmentList.hasCompleteOverlaps(updatedAliceAppt));
+
+        // appointments are now indexed under the edited patient
+        uniqueAppointmentList.deleteAppointmentsWithPatients(BOB);
+        assertFalse(uniqueAppointmentList.hasOverlaps(updatedAliceAppt));
+    }
+
     @Test
     public void asUnmodifiableObservableList_modifyList_throwsUnsupportedOperationException() {
         assertThrows(UnsupportedOperationException.class, () -> uniqueAppointmentList
@@ -12,6 +12,7 @@ import static seedu.address.testutil.TypicalPatients.BOB;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 
@@ -47,6 +48,38 @@ public class UniquePatientListTest {
         assertTrue(uniquePatientList.contains(editedAlice));
     }
 
+    @Test
+    public void getPatient_nullNric_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> uniquePatientList.getPatient(null));
+    }
+
+    @Test
+    public void getPatient_patientNotInList_returnsEmpty() {
+        assertEquals(Optional.empty(), uniquePatientList.getPatient(ALICE.getNric()));
+    }
+
+    @Test
+    public void getPatient_patientInList_returnsPatient() {
+        uniquePatientList.add(ALICE);
+        assertEquals(Optional.of(ALICE), uniquePatientList.getPatient(ALICE.getNric()));
+    }
+
+    @Test
+    public void getPatient_afterSetPatientWithDifferentIdentity_returnsEditedPatient() {
+        uniquePatientList.add(ALICE);
+        uniquePatientList.setPatient(ALICE, BOB);
+        assertEquals(Optional.empty(), uniquePatientList.getPatient(ALICE.getNric()));
+        assertEquals(Optional.of(BOB), uniquePatientList.getPatient(BOB.getNric()));
+    }
+
+    @Test
+    public void getPatient_afterRemove_returnsEmpty() {
+        uniquePatientList.add(ALICE);
+        uniquePatientList.remove(ALICE);
+        assertFalse(uniquePatientList.contains(ALICE));
+        assertEquals(Optional.empty(), uniquePatientList.getPatient(ALICE.getNric()));
+    }
+
     @Test
     public void add_nullPatient_throwsNullPointerException() {
         assertThrows(NullPointerException.class, () -> uniquePatientList.add(null));
@@ -1,14 +1,23 @@
 package seedu.address.storage;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static seedu.address.testutil.Assert.assertThrows;
 import static seedu.address.testutil.TypicalAppointments.ALICE_APPOINTMENT;
 import static seedu.address.testutil.TypicalAppointments.BENSON_APPOINTMENT;
 import static seedu.address.testutil.TypicalAppointments.getTypicalAppointmentBook;
+import static seedu.address.testutil.TypicalPatients.HOON;
 import static seedu.address.testutil.TypicalPatients.getTypicalPatientBook;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,12 +25,15 @@ import org.junit.jupiter.api.io.TempDir;
 
 import seedu.address.commons.core.GuiSettings;
 import seedu.address.model.AppointmentBook;
+import seedu.address.model.EntityChange;
 import seedu.address.model.PatientBook;
 import seedu.address.model.ReadOnlyAppointmentBook;
 import seedu.address.model.ReadOnlyPatientBook;
 import seedu.address.model.UserPrefs;
 import seedu.address.model.appointment.Appointment;
+import seedu.address.model.patient.Patient;
 import seedu.address.storage.appointment.JsonAppointmentBookStorage;
+import seedu.address.storage.journal.JsonJournal;
 import seedu.address.storage.patient.JsonPatientBookStorage;
 import seedu.address.testutil.AppointmentBuilder;
 
@@ -34,6 +46,10 @@ public class StorageManagerTest {
 
     @BeforeEach
     public void setUp() {
+        storageManager = createStorageManager(null, 0);
+    }
+
+    private StorageManager createStorageManager(JsonJournal journal, int journalCheckpointInterval) {
         StorageStatsManager statsManager = new StorageStatsManager();
         JsonPatientBookStorage patientBookStorage =
                 new JsonPatientBookStorage(getTempFilePath("pb"), statsManager);
@@ -41,7 +57,8 @@ public class StorageManagerTest {
                 new JsonAppointmentBookStorage(getTempFilePath("appt"), getTempFilePath("archive"),
                         statsManager);
         JsonUserPrefsStorage userPrefsStorage = new JsonUserPrefsStorage(getTempFilePath("prefs"));
-        storageManager = new StorageManager(patientBookStorage, appointmentBookStorage, userPrefsStorage, statsManager);
+        return new StorageManager(patientBookStorage, appointmentBookStorage, userPrefsStorage, statsManager,
+                journal, journalCheckpointInterval);
     }
 
     private Path getTempFilePath(String fileName) {
@@ -95,7 +112,7 @@ public class StorageManagerTest {
          */
         AppointmentBook original = getTypicalAppointmentBook();
         storageManager.saveAppointmentBook(original);
-        ReadOnlyAppointmentBook retrieved = storageManager.readAppointmentBook().get();
+        ReadOnlyAppointmentBook retrieved = storageManager.readAppointmentBook(getTypicalPatientBook()).get();
         assertEquals(original, new AppointmentBook(retrieved));
     }
 
@@ -129,7 +146,7 @@ public class StorageManagerTest {
 
         // check appointment backup
         ReadOnlyAppointmentBook retrievedAppointmentBackup =
-                storageManager.readAppointmentBook(backupAppointmentBookPath).get();
+                storageManager.readAppointmentBook(backupAppointmentBookPath, patientBook).get();
         assertEquals(appointmentBook, new AppointmentBook(retrievedAppointmentBackup));
 
         // check patient backup
@@ -154,4 +171,150 @@ public class StorageManagerTest {
 
         assertEquals(storageManager.getStatusMessage(), "2 appointments archived, of which 1 is not done.");
     }
+
+    @Test
+    public void saveChanges_noJournal_savesDataFiles() throws Exception {
+        PatientBook patientBook = getTypicalPatientBook();
+        patientBook.addPatient(HOON);
+        storageManager.saveChanges(patientBook, Collections.emptyList(), getTypicalAppointmentBook(),
+                Collections.emptyList());
+
+        assertEquals(patientBook, storageManager.readPatientBook(getTempFilePath("pb")).get());
+    }
+
+    @Test
+    public void saveChanges_withJournal_appendsChangesUntilCheckpoint() throws Exception {
+        JsonJournal journal = new JsonJournal(getTempFilePath("journal"));
+        StorageManager journalStorageManager = createStorageManager(journal, 2);
+        AppointmentBook appointmentBook = getTypicalAppointmentBook();
+        journalStorageManager.checkpoint(getTypicalPatientBook(), appointmentBook);
+
+        // first change is only appended to the journal
+        PatientBook patientBook = getTypicalPatientBook();
+        patientBook.addPatient(HOON);
+        List<EntityChange<Patient>> patientChanges =
+                List.of(EntityChange.added(patientBook.getPatientList().size() - 1, HOON));
+        journalStorageManager.saveChanges(patientBook, patientChanges, appointmentBook, Collections.emptyList());
+        assertTrue(journal.exists());
+        assertEquals(getTypicalPatientBook(), journalStorageManager.readPatientBook(getTempFilePath("pb")).get());
+        assertEquals(patientBook, new PatientBook(journalStorageManager.readPatientBook().get()));
+        assertEquals(appointmentBook,
+                new AppointmentBook(journalStorageManager.readAppointmentBook(patientBook).get()));
+
+        // second change reaches the checkpoint interval
+        patientBook.removePatient(HOON);
+        patientChanges = List.of(EntityChange.removed(patientBook.getPatientList().size(), HOON));
+        journalStorageManager.saveChanges(patientBook, patientChanges, appointmentBook, Collections.emptyList());
+        assertFalse(journal.exists());
+        assertEquals(patientBook, journalStorageManager.readPatientBook(getTempFilePath("pb")).get());
+    }
+
+    @Test
+    public void saveChanges_withJournal_recordsSaveOrSkipForEachBook() throws Exception {
+        StorageManager journalStorageManager = createStorageManager(new JsonJournal(getTempFilePath("journal")), 3);
+        StorageStatsManager statsManager = journalStorageManager.getStatsManager();
+        PatientBook patientBook = getTypicalPatientBook();
+        AppointmentBook appointmentBook = getTypicalAppointmentBook();
+
+        // only the patient book changed -> patient book saved, appointment book skipped
+        patientBook.addPatient(HOON);
+        journalStorageManager.saveChanges(patientBook,
+                List.of(EntityChange.added(patientBook.getPatientList().size() - 1, HOON)), appointmentBook,
+                Collections.emptyList());
+        assertEquals(1, statsManager.getPatientBookSaveCount());
+        assertEquals(0, statsManager.getPatientBookSkipCount());
+        assertEquals(0, statsManager.getAppointmentBookSaveCount());
+        assertEquals(1, statsManager.getAppointmentBookSkipCount());
+
+        // nothing changed -> both skipped
+        journalStorageManager.saveChanges(patientBook, Collections.emptyList(), appointmentBook,
+                Collections.emptyList());
+        assertEquals(1, statsManager.getPatientBookSaveCount());
+        assertEquals(1, statsManager.getPatientBookSkipCount());
+        assertEquals(2, statsManager.getAppointmentBookSkipCount());
+    }
+
+    @Test
+    public void checkpoint_unmodifiedBooks_skipsWrites() throws Exception {
+        PatientBook patientBook = getTypicalPatientBook();
+        AppointmentBook appointmentBook = getTypicalAppointmentBook();
+        StorageStatsManager statsManager = storageManager.getStatsManager();
+
+        storageManager.checkpoint(patientBook, appointmentBook);
+        assertEquals(1, statsManager.getPatientBookSaveCount());
+        assertEquals(1, statsManager.getAppointmentBookSaveCount());
+
+        // nothing modified -> both writes skipped
+        storageManager.checkpoint(patientBook, appointmentBook);
+        assertEquals(1, statsManager.getPatientBookSaveCount());
+        assertEquals(1, statsManager.getPatientBookSkipCount());
+        assertEquals(1, statsManager.getAppointmentBookSkipCount());
+
+        // only the patient book modified -> only the patient book written
+        patientBook.addPatient(HOON);
+        storageManager.checkpoint(patientBook, appointmentBook);
+        assertEquals(2, statsManager.getPatientBookSaveCount());
+        assertEquals(1, statsManager.getAppointmentBookSaveCount());
+        assertEquals(2, statsManager.getAppointmentBookSkipCount());
+        assertEquals(patientBook, storageManager.readPatientBook().get());
+    }
+
+    @Test
+    public void saveChanges_backgroundSaving_savesCopyOfBooks() throws Exception {
+        storageManager.enableBackgroundSaving();
+        PatientBook patientBook = getTypicalPatientBook();
+        storageManager.checkpoint(patientBook, getTypicalAppointmentBook());
+
+        // changes made after the save was requested are not written
+        patientBook.addPatient(HOON);
+        storageManager.flush();
+        assertEquals(getTypicalPatientBook(), storageManager.readPatientBook().get());
+
+        storageManager.saveChanges(patientBook, Collections.emptyList(), getTypicalAppointmentBook(),
+                Collections.emptyList());
+        storageManager.flush();
+        assertEquals(patientBook, storageManager.readPatientBook().get());
+    }
+
+    @Test
+    public void saveChanges_backgroundSavingWithJournal_appendsChangesUntilCheckpoint() throws Exception {
+        JsonJournal journal = new JsonJournal(getTempFilePath("journal"));
+        StorageManager journalStorageManager = createStorageManager(journal, 2);
+        journalStorageManager.enableBackgroundSaving();
+        AppointmentBook appointmentBook = getTypicalAppointmentBook();
+        journalStorageManager.checkpoint(getTypicalPatientBook(), appointmentBook);
+
+        // first change is only appended to the journal
+        PatientBook patientBook = getTypicalPatientBook();
+        patientBook.addPatient(HOON);
+        List<EntityChange<Patient>> patientChanges =
+                List.of(EntityChange.added(patientBook.getPatientList().size() - 1, HOON));
+        journalStorageManager.saveChanges(patientBook, patientChanges, appointmentBook, Collections.emptyList());
+        journalStorageManager.flush();
+        assertTrue(journal.exists());
+        assertEquals(getTypicalPatientBook(), journalStorageManager.readPatientBook(getTempFilePath("pb")).get());
+        assertEquals(patientBook, new PatientBook(journalStorageManager.readPatientBook().get()));
+
+        // second change reaches the checkpoint interval
+        patientBook.removePatient(HOON);
+        patientChanges = List.of(EntityChange.removed(patientBook.getPatientList().size(), HOON));
+        journalStorageManager.saveChanges(patientBook, patientChanges, appointmentBook, Collections.emptyList());
+        journalStorageManager.flush();
+        assertFalse(journal.exists());
+        assertEquals(patientBook, journalStorageManager.readPatientBook(getTempFilePath("pb")).get());
+    }
+
+    @Test
+    public void flush_backgroundSaveFailed_reportsFailure() throws Exception {
+        storageManager.enableBackgroundSaving();
+        List<IOException> failures = new ArrayList<>();
+        storageManager.setSaveFailureHandler(failures::add);
+
+        // a directory in place of the data file cannot be written to
+        Files.createDirectories(getTempFilePath("pb"));
+        storageManager.checkpoint(getTypicalPatientBook(), getTypicalAppointmentBook());
+
+        assertThrows(IOException.class, () -> storageManager.flush());
+        assertEquals(1, failures.size());
+    }
 }
@@ -26,6 +26,30 @@ public class StorageStatsManagerTest {
                 statsManager.getArchiveStatusMessage());
     }
 
+    @Test
+    public void getArchiveMaintenanceMessage_allOk() {
+        StorageStatsManager statsManager = new StorageStatsManager();
+        assertEquals("", statsManager.getArchiveMaintenanceMessage());
+
+        statsManager.setArchiveMaintenanceStats(1, 0, 0);
+        assertEquals("1 archive file rolled up into yearly files.", statsManager.getArchiveMaintenanceMessage());
+
+        statsManager.setArchiveMaintenanceStats(0, 1, 1);
+        assertEquals("1 archive file with 1 appointment past the retention period deleted.",
+                statsManager.getArchiveMaintenanceMessage());
+
+        statsManager.setArchiveMaintenanceStats(12, 2, 10);
+        assertEquals("12 archive files rolled up into yearly files. "
+                        + "2 archive files with 10 appointments past the retention period deleted.",
+                statsManager.getArchiveMaintenanceMessage());
+
+        // shown after the result of the archival
+        statsManager.setArchiveStats(1, 0);
+        statsManager.setArchiveMaintenanceStats(12, 0, 0);
+        assertEquals("1 appointment archived. 12 archive files rolled up into yearly files.",
+                statsManager.getArchiveStatusMessage());
+    }
+
     @Test
     public void getLoadStatusMessage_allOk() {
         StorageStatsManager statsManager = new StorageStatsManager();
@@ -48,6 +72,16 @@ public class StorageStatsManagerTest {
         statsManager.setRemovedAppointmentCount(10);
         assertEquals("Failed to load 10 patients.\nFailed to load 10 appointments.\n",
                 statsManager.getLoadStatusMessage());
+
+        statsManager.setRemovedPatientCount(0);
+        statsManager.setRemovedAppointmentCount(0);
+        statsManager.setOrphanedAppointmentCount(1);
+        assertEquals("Removed 1 appointment of patients not in the patient book.\n",
+                statsManager.getLoadStatusMessage());
+
+        statsManager.setOrphanedAppointmentCount(2);
+        assertEquals("Removed 2 appointments of patients not in the patient book.\n",
+                statsManager.getLoadStatusMessage());
     }
 
     @Test
@@ -0,0 +1,78 @@
+package seedu.address.storage.appointment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static seedu.address.testutil.TypicalAppointments.HOON_APPOINTMENT;
+import static seedu.address.testutil.TypicalAppointments.getTypicalAppointmentBook;
+import static seedu.address.testutil.TypicalPatients.getTypicalPatientBook;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import seedu.address.model.AppointmentBook;
+import seedu.address.storage.BinarySnapshot;
+import seedu.address.storage.StorageStatsManager;
+
+public class BinaryAppointmentBookStorageTest {
+
+    @TempDir
+    public Path testFolder;
+
+    private Path filePath;
+    private BinaryAppointmentBookStorage storage;
+
+    @BeforeEach
+    public void setUp() {
+        filePath = testFolder.resolve("appointmentbook.json");
+        storage = new BinaryAppointmentBookStorage(filePath, testFolder.resolve("archive"),
+                new StorageStatsManager());
+    }
+
+    @Test
+    public void saveAppointmentBook_writesJsonAndSnapshot() throws Exception {
+        storage.saveAppointmentBook(getTypicalAppointmentBook());
+
+        Path snapshotFilePath = BinarySnapshot.getSnapshotFilePath(filePath);
+        assertTrue(Files.exists(filePath));
+        assertTrue(Files.exists(snapshotFilePath));
+        assertTrue(Files.size(snapshotFilePath) < Files.size(filePath));
+        assertEquals(getTypicalAppointmentBook(),
+                new AppointmentBook(storage.readAppointmentBook(getTypicalPatientBook()).get()));
+    }
+
+    @Test
+    public void readAppointmentBook_patientNotInPatientBook_appointmentDiscarded() throws Exception {
+        AppointmentBook appointmentBook = getTypicalAppointmentBook();
+        appointmentBook.addAppointment(HOON_APPOINTMENT);
+        storage.saveAppointmentBook(appointmentBook);
+
+        assertEquals(getTypicalAppointmentBook(),
+                new AppointmentBook(storage.readAppointmentBook(getTypicalPatientBook()).get()));
+    }
+
+    @Test
+    public void readAppointmentBook_jsonReplacedWithEarlierTime_readsJson() throws Exception {
+        storage.saveAppointmentBook(getTypicalAppointmentBook());
+        new JsonAppointmentBookStorage(filePath, testFolder.resolve("archive"), new StorageStatsManager())
+                .saveAppointmentBook(new AppointmentBook());
+        Files.setLastModifiedTime(filePath, FileTime.fromMillis(
+                Files.getLastModifiedTime(BinarySnapshot.getSnapshotFilePath(filePath)).toMillis() - 1000));
+
+        assertEquals(new AppointmentBook(),
+                new AppointmentBook(storage.readAppointmentBook(getTypicalPatientBook()).get()));
+    }
+
+    @Test
+    public void readAppointmentBook_noSnapshot_readsJson() throws Exception {
+        new JsonAppointmentBookStorage(filePath, testFolder.resolve("archive"), new StorageStatsManager())
+                .saveAppointmentBook(getTypicalAppointmentBook());
+
+        assertEquals(getTypicalAppointmentBook(),
+                new AppointmentBook(storage.readAppointmentBook(getTypicalPatientBook()).get()));
+    }
+}
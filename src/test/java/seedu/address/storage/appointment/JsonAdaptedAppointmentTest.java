@@ -1,6 +1,8 @@
 package seedu.address.storage.appointment;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static seedu.address.storage.appointment.JsonAdaptedAppointment.MESSAGE_PATIENT_NOT_FOUND;
 import static seedu.address.storage.appointment.JsonAdaptedAppointment.MISSING_FIELD_MESSAGE_FORMAT;
 import static seedu.address.storage.appointment.JsonAdaptedAppointment.TIME_IN_WRONG_ORDER;
 import static seedu.address.testutil.Assert.assertThrows;
@@ -9,12 +11,14 @@ import static seedu.address.testutil.TypicalPatients.BENSON;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
 import seedu.address.commons.exceptions.IllegalValueException;
 import seedu.address.model.appointment.Date;
 import seedu.address.model.appointment.Time;
+import seedu.address.model.patient.Nric;
 import seedu.address.model.patient.Patient;
 import seedu.address.storage.patient.JsonAdaptedPatient;
 
@@ -38,6 +42,28 @@ public class JsonAdaptedAppointmentTest {
         assertEquals(BENSON_APPOINTMENT, patient.toModelType());
     }
 
+    @Test
+    public void toModelType_patientReferencedByNric_returnsAppointmentWithPatientFromBook() throws Exception {
+        JsonAdaptedAppointment appointment = JsonAdaptedAppointment.referencingPatient(BENSON_APPOINTMENT);
+        assertFalse(appointment.hasEmbeddedPatient());
+        assertEquals(BENSON_APPOINTMENT, appointment.toModelType(Map.of(BENSON.getNric(), BENSON)));
+    }
+
+    @Test
+    public void toModelType_referencedPatientNotFound_throwsIllegalValueException() {
+        JsonAdaptedAppointment appointment = JsonAdaptedAppointment.referencingPatient(BENSON_APPOINTMENT);
+        String expectedMessage = String.format(MESSAGE_PATIENT_NOT_FOUND, BENSON.getNric());
+        assertThrows(IllegalValueException.class, expectedMessage, () -> appointment.toModelType(Map.of()));
+    }
+
+    @Test
+    public void toModelType_invalidPatientNric_throwsIllegalValueException() {
+        JsonAdaptedAppointment appointment = new JsonAdaptedAppointment(VALID_DATE, VALID_START_TIME,
+                VALID_END_TIME, VALID_DONE_STATUS, null, "a123456G");
+        assertThrows(IllegalValueException.class, Nric.MESSAGE_CONSTRAINTS, () ->
+                appointment.toModelType(Map.of(BENSON.getNric(), BENSON)));
+    }
+
     @Test
     public void toModelType_nullDate_throwsIllegalValueException() {
         JsonAdaptedAppointment appointment =
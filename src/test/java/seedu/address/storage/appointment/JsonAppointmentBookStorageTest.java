@@ -2,32 +2,47 @@ package seedu.address.storage.appointment;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static seedu.address.testutil.Assert.assertThrows;
 import static seedu.address.testutil.TypicalAppointments.ALICE_APPOINTMENT;
 import static seedu.address.testutil.TypicalAppointments.CARL_APPOINTMENT_2;
 import static seedu.address.testutil.TypicalAppointments.HOON_APPOINTMENT;
 import static seedu.address.testutil.TypicalAppointments.IDA_APPOINTMENT;
 import static seedu.address.testutil.TypicalAppointments.getTypicalAppointmentBook;
+import static seedu.address.testutil.TypicalPatients.HOON;
+import static seedu.address.testutil.TypicalPatients.IDA;
+import static seedu.address.testutil.TypicalPatients.getTypicalPatientBook;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.commons.util.FileUtil;
 import seedu.address.model.AppointmentBook;
+import seedu.address.model.PatientBook;
 import seedu.address.model.ReadOnlyAppointmentBook;
+import seedu.address.model.ReadOnlyPatientBook;
 import seedu.address.model.appointment.Appointment;
 import seedu.address.storage.StorageStatsManager;
 import seedu.address.testutil.AppointmentBuilder;
+import seedu.address.testutil.PatientBookBuilder;
 
 public class JsonAppointmentBookStorageTest {
     private static final Path TEST_DATA_FOLDER = Paths.get("src",
             "test", "data", "JsonAppointmentBookStorageTest");
+    private static final PatientBook PATIENT_BOOK = new PatientBookBuilder(getTypicalPatientBook())
+            .withPatient(HOON).withPatient(IDA).build();
+    private static final Path LEGACY_APPOINTMENT_FILE = Paths.get("src", "test", "data",
+            "JsonSerializableAppointmentBookTest", "typicalAppointmentBook.json");
 
     @TempDir
     public Path testFolder;
@@ -89,23 +104,81 @@ public class JsonAppointmentBookStorageTest {
 
         // Save in new file and read back
         jsonAppointmentBookStorage.saveAppointmentBook(original, filePath);
-        ReadOnlyAppointmentBook readBack = jsonAppointmentBookStorage.readAppointmentBook(filePath).get();
+        ReadOnlyAppointmentBook readBack = jsonAppointmentBookStorage.readAppointmentBook(filePath, PATIENT_BOOK).get();
         assertEquals(original, new AppointmentBook(readBack));
 
         // Modify data, overwrite exiting file, and read back
         original.addAppointment(HOON_APPOINTMENT);
         original.removeAppointment(ALICE_APPOINTMENT);
         jsonAppointmentBookStorage.saveAppointmentBook(original, filePath);
-        readBack = jsonAppointmentBookStorage.readAppointmentBook(filePath).get();
+        readBack = jsonAppointmentBookStorage.readAppointmentBook(filePath, PATIENT_BOOK).get();
         assertEquals(original, new AppointmentBook(readBack));
 
         // Save and read without specifying file path
         original.addAppointment(IDA_APPOINTMENT);
         jsonAppointmentBookStorage.saveAppointmentBook(original); // file path not specified
-        readBack = jsonAppointmentBookStorage.readAppointmentBook().get(); // file path not specified
+        readBack = jsonAppointmentBookStorage.readAppointmentBook(PATIENT_BOOK).get(); // file path not specified
         assertEquals(original, new AppointmentBook(readBack));
     }
 
+    @Test
+    public void readAppointmentBook_embeddedPatients_migratesDataFile() throws Exception {
+        Path filePath = testFolder.resolve("TempAppointmentBook.json");
+        Files.copy(LEGACY_APPOINTMENT_FILE, filePath);
+        JsonAppointmentBookStorage jsonAppointmentBookStorage =
+                new JsonAppointmentBookStorage(filePath, testFolder.resolve("archive"), new StorageStatsManager());
+
+        ReadOnlyAppointmentBook readBack = jsonAppointmentBookStorage.readAppointmentBook(PATIENT_BOOK).get();
+        assertEquals(getTypicalAppointmentBook(), new AppointmentBook(readBack));
+
+        // appointments now reference their patients by NRIC only
+        String migratedContent = FileUtil.readFromFile(filePath);
+        assertTrue(migratedContent.contains("\"patientNric\""));
+        assertFalse(migratedContent.contains("\"patient\""));
+        assertTrue(Files.size(filePath) < Files.size(LEGACY_APPOINTMENT_FILE));
+        readBack = jsonAppointmentBookStorage.readAppointmentBook(PATIENT_BOOK).get();
+        assertEquals(getTypicalAppointmentBook(), new AppointmentBook(readBack));
+    }
+
+    @Test
+    public void readAppointmentBook_patientNotInPatientBook_appointmentDiscarded() throws Exception {
+        Path filePath = testFolder.resolve("TempAppointmentBook.json");
+        JsonAppointmentBookStorage jsonAppointmentBookStorage =
+                new JsonAppointmentBookStorage(filePath, testFolder.resolve("archive"), new StorageStatsManager());
+        AppointmentBook original = getTypicalAppointmentBook();
+        original.addAppointment(HOON_APPOINTMENT);
+        jsonAppointmentBookStorage.saveAppointmentBook(original);
+
+        ReadOnlyAppointmentBook readBack =
+                jsonAppointmentBookStorage.readAppointmentBook(getTypicalPatientBook()).get();
+        assertEquals(getTypicalAppointmentBook(), new AppointmentBook(readBack));
+    }
+
+    @Test
+    public void readAppointmentBook_patientBookLoadedLater_success() throws Exception {
+        Path filePath = testFolder.resolve("TempAppointmentBook.json");
+        JsonAppointmentBookStorage jsonAppointmentBookStorage =
+                new JsonAppointmentBookStorage(filePath, testFolder.resolve("archive"), new StorageStatsManager());
+        jsonAppointmentBookStorage.saveAppointmentBook(getTypicalAppointmentBook());
+
+        CompletableFuture<ReadOnlyPatientBook> patientBook = new CompletableFuture<>();
+        patientBook.completeAsync(() -> PATIENT_BOOK, CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+        ReadOnlyAppointmentBook readBack = jsonAppointmentBookStorage.readAppointmentBook(patientBook).get();
+        assertEquals(getTypicalAppointmentBook(), new AppointmentBook(readBack));
+    }
+
+    @Test
+    public void readAppointmentBook_patientBookNotLoaded_exceptionThrown() throws Exception {
+        Path filePath = testFolder.resolve("TempAppointmentBook.json");
+        JsonAppointmentBookStorage jsonAppointmentBookStorage =
+                new JsonAppointmentBookStorage(filePath, testFolder.resolve("archive"), new StorageStatsManager());
+        jsonAppointmentBookStorage.saveAppointmentBook(getTypicalAppointmentBook());
+
+        CompletableFuture<ReadOnlyPatientBook> patientBook = new CompletableFuture<>();
+        patientBook.completeExceptionally(new IllegalStateException());
+        assertThrows(DataConversionException.class, () -> jsonAppointmentBookStorage.readAppointmentBook(patientBook));
+    }
+
     @Test
     public void saveBackupAndReadAppointmentBook_allInOrder_success() throws Exception {
         String jsonFileName = "TempAppointmentBook.json";
@@ -121,7 +194,8 @@ public class JsonAppointmentBookStorageTest {
         // save and backup file and read back backup file
         jsonAppointmentBookStorage.saveAppointmentBook(original, filePath);
         jsonAppointmentBookStorage.backupData(backupFolderName);
-        ReadOnlyAppointmentBook readBack = jsonAppointmentBookStorage.readAppointmentBook(backupFilePath).get();
+        ReadOnlyAppointmentBook readBack =
+                jsonAppointmentBookStorage.readAppointmentBook(backupFilePath, PATIENT_BOOK).get();
         assertEquals(original, new AppointmentBook(readBack));
 
         // Modify data, save, backup file, and read back backup file
@@ -129,7 +203,7 @@ public class JsonAppointmentBookStorageTest {
         original.removeAppointment(ALICE_APPOINTMENT);
         jsonAppointmentBookStorage.saveAppointmentBook(original, filePath);
         jsonAppointmentBookStorage.backupData(backupFolderName);
-        readBack = jsonAppointmentBookStorage.readAppointmentBook(backupFilePath).get();
+        readBack = jsonAppointmentBookStorage.readAppointmentBook(backupFilePath, PATIENT_BOOK).get();
         assertEquals(original, new AppointmentBook(readBack));
     }
 
@@ -159,7 +233,7 @@ public class JsonAppointmentBookStorageTest {
     private java.util.Optional<ReadOnlyAppointmentBook> readAppointmentBook(String filePath, String archivePath)
             throws Exception {
         return new JsonAppointmentBookStorage(Paths.get(filePath), Paths.get(archivePath), new StorageStatsManager())
-                .readAppointmentBook(addToTestDataPathIfNotNull(filePath));
+                .readAppointmentBook(addToTestDataPathIfNotNull(filePath), new PatientBook());
     }
 
     /**
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 
 import seedu.address.commons.util.JsonUtil;
 import seedu.address.model.AppointmentBook;
+import seedu.address.model.PatientBook;
 import seedu.address.model.appointment.Appointment;
 import seedu.address.storage.StorageStatsManager;
 import seedu.address.testutil.AppointmentBuilder;
@@ -28,7 +29,8 @@ public class JsonSerializableAppointmentBookTest {
     public void toModelType_typicalAppointmentFile_success() throws Exception {
         JsonSerializableAppointmentBook dataFromFile = JsonUtil.readJsonFile(TYPICAL_APPOINTMENT_FILE,
                 JsonSerializableAppointmentBook.class).get();
-        AppointmentBook appointmentBookFromFile = dataFromFile.toModelType(new StorageStatsManager());
+        AppointmentBook appointmentBookFromFile =
+                dataFromFile.toModelType(new PatientBook(), new StorageStatsManager());
         AppointmentBook typicalAppointmentBook = TypicalAppointments.getTypicalAppointmentBook();
         assertEquals(appointmentBookFromFile, typicalAppointmentBook);
     }
@@ -37,7 +39,8 @@ public class JsonSerializableAppointmentBookTest {
     public void toModelType_invalidAppointmentFile_returnEmptyBook() throws Exception {
         JsonSerializableAppointmentBook dataFromFile = JsonUtil.readJsonFile(INVALID_APPOINTMENT_FILE,
                 JsonSerializableAppointmentBook.class).get();
-        AppointmentBook appointmentBookFromFile = dataFromFile.toModelType(new StorageStatsManager());
+        AppointmentBook appointmentBookFromFile =
+                dataFromFile.toModelType(new PatientBook(), new StorageStatsManager());
         AppointmentBook expectedAppointmentBook = new AppointmentBook();
         assertEquals(expectedAppointmentBook, appointmentBookFromFile);
     }
@@ -46,7 +49,8 @@ public class JsonSerializableAppointmentBookTest {
     public void toModelType_duplicateAppointments_returnsFirstUniqueAppointment() throws Exception {
         JsonSerializableAppointmentBook dataFromFile = JsonUtil.readJsonFile(OVERLAP_APPOINTMENT_FILE,
                 JsonSerializableAppointmentBook.class).get();
-        AppointmentBook appointmentBookFromFile = dataFromFile.toModelType(new StorageStatsManager());
+        AppointmentBook appointmentBookFromFile =
+                dataFromFile.toModelType(new PatientBook(), new StorageStatsManager());
 
         AppointmentBook expectedAppointmentBook = new AppointmentBook();
         Appointment firstAppointment = new AppointmentBuilder(ALICE_APPOINTMENT)
@@ -0,0 +1,114 @@
+package seedu.address.storage.appointment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.LogManager;
+
+import seedu.address.model.AppointmentBook;
+import seedu.address.model.PatientBook;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.appointment.Date;
+import seedu.address.model.appointment.Time;
+import seedu.address.model.patient.Patient;
+import seedu.address.storage.BinarySnapshot;
+import seedu.address.storage.StorageStatsManager;
+import seedu.address.testutil.PatientBuilder;
+
+/**
+ * Compares the time taken to read and save an appointment book as a json file alone, and as a json file together
+ * with a {@link BinarySnapshot}. This is the benchmark behind the table in the Developer Guide.
+ * <p>
+ * Run it by hand with the numbers of appointments to measure as arguments, e.g. {@code 10000 100000 1000000}.
+ * The appointments belong to 1,000 patients. Each read is the best of 5 and each save the best of 3.
+ */
+public class SnapshotLoadBenchmark {
+    private static final int PATIENT_COUNT = 1000;
+    private static final int APPOINTMENTS_PER_DAY = 20;
+    private static final int READ_RUNS = 5;
+    private static final int SAVE_RUNS = 3;
+
+    /**
+     * Measures the appointment books with the numbers of appointments in {@code args}.
+     */
+    public static void main(String[] args) throws Exception {
+        LogManager.getLogManager().reset();
+        List<Patient> patients = new ArrayList<>();
+        PatientBook patientBook = new PatientBook();
+        for (int i = 0; i < PATIENT_COUNT; i++) {
+            Patient patient = new PatientBuilder().withName("Patient " + i)
+                    .withNric(String.format("S%07dA", i))
+                    .withPhone(String.format("9%07d", i))
+                    .withAddress("Block " + (i % 50) + " Street").build();
+            patients.add(patient);
+            patientBook.addPatient(patient);
+        }
+
+        for (String arg : args) {
+            measure(Integer.parseInt(arg), patients, patientBook);
+        }
+    }
+
+    private static void measure(int appointmentCount, List<Patient> patients, PatientBook patientBook)
+            throws Exception {
+        AppointmentBook appointmentBook = new AppointmentBook();
+        appointmentBook.setAppointments(createAppointments(appointmentCount, patients));
+
+        Path folder = Files.createTempDirectory("snapshot-benchmark");
+        Path archivePath = folder.resolve("archives");
+        JsonAppointmentBookStorage jsonStorage = new JsonAppointmentBookStorage(folder.resolve("json.json"),
+                archivePath, new StorageStatsManager());
+        BinaryAppointmentBookStorage binaryStorage = new BinaryAppointmentBookStorage(folder.resolve("binary.json"),
+                archivePath, new StorageStatsManager());
+
+        long jsonSave = Long.MAX_VALUE;
+        long binarySave = Long.MAX_VALUE;
+        for (int i = 0; i < SAVE_RUNS; i++) {
+            long start = System.nanoTime();
+            jsonStorage.saveAppointmentBook(appointmentBook);
+            jsonSave = Math.min(jsonSave, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            binaryStorage.saveAppointmentBook(appointmentBook);
+            binarySave = Math.min(binarySave, System.nanoTime() - start);
+        }
+
+        long jsonRead = Long.MAX_VALUE;
+        long binaryRead = Long.MAX_VALUE;
+        for (int i = 0; i < READ_RUNS; i++) {
+            long start = System.nanoTime();
+            int jsonCount = jsonStorage.readAppointmentBook(patientBook).get().getAppointmentList().size();
+            jsonRead = Math.min(jsonRead, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            int binaryCount = binaryStorage.readAppointmentBook(patientBook).get().getAppointmentList().size();
+            binaryRead = Math.min(binaryRead, System.nanoTime() - start);
+
+            if (jsonCount != appointmentCount || binaryCount != appointmentCount) {
+                throw new AssertionError("Read " + jsonCount + " and " + binaryCount + " of "
+                        + appointmentCount + " appointments");
+            }
+        }
+
+        Path snapshotFilePath = BinarySnapshot.getSnapshotFilePath(binaryStorage.getAppointmentBookFilePath());
+        System.out.printf("%,d appointments: json %,d KB, snapshot %,d KB%n", appointmentCount,
+                Files.size(jsonStorage.getAppointmentBookFilePath()) / 1024, Files.size(snapshotFilePath) / 1024);
+        System.out.printf("  read: json %d ms, snapshot %d ms%n", jsonRead / 1_000_000, binaryRead / 1_000_000);
+        System.out.printf("  save: json %d ms, json and snapshot %d ms%n", jsonSave / 1_000_000,
+                binarySave / 1_000_000);
+    }
+
+    private static List<Appointment> createAppointments(int appointmentCount, List<Patient> patients) {
+        List<Appointment> appointments = new ArrayList<>(appointmentCount);
+        for (int i = 0; i < appointmentCount; i++) {
+            LocalDate date = LocalDate.of(2050, 1, 1).plusDays(i / APPOINTMENTS_PER_DAY);
+            LocalTime startTime = LocalTime.of(9, 0).plusMinutes(30L * (i % APPOINTMENTS_PER_DAY));
+            appointments.add(new Appointment(new Date(date), new Time(startTime), new Time(startTime.plusMinutes(30)),
+                    patients.get(i % patients.size()), false));
+        }
+        return appointments;
+    }
+}
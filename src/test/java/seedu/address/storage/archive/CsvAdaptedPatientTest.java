@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static seedu.address.logic.commands.CommandTestUtil.VALID_ADDRESS_BOB;
 import static seedu.address.logic.commands.CommandTestUtil.VALID_NAME_BOB;
+import static seedu.address.logic.commands.CommandTestUtil.VALID_NRIC_BOB;
 import static seedu.address.logic.commands.CommandTestUtil.VALID_PHONE_BOB;
 import static seedu.address.logic.commands.CommandTestUtil.VALID_REMARK_BOB;
 import static seedu.address.testutil.TypicalPatients.ALICE;
@@ -20,8 +21,8 @@ public class CsvAdaptedPatientTest {
     @Test
     public void constructor() {
         CsvAdaptedPatient patient = new CsvAdaptedPatient(ALICE);
-        CsvAdaptedPatient constructedPatient = new CsvAdaptedPatient(ALICE.getName().fullName, ALICE.getPhone().value,
-                ALICE.getAddress().value, ALICE.getRemark().value);
+        CsvAdaptedPatient constructedPatient = new CsvAdaptedPatient(ALICE.getName().fullName, ALICE.getNric().value,
+                ALICE.getPhone().value, ALICE.getAddress().value, ALICE.getRemark().value);
 
         assertEquals(patient, constructedPatient);
     }
@@ -50,6 +51,10 @@ public class CsvAdaptedPatientTest {
         Patient editedAlice = new PatientBuilder(ALICE).withName(VALID_NAME_BOB).build();
         assertFalse(alice.equals(new CsvAdaptedPatient(editedAlice)));
 
+        // different nric -> returns false
+        editedAlice = new PatientBuilder(ALICE).withNric(VALID_NRIC_BOB).build();
+        assertFalse(alice.equals(new CsvAdaptedPatient(editedAlice)));
+
         // different phone -> returns false
         editedAlice = new PatientBuilder(ALICE).withPhone(VALID_PHONE_BOB).build();
         assertFalse(alice.equals(new CsvAdaptedPatient(editedAlice)));
@@ -61,5 +66,21 @@ public class CsvAdaptedPatientTest {
         // different remark -> returns false
         editedAlice = new PatientBuilder(ALICE).withRemark(VALID_REMARK_BOB).build();
         assertFalse(alice.equals(new CsvAdaptedPatient(editedAlice)));
+
+        // missing fields -> compared without throwing
+        CsvAdaptedPatient blank = new CsvAdaptedPatient(null, null, null, null, null);
+        assertTrue(blank.equals(new CsvAdaptedPatient(null, null, null, null, null)));
+        assertFalse(blank.equals(alice));
+        assertFalse(alice.equals(blank));
+    }
+
+    @Test
+    public void hashCode_equalPatients_sameHashCode() {
+        CsvAdaptedPatient alice = new CsvAdaptedPatient(ALICE);
+        CsvAdaptedPatient aliceCopy = new CsvAdaptedPatient(new PatientBuilder(ALICE).build());
+        assertEquals(alice.hashCode(), aliceCopy.hashCode());
+
+        CsvAdaptedPatient blank = new CsvAdaptedPatient(null, null, null, null, null);
+        assertEquals(blank.hashCode(), new CsvAdaptedPatient(null, null, null, null, null).hashCode());
     }
 }
@@ -1,17 +1,25 @@
 package seedu.address.storage.archive;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static seedu.address.model.util.SampleDataUtil.getSampleAppointmentBook;
 import static seedu.address.testutil.Assert.assertThrows;
 import static seedu.address.testutil.TypicalAppointments.ALICE_APPOINTMENT;
 import static seedu.address.testutil.TypicalAppointments.BENSON_APPOINTMENT;
+import static seedu.address.testutil.TypicalPatients.ALICE;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -22,6 +30,7 @@ import seedu.address.model.ReadOnlyAppointmentBook;
 import seedu.address.model.appointment.Appointment;
 import seedu.address.storage.StorageStatsManager;
 import seedu.address.testutil.AppointmentBuilder;
+import seedu.address.testutil.PatientBuilder;
 
 public class CsvAppointmentArchiveTest {
     private static final Path TEST_DATA_FOLDER = Paths.get("src",
@@ -57,7 +66,24 @@ public class CsvAppointmentArchiveTest {
 
     @Test
     public void read_validCsvFile_returnList() throws Exception {
-        assertEquals(getSampleCsvData(), readArchive("validCsvArchive.csv"));
+        assertEquals(getLegacySampleCsvData(), readArchive("validCsvArchive.csv"));
+    }
+
+    @Test
+    public void saveAppointments_archiveWithoutNricColumn_oldRowsKeptAndUpgraded() throws Exception {
+        Path archiveFile = testFolder.resolve("2010_MAY.csv");
+        Files.copy(TEST_DATA_FOLDER.resolve("validCsvArchive.csv"), archiveFile);
+        CsvAppointmentArchive archive = new CsvAppointmentArchive(testFolder, new StorageStatsManager());
+
+        CsvAdaptedAppointment newAppointment = new CsvAdaptedAppointment(expiredMay2010Appointment);
+        archive.saveAppointments(List.of(newAppointment), "2010_MAY.csv");
+
+        // the rows are rewritten with an empty NRIC, and every other field where it was
+        assertEquals("date,startTime,endTime,isDone,name,nric,phone,address,remark",
+                Files.readAllLines(archiveFile).get(0));
+        List<CsvAdaptedAppointment> expectedAppointments = new ArrayList<>(getLegacySampleCsvData());
+        expectedAppointments.add(newAppointment);
+        assertEquals(expectedAppointments, archive.readAppointments(archiveFile));
     }
 
     @Test
@@ -65,6 +91,47 @@ public class CsvAppointmentArchiveTest {
         assertThrows(NullPointerException.class, () -> readArchive(null));
     }
 
+    @Test
+    public void streamAppointments_nonExistentCsvFile_emptyStream() throws Exception {
+        CsvAppointmentArchive archive = new CsvAppointmentArchive(TEST_DATA_FOLDER, new StorageStatsManager());
+        try (Stream<CsvAdaptedAppointment> appointments = archive.streamAppointments("NonExistentFile.csv")) {
+            assertEquals(0, appointments.count());
+        }
+    }
+
+    @Test
+    public void streamAppointments_invalidLaterRow_earlierRowsRead() throws Exception {
+        Path archiveFile = testFolder.resolve("2010_MAY.csv");
+        List<String> lines = new ArrayList<>(Files.readAllLines(TEST_DATA_FOLDER.resolve("validCsvArchive.csv")));
+        lines.add("not a date,09:00,10:00,false,Alice Pauline,94351253,address,remark");
+        Files.write(archiveFile, lines);
+
+        CsvAppointmentArchive archive = new CsvAppointmentArchive(testFolder, new StorageStatsManager());
+        try (Stream<CsvAdaptedAppointment> appointments = archive.streamAppointments(archiveFile)) {
+            assertEquals(getLegacySampleCsvData(), appointments.limit(2).collect(Collectors.toList()));
+        }
+        try (Stream<CsvAdaptedAppointment> appointments = archive.streamAppointments(archiveFile)) {
+            assertThrows(UncheckedIOException.class, () -> appointments.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void streamAppointments_dateRange_appointmentsInRangeInOrder() throws Exception {
+        CsvAppointmentArchive archive = new CsvAppointmentArchive(testFolder, new StorageStatsManager());
+        AppointmentBook appointmentBook = new AppointmentBook();
+        appointmentBook.setAppointments(List.of(expiredMay2009Appointment, expiredOct2009Appointment,
+                expiredMay2010Appointment, expiredOct2010Appointment));
+        archive.archivePastAppointments(appointmentBook);
+
+        List<CsvAdaptedAppointment> expectedAppointments = List.of(
+                new CsvAdaptedAppointment(expiredOct2009Appointment),
+                new CsvAdaptedAppointment(expiredMay2010Appointment));
+        try (Stream<CsvAdaptedAppointment> appointments =
+                archive.streamAppointments(LocalDate.of(2009, 10, 1), LocalDate.of(2010, 5, 5))) {
+            assertEquals(expectedAppointments, appointments.collect(Collectors.toList()));
+        }
+    }
+
     @Test
     public void saveAppointments_nullAppointmentList_throwsNullPointerException() {
         assertThrows(NullPointerException.class, () -> saveAppointments(null, "SomeFile.csv"));
@@ -193,6 +260,117 @@ public class CsvAppointmentArchiveTest {
         List<CsvAdaptedAppointment> dataFromFile = archive.readAppointments(archiveFile);
         assertEquals(List.of(octCsvAppointment, octCsvAppointment), dataFromFile);
     }
+    @Test
+    public void archiveThenReadAppointmentBook_samePatientTwice_patientStoredOnce() throws Exception {
+        CsvAppointmentArchive archive = new CsvAppointmentArchive(testFolder, new StorageStatsManager());
+        Appointment laterMay2010Appointment = new AppointmentBuilder(ALICE_APPOINTMENT)
+                .withDate(LocalDate.of(2010, 5, 20)).build();
+
+        AppointmentBook appointmentBook = new AppointmentBook();
+        appointmentBook.setAppointments(List.of(expiredMay2010Appointment, laterMay2010Appointment));
+        archive.archivePastAppointments(appointmentBook);
+
+        // the rows only hold the NRIC of the patient, whose details are stored once
+        Path archiveFile = testFolder.resolve("2010_MAY.csv");
+        assertEquals("date,startTime,endTime,isDone,nric,patientVersion", Files.readAllLines(archiveFile).get(0));
+        assertEquals(2, Files.readAllLines(testFolder.resolve("2010_MAY.patients.csv")).size());
+
+        assertEquals(List.of(new CsvAdaptedAppointment(expiredMay2010Appointment),
+                new CsvAdaptedAppointment(laterMay2010Appointment)), archive.readAppointments(archiveFile));
+    }
+
+    @Test
+    public void compressPastMonths_archivedMonths_readBackTransparently() throws Exception {
+        CsvAppointmentArchive archive = new CsvAppointmentArchive(testFolder, new StorageStatsManager());
+        AppointmentBook appointmentBook = new AppointmentBook();
+        appointmentBook.setAppointments(List.of(expiredMay2010Appointment, expiredOct2010Appointment));
+        archive.archivePastAppointments(appointmentBook);
+
+        assertEquals(2, archive.compressPastMonths());
+        assertTrue(Files.exists(testFolder.resolve("2010_MAY.csv.gz")));
+        assertFalse(Files.exists(testFolder.resolve("2010_MAY.csv")));
+        assertEquals(0, archive.compressPastMonths());
+
+        CsvAdaptedAppointment mayCsvAppointment = new CsvAdaptedAppointment(expiredMay2010Appointment);
+        assertEquals(List.of(mayCsvAppointment), archive.readAppointments("2010_MAY.csv"));
+        assertEquals(List.of(mayCsvAppointment, new CsvAdaptedAppointment(expiredOct2010Appointment)),
+                archive.findAppointments(ALICE.getNric(), LocalDate.MIN, LocalDate.MAX));
+
+        // appending to a compressed month decompresses it first
+        appointmentBook.setAppointments(List.of(expiredMay2010Appointment));
+        archive.archivePastAppointments(appointmentBook);
+        assertFalse(Files.exists(testFolder.resolve("2010_MAY.csv.gz")));
+        assertEquals(List.of(mayCsvAppointment, mayCsvAppointment), archive.readAppointments("2010_MAY.csv"));
+    }
+
+    @Test
+    public void applyRetentionPolicy_oldArchiveFiles_purged() throws Exception {
+        StorageStatsManager statsManager = new StorageStatsManager();
+        CsvAppointmentArchive archive = new CsvAppointmentArchive(testFolder, statsManager);
+        String header = "date,startTime,endTime,isDone,nric\n";
+        Files.writeString(testFolder.resolve("2009_MAY.csv"),
+                header + "2009-05-05,09:00,10:00,false,S1234567I\n2009-05-06,09:00,10:00,false,S1234567I\n");
+        Files.writeString(testFolder.resolve("2009_MAY.patients.csv"), "name,nric,phone,address,remark\n");
+        Files.writeString(testFolder.resolve("2050_MAY.csv"), header);
+
+        archive.applyRetentionPolicy(0, 1);
+        assertFalse(Files.exists(testFolder.resolve("2009_MAY.csv")));
+        assertFalse(Files.exists(testFolder.resolve("2009_MAY.idx")));
+        assertFalse(Files.exists(testFolder.resolve("2009_MAY.patients.csv")));
+        assertTrue(Files.exists(testFolder.resolve("2050_MAY.csv")));
+        assertEquals("1 archive file with 2 appointments past the retention period deleted.",
+                statsManager.getArchiveMaintenanceMessage());
+    }
+
+    @Test
+    public void applyRetentionPolicy_oldMonths_rolledUpIntoSortedYearlyFile() throws Exception {
+        StorageStatsManager statsManager = new StorageStatsManager();
+        CsvAppointmentArchive archive = new CsvAppointmentArchive(testFolder, statsManager);
+        Appointment earlierMay2009Appointment = new AppointmentBuilder(BENSON_APPOINTMENT)
+                .withDate(LocalDate.of(2009, 5, 1)).build();
+        AppointmentBook appointmentBook = new AppointmentBook();
+        appointmentBook.setAppointments(List.of(expiredMay2009Appointment, expiredOct2009Appointment,
+                expiredMay2010Appointment));
+        archive.archivePastAppointments(appointmentBook);
+        // archived after the later appointment of the same month
+        archive.saveAppointments(List.of(new CsvAdaptedAppointment(earlierMay2009Appointment)), "2009_MAY.csv");
+
+        archive.applyRetentionPolicy(1, 0);
+        assertFalse(Files.exists(testFolder.resolve("2009_MAY.csv")));
+        assertFalse(Files.exists(testFolder.resolve("2009_OCT.csv")));
+        assertEquals("3 archive files rolled up into yearly files.", statsManager.getArchiveMaintenanceMessage());
+
+        List<CsvAdaptedAppointment> expected2009Appointments = List.of(
+                new CsvAdaptedAppointment(earlierMay2009Appointment),
+                new CsvAdaptedAppointment(expiredMay2009Appointment),
+                new CsvAdaptedAppointment(expiredOct2009Appointment));
+        assertEquals(expected2009Appointments, archive.readAppointments("2009.csv"));
+        assertEquals(List.of(new CsvAdaptedAppointment(expiredOct2009Appointment)),
+                archive.findAppointments(ALICE.getNric(), LocalDate.of(2009, 10, 1), LocalDate.of(2009, 12, 31)));
+
+        // a month archived after its year was rolled up is merged into the yearly file on the next run
+        appointmentBook.setAppointments(List.of(expiredMay2009Appointment));
+        archive.archivePastAppointments(appointmentBook);
+        archive.applyRetentionPolicy(1, 0);
+        assertFalse(Files.exists(testFolder.resolve("2009_MAY.csv")));
+        assertEquals(4, archive.readAppointments("2009.csv").size());
+    }
+
+    @Test
+    public void applyRetentionPolicy_patientChangedBetweenMonths_earlierDetailsKept() throws Exception {
+        CsvAppointmentArchive archive = new CsvAppointmentArchive(testFolder, new StorageStatsManager());
+        Appointment movedOct2009Appointment = new AppointmentBuilder(expiredOct2009Appointment)
+                .withPatient(new PatientBuilder(ALICE).withAddress("New Address").build()).build();
+        AppointmentBook appointmentBook = new AppointmentBook();
+        appointmentBook.setAppointments(List.of(expiredMay2009Appointment, movedOct2009Appointment));
+        archive.archivePastAppointments(appointmentBook);
+
+        archive.applyRetentionPolicy(1, 0);
+        assertEquals(List.of(new CsvAdaptedAppointment(expiredMay2009Appointment),
+                new CsvAdaptedAppointment(movedOct2009Appointment)), archive.readAppointments("2009.csv"));
+        assertEquals(3, Files.readAllLines(testFolder.resolve("2009.patients.csv")).size());
+    }
+
     @Test
     public void archiveAppointmentBook_emptyAppointmentBook_noSaveToTestFolder() {
         CsvAppointmentArchive archive = new CsvAppointmentArchiveStub(testFolder, new StorageStatsManager());
@@ -218,6 +396,19 @@ public class CsvAppointmentArchiveTest {
                 new CsvAdaptedAppointment(BENSON_APPOINTMENT));
     }
 
+    /**
+     * Returns the appointments in {@code validCsvArchive.csv}, which was written before the archive had an NRIC column.
+     */
+    private List<CsvAdaptedAppointment> getLegacySampleCsvData() {
+        return List.of(
+                new CsvAdaptedAppointment(LocalDate.of(2010, 5, 5), LocalTime.of(9, 0), LocalTime.of(10, 0), false,
+                        new CsvAdaptedPatient("Alice Pauline", null, "94351253", "123, Jurong West Ave 6, #08-111",
+                                "This is a test remark :)")),
+                new CsvAdaptedAppointment(LocalDate.of(2050, 5, 12), LocalTime.of(11, 30), LocalTime.of(12, 30),
+                        false, new CsvAdaptedPatient("Benson Meier", null, "98765432", "311, Clementi Ave 2, #02-25",
+                                "He can't take beer!")));
+    }
+
     private Path addToTestDataPathIfNotNull(String prefsFileInTestDataFolder) {
         return prefsFileInTestDataFolder != null
                 ? TEST_DATA_FOLDER.resolve(prefsFileInTestDataFolder)
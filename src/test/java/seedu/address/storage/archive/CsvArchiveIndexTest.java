@@ -0,0 +1,142 @@
+package seedu.address.storage.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import seedu.address.commons.util.FileUtil;
+import seedu.address.model.patient.Nric;
+
+public class CsvArchiveIndexTest {
+
+    private static final String HEADER = "date,startTime,endTime,isDone,name,nric,phone,address,remark\n";
+    private static final String ALICE_ROW = "2010-05-05,09:00,10:00,false,\"Alice Pauline\",S1234567I,94351253,"
+            + "\"123, Jurong West Ave 6, #08-111\",\"Said \"\"hi\"\"\nand left\"\n";
+    private static final String BENSON_ROW = "2010-05-12,11:30,12:30,true,\"Benson Meier\",S1234567O,98765432,"
+            + "\"311, Clementi Ave 2, #02-25\",\"\"\n";
+    private static final String ALICE_LATER_ROW = "2010-05-20,09:00,10:00,true,\"Alice Pauline\",S1234567I,94351253,"
+            + "\"123, Jurong West Ave 6, #08-111\",\"\"\n";
+
+    private static final Nric ALICE_NRIC = new Nric("S1234567I");
+    private static final LocalDate START_OF_MAY = LocalDate.of(2010, 5, 1);
+    private static final LocalDate END_OF_MAY = LocalDate.of(2010, 5, 31);
+
+    @TempDir
+    public Path testFolder;
+
+    @Test
+    public void getIndexFilePath_archiveFile_sameNameWithIndexExtension() {
+        assertEquals(testFolder.resolve("2010_MAY.idx"),
+                CsvArchiveIndex.getIndexFilePath(testFolder.resolve("2010_MAY.csv")));
+    }
+
+    @Test
+    public void readColumnNames_archiveFile_headerColumns() throws Exception {
+        Path archiveFile = writeArchiveFile(HEADER + ALICE_ROW);
+        assertEquals(List.of("date", "startTime", "endTime", "isDone", "name", "nric", "phone", "address", "remark"),
+                CsvArchiveIndex.readColumnNames(archiveFile));
+        assertEquals(List.of(), CsvArchiveIndex.readColumnNames(testFolder.resolve("missing.csv")));
+    }
+
+    @Test
+    public void readRows_byNricAndDate_onlyMatchingRows() throws Exception {
+        Path archiveFile = writeArchiveFile(HEADER + ALICE_ROW + BENSON_ROW + ALICE_LATER_ROW);
+        CsvArchiveIndex index = CsvArchiveIndex.load(archiveFile);
+        assertEquals(3, index.getRowCount());
+        assertTrue(Files.exists(CsvArchiveIndex.getIndexFilePath(archiveFile)));
+
+        // by nric
+        assertEquals(HEADER + ALICE_ROW + ALICE_LATER_ROW,
+                index.readRows(archiveFile, ALICE_NRIC, LocalDate.MIN, LocalDate.MAX));
+
+        // by dates
+        assertEquals(HEADER + BENSON_ROW + ALICE_LATER_ROW,
+                index.readRows(archiveFile, null, LocalDate.of(2010, 5, 12), END_OF_MAY));
+
+        // by nric and dates
+        assertEquals(HEADER + ALICE_LATER_ROW,
+                index.readRows(archiveFile, ALICE_NRIC, LocalDate.of(2010, 5, 6), END_OF_MAY));
+
+        // no matching rows
+        assertEquals("", index.readRows(archiveFile, new Nric("S7654321A"), START_OF_MAY, END_OF_MAY));
+    }
+
+    @Test
+    public void load_rowsAppended_appendedRowsIndexed() throws Exception {
+        Path archiveFile = writeArchiveFile(HEADER + ALICE_ROW);
+        assertEquals(1, CsvArchiveIndex.load(archiveFile).getRowCount());
+
+        // a row that is still being appended is left out
+        String partialRow = BENSON_ROW.substring(0, 20);
+        FileUtil.appendToFile(archiveFile, partialRow);
+        assertEquals(1, CsvArchiveIndex.load(archiveFile).getRowCount());
+
+        FileUtil.appendToFile(archiveFile, BENSON_ROW.substring(20) + ALICE_LATER_ROW);
+        CsvArchiveIndex index = CsvArchiveIndex.load(archiveFile);
+        assertEquals(3, index.getRowCount());
+        assertEquals(HEADER + BENSON_ROW, index.readRows(archiveFile, null, LocalDate.of(2010, 5, 12),
+                LocalDate.of(2010, 5, 12)));
+    }
+
+    @Test
+    public void load_archiveFileReplaced_indexRebuilt() throws Exception {
+        Path archiveFile = writeArchiveFile(HEADER + ALICE_ROW + BENSON_ROW);
+        assertEquals(2, CsvArchiveIndex.load(archiveFile).getRowCount());
+
+        writeArchiveFile(HEADER + ALICE_LATER_ROW);
+        CsvArchiveIndex index = CsvArchiveIndex.load(archiveFile);
+        assertEquals(1, index.getRowCount());
+        assertEquals(HEADER + ALICE_LATER_ROW, index.readRows(archiveFile, ALICE_NRIC, START_OF_MAY, END_OF_MAY));
+    }
+
+    @Test
+    public void load_corruptedIndex_indexRebuilt() throws Exception {
+        Path archiveFile = writeArchiveFile(HEADER + ALICE_ROW + BENSON_ROW);
+        FileUtil.writeToFile(CsvArchiveIndex.getIndexFilePath(archiveFile), "not an index");
+        assertEquals(2, CsvArchiveIndex.load(archiveFile).getRowCount());
+    }
+
+    @Test
+    public void readRows_compressedArchiveFile_onlyMatchingRows() throws Exception {
+        Path archiveFile = writeArchiveFile(HEADER + ALICE_ROW + BENSON_ROW + ALICE_LATER_ROW);
+        CsvArchiveIndex.load(archiveFile);
+        Path compressedFile = compress(archiveFile);
+
+        CsvArchiveIndex index = CsvArchiveIndex.load(compressedFile);
+        assertEquals(3, index.getRowCount());
+        assertEquals(HEADER + ALICE_ROW + ALICE_LATER_ROW,
+                index.readRows(compressedFile, ALICE_NRIC, LocalDate.MIN, LocalDate.MAX));
+
+        // the index of a compressed file is rebuilt from the decompressed text
+        Files.delete(CsvArchiveIndex.getIndexFilePath(compressedFile));
+        index = CsvArchiveIndex.load(compressedFile);
+        assertEquals(3, index.getRowCount());
+        assertEquals(HEADER + BENSON_ROW, index.readRows(compressedFile, null, LocalDate.of(2010, 5, 12),
+                LocalDate.of(2010, 5, 12)));
+        assertEquals(9, CsvArchiveIndex.readColumnNames(compressedFile).size());
+    }
+
+    private Path compress(Path archiveFile) throws Exception {
+        Path compressedFile = testFolder.resolve(archiveFile.getFileName() + ".gz");
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(compressedFile))) {
+            Files.copy(archiveFile, outputStream);
+        }
+        Files.delete(archiveFile);
+        return compressedFile;
+    }
+
+    private Path writeArchiveFile(String content) throws Exception {
+        Path archiveFile = testFolder.resolve("2010_MAY.csv");
+        FileUtil.writeToFile(archiveFile, content);
+        return archiveFile;
+    }
+}
@@ -0,0 +1,81 @@
+package seedu.address.storage.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static seedu.address.testutil.Assert.assertThrows;
+import static seedu.address.testutil.TypicalAppointments.ALICE_APPOINTMENT;
+import static seedu.address.testutil.TypicalPatients.ALICE;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import seedu.address.testutil.AppointmentBuilder;
+import seedu.address.testutil.PatientBuilder;
+
+public class CsvPatientDictionaryTest {
+
+    @TempDir
+    public Path testFolder;
+
+    @Test
+    public void getDictionaryFilePath_archiveFile_sameNameWithDictionaryExtension() {
+        assertEquals(testFolder.resolve("2010_MAY.patients.csv"),
+                CsvPatientDictionary.getDictionaryFilePath(testFolder.resolve("2010_MAY.csv")));
+    }
+
+    @Test
+    public void toRows_patientWithoutNric_throwsIoException() throws Exception {
+        CsvPatientDictionary dictionary = CsvPatientDictionary.load(testFolder.resolve("2010_MAY.csv"));
+        CsvAdaptedPatient patient = new CsvAdaptedPatient("Alice Pauline", null, "94351253", "address", "");
+        CsvAdaptedAppointment appointment = new CsvAdaptedAppointment(LocalDate.of(2010, 5, 5), LocalTime.of(9, 0),
+                LocalTime.of(10, 0), false, patient);
+        assertThrows(IOException.class, () -> dictionary.toRows(List.of(appointment)));
+    }
+
+    @Test
+    public void join_patientNotInDictionary_throwsUncheckedIoException() throws Exception {
+        CsvPatientDictionary dictionary = CsvPatientDictionary.load(testFolder.resolve("2010_MAY.csv"));
+        CsvAdaptedAppointmentRow row = new CsvAdaptedAppointmentRow(LocalDate.of(2010, 5, 5), LocalTime.of(9, 0),
+                LocalTime.of(10, 0), false, ALICE.getNric().value, 1);
+        assertThrows(UncheckedIOException.class, () -> dictionary.join(row));
+    }
+
+    @Test
+    public void join_patientAdded_appointmentWithPatientDetails() throws Exception {
+        Path archiveFilePath = testFolder.resolve("2010_MAY.csv");
+        CsvAdaptedAppointment appointment = new CsvAdaptedAppointment(ALICE_APPOINTMENT);
+        List<CsvAdaptedAppointmentRow> rows =
+                CsvPatientDictionary.load(archiveFilePath).toRows(List.of(appointment, appointment));
+
+        // the patient is stored once, after the header
+        assertEquals(2, Files.readAllLines(CsvPatientDictionary.getDictionaryFilePath(archiveFilePath)).size());
+        assertEquals(appointment, CsvPatientDictionary.load(archiveFilePath).join(rows.get(1)));
+    }
+
+    @Test
+    public void join_patientDetailsChanged_eachRowWithItsOwnDetails() throws Exception {
+        Path archiveFilePath = testFolder.resolve("2010_MAY.csv");
+        CsvAdaptedAppointment appointment = new CsvAdaptedAppointment(ALICE_APPOINTMENT);
+        CsvAdaptedAppointment movedAppointment = new CsvAdaptedAppointment(new AppointmentBuilder(ALICE_APPOINTMENT)
+                .withPatient(new PatientBuilder(ALICE).withAddress("New Address").build()).build());
+        CsvPatientDictionary dictionary = CsvPatientDictionary.load(archiveFilePath);
+        CsvAdaptedAppointmentRow row = dictionary.toRows(List.of(appointment)).get(0);
+        CsvAdaptedAppointmentRow movedRow = dictionary.toRows(List.of(movedAppointment)).get(0);
+
+        CsvPatientDictionary loadedDictionary = CsvPatientDictionary.load(archiveFilePath);
+        assertEquals(appointment, loadedDictionary.join(row));
+        assertEquals(movedAppointment, loadedDictionary.join(movedRow));
+
+        // rows written before the versions of patients were recorded have the latest details
+        CsvAdaptedAppointmentRow unversionedRow = new CsvAdaptedAppointmentRow(LocalDate.of(2010, 5, 5),
+                LocalTime.of(9, 0), LocalTime.of(10, 0), false, ALICE.getNric().value, null);
+        assertEquals(movedAppointment.getPatient(), loadedDictionary.join(unversionedRow).getPatient());
+    }
+}
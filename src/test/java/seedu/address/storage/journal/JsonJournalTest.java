@@ -0,0 +1,155 @@
+package seedu.address.storage.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static seedu.address.logic.commands.CommandTestUtil.VALID_NRIC_AMY;
+import static seedu.address.testutil.TypicalAppointments.ALICE_APPOINTMENT;
+import static seedu.address.testutil.TypicalAppointments.BENSON_APPOINTMENT;
+import static seedu.address.testutil.TypicalAppointments.HOON_APPOINTMENT;
+import static seedu.address.testutil.TypicalAppointments.getTypicalAppointmentBook;
+import static seedu.address.testutil.TypicalPatients.ALICE;
+import static seedu.address.testutil.TypicalPatients.BENSON;
+import static seedu.address.testutil.TypicalPatients.HOON;
+import static seedu.address.testutil.TypicalPatients.getTypicalPatientBook;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import seedu.address.commons.util.FileUtil;
+import seedu.address.model.AppointmentBook;
+import seedu.address.model.EntityChange;
+import seedu.address.model.PatientBook;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.patient.Patient;
+import seedu.address.testutil.PatientBuilder;
+
+public class JsonJournalTest {
+
+    private static final Patient EDITED_ALICE = new PatientBuilder(ALICE).withPhone("91234567").build();
+
+    @TempDir
+    public Path testFolder;
+
+    private JsonJournal journal;
+
+    @BeforeEach
+    public void setUp() {
+        journal = new JsonJournal(testFolder.resolve("data").resolve("journal.jsonl"));
+    }
+
+    @Test
+    public void replay_noJournal_returnsSnapshot() throws Exception {
+        assertFalse(journal.exists());
+        assertEquals(getTypicalPatientBook(), journal.replayPatientBook(getTypicalPatientBook()));
+        assertEquals(getTypicalAppointmentBook(), journal.replayAppointmentBook(getTypicalAppointmentBook()));
+    }
+
+    @Test
+    public void append_noChanges_doesNotCreateJournal() throws Exception {
+        journal.append(Collections.emptyList(), Collections.emptyList());
+        assertFalse(journal.exists());
+        assertEquals(0, journal.getEntryCount());
+    }
+
+    @Test
+    public void appendThenReplay_success() throws Exception {
+        appendTypicalChanges();
+        assertTrue(journal.exists());
+        assertEquals(5, journal.getEntryCount());
+
+        assertEquals(getExpectedPatientBook(), journal.replayPatientBook(getTypicalPatientBook()));
+        assertEquals(getExpectedAppointmentBook(), journal.replayAppointmentBook(getTypicalAppointmentBook()));
+    }
+
+    @Test
+    public void replay_snapshotAlreadyHasChanges_sameBooks() throws Exception {
+        appendTypicalChanges();
+
+        // data files were saved in full but the journal was not cleared
+        assertEquals(getExpectedPatientBook(), journal.replayPatientBook(getExpectedPatientBook()));
+        assertEquals(getExpectedAppointmentBook(), journal.replayAppointmentBook(getExpectedAppointmentBook()));
+    }
+
+    @Test
+    public void replay_resetChange_replacesSnapshot() throws Exception {
+        journal.append(List.of(EntityChange.reset(getTypicalPatientBook().getPatientList(), List.of(HOON))),
+                List.of(EntityChange.reset(getTypicalAppointmentBook().getAppointmentList(),
+                        List.of(HOON_APPOINTMENT))));
+
+        PatientBook expectedPatientBook = new PatientBook();
+        expectedPatientBook.addPatient(HOON);
+        AppointmentBook expectedAppointmentBook = new AppointmentBook();
+        expectedAppointmentBook.addAppointment(HOON_APPOINTMENT);
+        assertEquals(expectedPatientBook, journal.replayPatientBook(getTypicalPatientBook()));
+        assertEquals(expectedAppointmentBook, journal.replayAppointmentBook(getTypicalAppointmentBook()));
+    }
+
+    @Test
+    public void replay_tornLastLine_ignoresTornLine() throws Exception {
+        appendTypicalChanges();
+        FileUtil.appendToFile(journal.getJournalFilePath(), "{\"book\":\"patients\",\"kind\":\"RE");
+
+        assertEquals(getExpectedPatientBook(), journal.replayPatientBook(getTypicalPatientBook()));
+        assertEquals(5, journal.getEntryCount());
+    }
+
+    @Test
+    public void clear_deletesJournal() throws Exception {
+        appendTypicalChanges();
+        journal.clear();
+        assertFalse(journal.exists());
+        assertEquals(0, journal.getEntryCount());
+        assertEquals(getTypicalPatientBook(), journal.replayPatientBook(getTypicalPatientBook()));
+    }
+
+    @Test
+    public void replay_removalUndoneAndNricEdited_patientsKeepTheirPlaces() throws Exception {
+        Patient aliceWithNewNric = new PatientBuilder(ALICE).withNric(VALID_NRIC_AMY).build();
+        journal.append(List.of(EntityChange.removed(1, BENSON), EntityChange.added(1, BENSON),
+                EntityChange.replaced(ALICE, aliceWithNewNric)), Collections.emptyList());
+
+        PatientBook expectedPatientBook = getTypicalPatientBook();
+        expectedPatientBook.setPatient(ALICE, aliceWithNewNric);
+        assertEquals(expectedPatientBook, journal.replayPatientBook(getTypicalPatientBook()));
+        assertEquals(expectedPatientBook, journal.replayPatientBook(expectedPatientBook));
+    }
+
+    @Test
+    public void replay_replacedAppointment_success() throws Exception {
+        Appointment doneAppointment = ALICE_APPOINTMENT.markAsDone();
+        journal.append(Collections.emptyList(), List.of(EntityChange.replaced(ALICE_APPOINTMENT, doneAppointment)));
+
+        AppointmentBook expectedAppointmentBook = getTypicalAppointmentBook();
+        expectedAppointmentBook.setAppointment(ALICE_APPOINTMENT, doneAppointment);
+        assertEquals(expectedAppointmentBook, journal.replayAppointmentBook(getTypicalAppointmentBook()));
+    }
+
+    private void appendTypicalChanges() throws Exception {
+        int endIndex = getTypicalPatientBook().getPatientList().size();
+        journal.append(List.of(EntityChange.added(endIndex, HOON), EntityChange.replaced(ALICE, EDITED_ALICE)),
+                List.of(EntityChange.added(EntityChange.NO_INDEX, HOON_APPOINTMENT)));
+        journal.append(List.of(EntityChange.removed(1, BENSON)),
+                List.of(EntityChange.removed(EntityChange.NO_INDEX, BENSON_APPOINTMENT)));
+    }
+
+    private PatientBook getExpectedPatientBook() {
+        PatientBook patientBook = getTypicalPatientBook();
+        patientBook.addPatient(HOON);
+        patientBook.setPatient(ALICE, EDITED_ALICE);
+        patientBook.removePatient(BENSON);
+        return patientBook;
+    }
+
+    private AppointmentBook getExpectedAppointmentBook() {
+        AppointmentBook appointmentBook = getTypicalAppointmentBook();
+        appointmentBook.addAppointment(HOON_APPOINTMENT);
+        appointmentBook.removeAppointment(BENSON_APPOINTMENT);
+        return appointmentBook;
+    }
+}
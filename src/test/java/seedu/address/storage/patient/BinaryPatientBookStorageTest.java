@@ -0,0 +1,83 @@
+package seedu.address.storage.patient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static seedu.address.testutil.TypicalPatients.HOON;
+import static seedu.address.testutil.TypicalPatients.getTypicalPatientBook;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import seedu.address.commons.util.FileUtil;
+import seedu.address.model.PatientBook;
+import seedu.address.storage.BinarySnapshot;
+import seedu.address.storage.StorageStatsManager;
+
+public class BinaryPatientBookStorageTest {
+
+    @TempDir
+    public Path testFolder;
+
+    private Path filePath;
+    private Path snapshotFilePath;
+    private BinaryPatientBookStorage storage;
+
+    @BeforeEach
+    public void setUp() {
+        filePath = testFolder.resolve("patientbook.json");
+        snapshotFilePath = testFolder.resolve("patientbook.bin");
+        storage = new BinaryPatientBookStorage(filePath, new StorageStatsManager());
+    }
+
+    @Test
+    public void savePatientBook_writesJsonAndSnapshot() throws Exception {
+        storage.savePatientBook(getTypicalPatientBook());
+
+        assertTrue(Files.exists(filePath));
+        assertTrue(Files.exists(snapshotFilePath));
+        assertEquals(snapshotFilePath, BinarySnapshot.getSnapshotFilePath(filePath));
+        assertTrue(Files.size(snapshotFilePath) < Files.size(filePath));
+        assertEquals(getTypicalPatientBook(), storage.readPatientBook().get());
+        assertEquals(getTypicalPatientBook(), new JsonPatientBookStorage(filePath, new StorageStatsManager())
+                .readPatientBook().get());
+    }
+
+    @Test
+    public void readPatientBook_snapshotOlderThanJson_readsJson() throws Exception {
+        storage.savePatientBook(getTypicalPatientBook());
+        PatientBook editedPatientBook = getTypicalPatientBook();
+        editedPatientBook.addPatient(HOON);
+        new JsonPatientBookStorage(filePath, new StorageStatsManager()).savePatientBook(editedPatientBook);
+        Files.setLastModifiedTime(snapshotFilePath,
+                FileTime.fromMillis(Files.getLastModifiedTime(filePath).toMillis() - 1000));
+
+        assertEquals(editedPatientBook, storage.readPatientBook().get());
+    }
+
+    @Test
+    public void readPatientBook_jsonReplacedWithEarlierTime_readsJson() throws Exception {
+        storage.savePatientBook(getTypicalPatientBook());
+        PatientBook editedPatientBook = getTypicalPatientBook();
+        editedPatientBook.addPatient(HOON);
+        new JsonPatientBookStorage(filePath, new StorageStatsManager()).savePatientBook(editedPatientBook);
+        Files.setLastModifiedTime(filePath,
+                FileTime.fromMillis(Files.getLastModifiedTime(snapshotFilePath).toMillis() - 1000));
+
+        assertEquals(editedPatientBook, storage.readPatientBook().get());
+    }
+
+    @Test
+    public void readPatientBook_corruptedSnapshot_readsJson() throws Exception {
+        storage.savePatientBook(getTypicalPatientBook());
+        FileUtil.writeToFile(snapshotFilePath, "not a snapshot");
+        Files.setLastModifiedTime(snapshotFilePath,
+                FileTime.fromMillis(Files.getLastModifiedTime(filePath).toMillis() + 1000));
+
+        assertEquals(getTypicalPatientBook(), storage.readPatientBook().get());
+    }
+}